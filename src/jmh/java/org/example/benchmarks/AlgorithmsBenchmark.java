@@ -0,0 +1,99 @@
+package org.example.benchmarks;
+
+import org.example.functions.algos.Algorithms;
+import org.example.functions.algos.AutocorrelationIndicators;
+import org.example.functions.algos.DifferenceDistributionTable;
+import org.example.functions.algos.LinearApproximationTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки методов {@link Algorithms}, масштабируемых до n = 26
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class AlgorithmsBenchmark {
+
+    @Benchmark
+    public int hammingWeight(FunctionState state) {
+        return Algorithms.hammingWeight(state.function);
+    }
+
+    @Benchmark
+    public BitSet moebiusTransform(FunctionState state) {
+        return Algorithms.moebiusTransform(state.function);
+    }
+
+    @Benchmark
+    public long[] moebiusTransformBuffer(FunctionState state) {
+        return Algorithms.moebiusTransform(state.function, state.wordBuffer);
+    }
+
+    @Benchmark
+    public int[] walshTransform(FunctionState state) {
+        return Algorithms.walshTransform(state.function);
+    }
+
+    @Benchmark
+    public int[] walshTransformBuffer(FunctionState state, ExecutionState execution) {
+        return Algorithms.walshTransform(state.function, state.intBuffer, execution.pool);
+    }
+
+    @Benchmark
+    public int[] inverseWalshTransform(FunctionState state) {
+        return Algorithms.inverseWalshTransform(state.function);
+    }
+
+    @Benchmark
+    public int[] inverseWalshTransformBuffer(FunctionState state, ExecutionState execution) {
+        System.arraycopy(state.walshSpectrum, 0, state.intBuffer, 0, state.walshSpectrum.length);
+        return Algorithms.inverseWalshTransform(state.intBuffer, state.n, execution.pool);
+    }
+
+    @Benchmark
+    public int[] autocorrelationSpectrum(FunctionState state) {
+        return Algorithms.autocorrelationSpectrum(state.function);
+    }
+
+    @Benchmark
+    public int[] autocorrelationSpectrumBuffer(FunctionState state, ExecutionState execution) {
+        return Algorithms.autocorrelationSpectrum(state.walshSpectrum, state.n,
+                state.longBuffer, state.intBuffer, execution.pool);
+    }
+
+    @Benchmark
+    public AutocorrelationIndicators autocorrelationIndicators(FunctionState state) {
+        return Algorithms.autocorrelationIndicators(state.autocorrelation, state.n);
+    }
+
+    @Benchmark
+    public int nonlinearity(FunctionState state) {
+        return Algorithms.nonlinearity(state.walshSpectrum);
+    }
+
+    @Benchmark
+    public double correlation(FunctionState state) {
+        return Algorithms.correlation(state.function, state.other);
+    }
+
+    @Benchmark
+    public LinearApproximationTable linearApproximationTable(FunctionState state) {
+        return Algorithms.linearApproximationTable(state.function);
+    }
+
+    @Benchmark
+    public DifferenceDistributionTable differenceDistributionTable(FunctionState state) {
+        return Algorithms.differenceDistributionTable(state.function);
+    }
+}
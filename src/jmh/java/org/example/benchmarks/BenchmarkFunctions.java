@@ -0,0 +1,75 @@
+package org.example.benchmarks;
+
+import org.example.functions.BooleanFunction;
+
+import java.util.SplittableRandom;
+
+/**
+ * Генераторы булевых функций разной плотности для бенчмарков
+ * */
+public final class BenchmarkFunctions {
+
+    /**
+     * Плотность вектора значений
+     * */
+    public enum Density {
+        /**
+         * Около 1/64 единиц
+         * */
+        SPARSE,
+        /**
+         * Случайная уравновешенная функция
+         * */
+        BALANCED,
+        /**
+         * Бент-функция Мэйорана-МакФарланда {@code x . y}, для нечётного n - {@code x . y ^ z}
+         * */
+        BENT
+    }
+
+    private BenchmarkFunctions() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * @param variablesCount количество переменных
+     * @param density плотность вектора значений
+     * @param seed начальное значение генератора
+     * @return булева функция
+     * */
+    public static BooleanFunction create(int variablesCount, Density density, long seed) {
+        var random = new SplittableRandom(seed);
+        var words = new long[BooleanFunction.wordCount(variablesCount)];
+        int size = 1 << variablesCount;
+        switch (density) {
+            case SPARSE -> {
+                for (int i = 0; i < Math.max(1, size >> 6); i++) {
+                    int x = random.nextInt(size);
+                    words[x >>> 6] |= 1L << x;
+                }
+            }
+            case BALANCED -> {
+                // Частичное перемешивание Фишера-Йетса по номерам единиц
+                var points = new int[size];
+                for (int i = 0; i < size; i++) {
+                    points[i] = i;
+                }
+                for (int i = 0; i < size / 2; i++) {
+                    int j = i + random.nextInt(size - i);
+                    int x = points[j];
+                    points[j] = points[i];
+                    words[x >>> 6] |= 1L << x;
+                }
+            }
+            case BENT -> {
+                int half = variablesCount / 2, mask = (1 << half) - 1;
+                for (int x = 0; x < size; x++) {
+                    int value = Integer.bitCount((x & mask) & ((x >>> half) & mask)) & 1;
+                    value ^= (variablesCount & 1) * (x >>> (variablesCount - 1)) & 1;
+                    words[x >>> 6] |= (long) value << x;
+                }
+            }
+        }
+        return BooleanFunction.fromWords(words, variablesCount);
+    }
+}
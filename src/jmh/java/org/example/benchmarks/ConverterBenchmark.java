@@ -0,0 +1,39 @@
+package org.example.benchmarks;
+
+import org.example.util.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки методов {@link Converter}
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ConverterBenchmark {
+
+    @Benchmark
+    public List<List<Integer>> valueVectorToDNF(SmallFunctionState state) {
+        return Converter.valueVectorToDNF(state.function);
+    }
+
+    @Benchmark
+    public List<List<Integer>> valueVectorToCNF(SmallFunctionState state) {
+        return Converter.valueVectorToCNF(state.function);
+    }
+
+    @Benchmark
+    public List<List<Integer>> valueVectorToANF(SmallFunctionState state) {
+        return Converter.valueVectorToANF(state.function);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Режим выполнения для ядер, поддерживающих пул потоков
+ * */
+@State(Scope.Benchmark)
+public class ExecutionState {
+    @Param({"SINGLE", "PARALLEL"})
+    public String mode;
+
+    public ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        pool = "PARALLEL".equals(mode) ? ForkJoinPool.commonPool() : null;
+    }
+}
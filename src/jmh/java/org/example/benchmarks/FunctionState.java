@@ -0,0 +1,40 @@
+package org.example.benchmarks;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Функция и переиспользуемые буферы для бенчмарков, масштабируемых до n = 26
+ * */
+@State(Scope.Thread)
+public class FunctionState {
+    @Param({"4", "8", "12", "16", "20", "24", "26"})
+    public int n;
+
+    @Param({"SPARSE", "BALANCED", "BENT"})
+    public BenchmarkFunctions.Density density;
+
+    public BooleanFunction function;
+    public BooleanFunction other;
+    public int[] walshSpectrum;
+    public int[] autocorrelation;
+    public int[] intBuffer;
+    public long[] longBuffer;
+    public long[] wordBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        function = BenchmarkFunctions.create(n, density, 1);
+        other = BenchmarkFunctions.create(n, BenchmarkFunctions.Density.BALANCED, 2);
+        walshSpectrum = Algorithms.walshTransform(function);
+        autocorrelation = Algorithms.autocorrelationSpectrum(function);
+        intBuffer = new int[1 << n];
+        longBuffer = new long[1 << n];
+        wordBuffer = new long[function.getWordCount()];
+    }
+}
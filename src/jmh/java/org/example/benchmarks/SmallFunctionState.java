@@ -0,0 +1,32 @@
+package org.example.benchmarks;
+
+import org.example.functions.BooleanFunction;
+import org.example.util.Converter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Функция для бенчмарков, материализующих таблицы {@code 4^n} или списки термов
+ * */
+@State(Scope.Thread)
+public class SmallFunctionState {
+    @Param({"4", "8", "12"})
+    public int n;
+
+    @Param({"SPARSE", "BALANCED", "BENT"})
+    public BenchmarkFunctions.Density density;
+
+    public BooleanFunction function;
+    public List<List<Integer>> anf;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        function = BenchmarkFunctions.create(n, density, 1);
+        anf = Converter.valueVectorToANF(function);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.benchmarks;
+
+import org.example.functions.algos.Algorithms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки методов {@link Algorithms}, материализующих таблицы или работающих со списочной АНФ
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class TableBenchmark {
+
+    @Benchmark
+    public int[][] latTable(SmallFunctionState state) {
+        return Algorithms.latTable(state.function);
+    }
+
+    @Benchmark
+    public int[][] ddtTable(SmallFunctionState state) {
+        return Algorithms.ddtTable(state.function);
+    }
+
+    @Benchmark
+    public int algebraicDegree(SmallFunctionState state) {
+        return Algorithms.algebraicDegree(state.anf);
+    }
+
+    @Benchmark
+    public boolean isAffine(SmallFunctionState state) {
+        return Algorithms.isAffine(state.anf);
+    }
+}
@@ -1,7 +1,43 @@
 package org.example;
 
+import org.example.pipeline.FunctionSource;
+import org.example.pipeline.PipelineOptions;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 public class Main {
-    public static void main(String[] args) {
-        //TODO usecase's & info
+    public static void main(String[] args) throws IOException, InterruptedException {
+        boolean serve = args.length > 0 && args[0].equals("serve");
+        PipelineOptions options;
+        try {
+            options = PipelineOptions.parse(serve ? Arrays.copyOfRange(args, 1, args.length) : args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(PipelineOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        if (serve) {
+            var server = options.createServer();
+            var address = server.start(options.getPort());
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.err.println("Сервер анализа запущен на порту " + address.getPort());
+            return;
+        }
+
+        var output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        try (var source = options.getFiles().isEmpty()
+                ? FunctionSource.ofReader(new BufferedReader(new InputStreamReader(System.in,
+                StandardCharsets.ISO_8859_1), 1 << 16), options.getInputFormat())
+                : FunctionSource.ofFiles(options.getFiles(), options.getInputFormat())) {
+            options.createPipeline().run(source, output);
+        }
     }
-}
\ No newline at end of file
+}
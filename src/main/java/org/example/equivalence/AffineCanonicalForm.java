@@ -0,0 +1,160 @@
+package org.example.equivalence;
+
+import org.example.functions.BooleanFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Точный канонический представитель класса расширенной аффинной эквивалентности
+ * {@code g(x) = f(Ax ^ b) ^ a.x ^ c} для функций не более чем от {@link #MAX_VARIABLES} переменных.
+ * Представитель - функция класса с наименьшим вектором значений как числом. Для каждого n
+ * при первом обращении перебираются орбиты всех {@code 2^(2^n)} функций, и канонические формы
+ * запоминаются в таблице, после чего запрос выполняется за O(1).
+ * Для больших n группа {@code GL(n, 2)} слишком велика для перебора, и классы различаются
+ * только отпечатками, см. {@link Fingerprint}.
+ * */
+public final class AffineCanonicalForm {
+    /**
+     * Максимальное количество переменных, для которого вычисляется точная каноническая форма
+     * */
+    public static final int MAX_VARIABLES = 4;
+
+    private static final AtomicReferenceArray<int[]> TABLES = new AtomicReferenceArray<>(MAX_VARIABLES + 1);
+
+    private AffineCanonicalForm() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * @param function булева функция не более чем от {@link #MAX_VARIABLES} переменных
+     * @return канонический представитель класса эквивалентности функции
+     * @throws IllegalArgumentException если переменных больше {@link #MAX_VARIABLES}
+     * */
+    public static BooleanFunction canonical(BooleanFunction function) {
+        int n = function.getVariablesCount();
+        if (n > MAX_VARIABLES) {
+            throw new IllegalArgumentException("Каноническая форма вычисляется не более чем для "
+                    + MAX_VARIABLES + " переменных!");
+        }
+        int canonical = table(n)[(int) function.getWord(0)];
+        return BooleanFunction.fromWords(new long[]{canonical & 0xFFFFFFFFL}, n);
+    }
+
+    /**
+     * @return true, если функции расширенно аффинно эквивалентны
+     * @throws IllegalArgumentException если переменных больше {@link #MAX_VARIABLES}
+     * */
+    public static boolean areEquivalent(BooleanFunction f, BooleanFunction g) {
+        return f.getVariablesCount() == g.getVariablesCount() && canonical(f).equals(canonical(g));
+    }
+
+    /**
+     * Таблица строится один раз при первом обращении; после построения чтение идёт без блокировки
+     * */
+    private static int[] table(int n) {
+        var result = TABLES.get(n);
+        if (result == null) {
+            synchronized (TABLES) {
+                result = TABLES.get(n);
+                if (result == null) {
+                    result = buildTable(n);
+                    TABLES.set(n, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int[] buildTable(int n) {
+        int size = 1 << n;
+        int functions = 1 << size;
+        var linearMaps = linearMaps(n);
+        var affine = new int[2 * size];
+        for (int a = 0; a < size; a++) {
+            for (int x = 0; x < size; x++) {
+                affine[a] |= (Integer.bitCount(a & x) & 1) << x;
+            }
+            affine[size + a] = affine[a] ^ (functions - 1);
+        }
+
+        var result = new int[functions];
+        Arrays.fill(result, -1);
+        var members = new int[functions];
+        var inOrbit = new boolean[functions];
+        for (int f = 0; f < functions; f++) {
+            if (result[f] >= 0) {
+                continue;
+            }
+            int count = 0;
+            int min = f;
+            for (int[] map : linearMaps) {
+                for (int b = 0; b < size; b++) {
+                    int h = 0;
+                    for (int x = 0; x < size; x++) {
+                        h |= ((f >>> (map[x] ^ b)) & 1) << x;
+                    }
+                    for (int l : affine) {
+                        int g = h ^ l;
+                        if (!inOrbit[g]) {
+                            inOrbit[g] = true;
+                            members[count++] = g;
+                            min = Math.min(min, g);
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                result[members[i]] = min;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return все обратимые линейные отображения GF(2)^n в виде таблиц образов
+     * */
+    private static int[][] linearMaps(int n) {
+        var result = new ArrayList<int[]>();
+        collect(n, new int[n], 0, new boolean[1 << n], result);
+        return result.toArray(new int[0][]);
+    }
+
+    /**
+     * Перебирает столбцы матрицы, каждый следующий не лежит в линейной оболочке предыдущих
+     * */
+    private static void collect(int n, int[] columns, int index, boolean[] span, ArrayList<int[]> result) {
+        int size = 1 << n;
+        if (index == n) {
+            var map = new int[size];
+            for (int x = 1; x < size; x++) {
+                int low = Integer.numberOfTrailingZeros(x);
+                map[x] = map[x & (x - 1)] ^ columns[low];
+            }
+            result.add(map);
+            return;
+        }
+        // Оболочка первых index столбцов - образы векторов с нулями в старших координатах
+        Arrays.fill(span, false);
+        for (int x = 0; x < 1 << index; x++) {
+            int image = 0;
+            for (int i = 0; i < index; i++) {
+                if ((x >>> i & 1) != 0) {
+                    image ^= columns[i];
+                }
+            }
+            span[image] = true;
+        }
+        var candidates = new ArrayList<Integer>();
+        for (int v = 0; v < size; v++) {
+            if (!span[v]) {
+                candidates.add(v);
+            }
+        }
+        for (int v : candidates) {
+            columns[index] = v;
+            collect(n, columns, index + 1, span, result);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.equivalence;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.SBox;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Потокобезопасный индекс классов расширенной аффинной эквивалентности.
+ * Ключ класса - каноническая форма, если она вычисляется точно, иначе отпечаток инвариантов.
+ * В последнем случае разные классы с равными отпечатками объединяются, поэтому индекс даёт
+ * нижнюю оценку количества классов, а {@link #isExact} возвращает false.
+ * Для каждого класса хранится первый добавленный представитель и, по запросу, результат
+ * анализа, который вычисляется один раз на класс.
+ * @param <T> тип объектов
+ * @param <V> тип результата анализа, должен быть инвариантом эквивалентности
+ * */
+public final class EquivalenceIndex<T, V> {
+    private final Function<T, Object> key;
+    private final Function<T, Boolean> exact;
+    private final ConcurrentHashMap<Object, EquivalenceClass<T, V>> classes = new ConcurrentHashMap<>();
+
+    private EquivalenceIndex(Function<T, Object> key, Function<T, Boolean> exact) {
+        this.key = key;
+        this.exact = exact;
+    }
+
+    /**
+     * @return индекс булевых функций, точный не более чем для
+     * {@link AffineCanonicalForm#MAX_VARIABLES} переменных
+     * */
+    public static <V> EquivalenceIndex<BooleanFunction, V> forFunctions() {
+        return new EquivalenceIndex<>(
+                f -> f.getVariablesCount() <= AffineCanonicalForm.MAX_VARIABLES
+                        ? AffineCanonicalForm.canonical(f)
+                        : Fingerprint.of(f),
+                f -> f.getVariablesCount() <= AffineCanonicalForm.MAX_VARIABLES);
+    }
+
+    /**
+     * @return индекс S-блоков по отпечаткам DDT и LAT, всегда неточный
+     * */
+    public static <V> EquivalenceIndex<SBox, V> forSBoxes() {
+        return new EquivalenceIndex<>(Fingerprint::of, s -> false);
+    }
+
+    /**
+     * Добавляет объект в индекс
+     * @param item объект
+     * @return true, если объект открыл новый класс
+     * */
+    public boolean add(T item) {
+        var created = new boolean[1];
+        var entry = classes.computeIfAbsent(key.apply(item), k -> {
+            created[0] = true;
+            return new EquivalenceClass<>(item);
+        });
+        entry.members.increment();
+        return created[0];
+    }
+
+    /**
+     * @param item объект
+     * @return представитель класса объекта, если класс уже есть в индексе, иначе null
+     * */
+    public T representative(T item) {
+        var entry = classes.get(key.apply(item));
+        return entry == null ? null : entry.representative;
+    }
+
+    /**
+     * Возвращает результат анализа класса объекта, вычисляя его для представителя,
+     * если класс встречается впервые. Объект добавляется в индекс.
+     * @param item объект
+     * @param analysis анализ, результат которого одинаков для всех объектов класса
+     * @return результат анализа
+     * */
+    public V computeIfAbsent(T item, Function<T, V> analysis) {
+        var entry = classes.computeIfAbsent(key.apply(item), k -> new EquivalenceClass<>(item));
+        entry.members.increment();
+        var value = entry.value;
+        if (value == null) {
+            synchronized (entry) {
+                value = entry.value;
+                if (value == null) {
+                    value = analysis.apply(entry.representative);
+                    entry.value = value;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @param item объект
+     * @return true, если принадлежность объекта классу определяется точно
+     * */
+    public boolean isExact(T item) {
+        return exact.apply(item);
+    }
+
+    /**
+     * @return количество классов в индексе
+     * */
+    public int size() {
+        return classes.size();
+    }
+
+    /**
+     * @return суммарное количество добавленных объектов
+     * */
+    public long count() {
+        return classes.values().stream().mapToLong(entry -> entry.members.sum()).sum();
+    }
+
+    private static final class EquivalenceClass<T, V> {
+        private final T representative;
+        private final LongAdder members = new LongAdder();
+        private volatile V value;
+
+        EquivalenceClass(T representative) {
+            this.representative = representative;
+        }
+    }
+}
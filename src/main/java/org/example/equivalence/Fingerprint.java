@@ -0,0 +1,129 @@
+package org.example.equivalence;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.SBox;
+import org.example.functions.algos.Algorithms;
+import org.example.functions.algos.SBoxAlgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Отпечаток - набор инвариантов расширенной аффинной эквивалентности.
+ * Эквивалентные объекты всегда имеют равные отпечатки, обратное в общем случае неверно.
+ * Мультимножества хранятся гистограммами: пары (значение, количество) в порядке возрастания значений.
+ * */
+public final class Fingerprint {
+    /**
+     * Вид объекта, чтобы отпечатки функций и S-блоков не совпадали
+     * */
+    private final int kind;
+    private final int inputsCount;
+    private final int outputsCount;
+    private final long[] invariants;
+    private final int hash;
+
+    private Fingerprint(int kind, int inputsCount, int outputsCount, long[] invariants) {
+        this.kind = kind;
+        this.inputsCount = inputsCount;
+        this.outputsCount = outputsCount;
+        this.invariants = invariants;
+        this.hash = 31 * (31 * (31 * kind + inputsCount) + outputsCount) + Arrays.hashCode(invariants);
+    }
+
+    /**
+     * Вычисляет отпечаток булевой функции: мультимножество {@code |W(a)|}, мультимножество
+     * {@code |r(a)|} по ненулевым a и степень. Сложение с аффинной функцией и аффинная замена
+     * переменных лишь переставляют коэффициенты и меняют их знаки, а степень не ниже 2 сохраняют,
+     * поэтому степени 0 и 1 не различаются.
+     * @param function булева функция
+     * @return отпечаток
+     * */
+    public static Fingerprint of(BooleanFunction function) {
+        int n = function.getVariablesCount();
+        var walsh = Algorithms.walshTransform(function);
+        var autocorrelation = Algorithms.autocorrelationSpectrum(walsh, n,
+                new long[walsh.length], new int[walsh.length], null);
+        var walshHistogram = absoluteHistogram(walsh, 0);
+        var autocorrelationHistogram = absoluteHistogram(autocorrelation, 1);
+        int degree = Algorithms.algebraicDegree(Algorithms.moebiusTransform(function,
+                new long[function.getWordCount()]), n);
+
+        var invariants = new long[1 + walshHistogram.length + autocorrelationHistogram.length];
+        invariants[0] = Math.max(degree, 1);
+        System.arraycopy(walshHistogram, 0, invariants, 1, walshHistogram.length);
+        System.arraycopy(autocorrelationHistogram, 0, invariants, 1 + walshHistogram.length,
+                autocorrelationHistogram.length);
+        return new Fingerprint(0, n, 1, invariants);
+    }
+
+    /**
+     * Вычисляет отпечаток S-блока: мультимножество элементов DDT и мультимножество
+     * модулей элементов LAT. Оба сохраняются расширенной аффинной эквивалентностью.
+     * @param sBox S-блок
+     * @return отпечаток
+     * */
+    public static Fingerprint of(SBox sBox) {
+        var ddt = histogram(SBoxAlgorithms.ddtTable(sBox));
+        var lat = histogram(SBoxAlgorithms.latTable(sBox));
+        var invariants = new long[ddt.length + 1 + lat.length];
+        System.arraycopy(ddt, 0, invariants, 0, ddt.length);
+        // Разделитель, не совпадающий ни с одной парой гистограммы
+        invariants[ddt.length] = -1;
+        System.arraycopy(lat, 0, invariants, ddt.length + 1, lat.length);
+        return new Fingerprint(1, sBox.getInputsCount(), sBox.getOutputsCount(), invariants);
+    }
+
+    private static long[] histogram(int[][] table) {
+        int columns = table[0].length;
+        var flat = new int[table.length * columns];
+        for (int i = 0; i < table.length; i++) {
+            System.arraycopy(table[i], 0, flat, i * columns, columns);
+        }
+        return absoluteHistogram(flat, 0);
+    }
+
+    /**
+     * @return гистограмма модулей элементов начиная с from, упакованная в пары
+     * {@code (value << 32) | count}
+     * */
+    private static long[] absoluteHistogram(int[] values, int from) {
+        var sorted = new int[values.length - from];
+        for (int i = from; i < values.length; i++) {
+            sorted[i - from] = Math.abs(values[i]);
+        }
+        Arrays.sort(sorted);
+        var result = new long[sorted.length];
+        int count = 0;
+        for (int i = 0; i < sorted.length; ) {
+            int j = i;
+            while (j < sorted.length && sorted[j] == sorted[i]) {
+                j++;
+            }
+            result[count++] = ((long) sorted[i] << 32) | (j - i);
+            i = j;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Fingerprint other)) {
+            return false;
+        }
+        return hash == other.hash && kind == other.kind && inputsCount == other.inputsCount
+                && outputsCount == other.outputsCount && Arrays.equals(invariants, other.invariants);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "Fingerprint" + Arrays.toString(invariants);
+    }
+}
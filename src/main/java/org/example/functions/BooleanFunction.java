@@ -1,20 +1,252 @@
 package org.example.functions;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.example.functions.kernels.KernelProvider;
+import org.example.functions.kernels.Kernels;
 
+import java.util.Arrays;
 import java.util.BitSet;
 
 /**
- * Класс, представляющий булеву функцию
+ * Класс, представляющий булеву функцию.
+ * Вектор значений хранится упакованным в массив {@code long}: бит {@code x}
+ * вектора лежит в слове {@code x >>> 6} на позиции {@code x & 63}.
+ * Биты за пределами {@code 2^n} всегда равны нулю. Объекты неизменяемы.
  * */
-@Getter
-@AllArgsConstructor
 public final class BooleanFunction {
-    private BitSet bits;
-    private int variablesCount;
+    /**
+     * Количество бит в одном слове
+     * */
+    public static final int WORD_BITS = Long.SIZE;
+
+    /**
+     * Логарифм количества бит в одном слове
+     * */
+    public static final int WORD_LOG = 6;
+
+    /**
+     * Маски младших половин блоков длины {@code 2^(i+1)} внутри слова
+     * */
+    public static final long[] LOW_HALF_MASKS = {
+            0x5555555555555555L,
+            0x3333333333333333L,
+            0x0F0F0F0F0F0F0F0FL,
+            0x00FF00FF00FF00FFL,
+            0x0000FFFF0000FFFFL,
+            0x00000000FFFFFFFFL
+    };
+
+    private static final Kernels KERNELS = KernelProvider.active();
+
+    private final long[] words;
+    @Getter
+    private final int variablesCount;
+
+    /**
+     * Создаёт булеву функцию по вектору значений в виде BitSet
+     * @param bits вектор значений, биты с индексом не меньше {@code 2^n} игнорируются
+     * @param variablesCount количество переменных
+     * */
+    public BooleanFunction(BitSet bits, int variablesCount) {
+        this(bits.toLongArray(), variablesCount, true);
+    }
+
+    private BooleanFunction(long[] words, int variablesCount, boolean copy) {
+        if (variablesCount < 0 || variablesCount > 30) {
+            throw new IllegalArgumentException("Количество переменных должно быть от 0 до 30!");
+        }
+        var wordCount = wordCount(variablesCount);
+        this.words = copy || words.length != wordCount ? Arrays.copyOf(words, wordCount) : words;
+        this.words[wordCount - 1] &= tailMask(variablesCount);
+        this.variablesCount = variablesCount;
+    }
+
+    /**
+     * Создаёт булеву функцию по упакованному вектору значений
+     * @param words упакованный вектор значений, массив копируется
+     * @param variablesCount количество переменных
+     * @return булева функция
+     * */
+    public static BooleanFunction fromWords(long[] words, int variablesCount) {
+        return new BooleanFunction(words, variablesCount, true);
+    }
+
+    /**
+     * Возвращает количество слов, необходимое для хранения вектора значений
+     * @param variablesCount количество переменных
+     * @return количество слов, не меньше 1
+     * */
+    public static int wordCount(int variablesCount) {
+        return variablesCount <= WORD_LOG ? 1 : 1 << (variablesCount - WORD_LOG);
+    }
+
+    /**
+     * Возвращает маску значащих бит последнего слова
+     * @param variablesCount количество переменных
+     * @return маска значащих бит
+     * */
+    public static long tailMask(int variablesCount) {
+        return variablesCount >= WORD_LOG ? -1L : (1L << (1 << variablesCount)) - 1;
+    }
 
     public boolean getBit(int index) {
-        return bits.get(index);
+        return (words[index >>> WORD_LOG] & (1L << index)) != 0;
+    }
+
+    /**
+     * Возвращает слово упакованного вектора значений
+     * @param index номер слова
+     * @return слово, содержащее значения функции на наборах
+     * {@code [64 * index, 64 * index + 63]}
+     * */
+    public long getWord(int index) {
+        return words[index];
+    }
+
+    /**
+     * @return количество слов в упакованном векторе значений
+     * */
+    public int getWordCount() {
+        return words.length;
+    }
+
+    /**
+     * @return копия упакованного вектора значений
+     * */
+    public long[] toLongArray() {
+        return words.clone();
+    }
+
+    /**
+     * Копирует упакованный вектор значений в переданный массив
+     * @param destination массив длины не меньше {@link #getWordCount()}
+     * @return переданный массив
+     * */
+    public long[] copyWordsTo(long[] destination) {
+        System.arraycopy(words, 0, destination, 0, words.length);
+        return destination;
+    }
+
+    /**
+     * @return копия вектора значений в виде BitSet
+     * */
+    public BitSet getBits() {
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * @return размер вектора значений, т.е. {@code 2^n}
+     * */
+    public int size() {
+        return 1 << variablesCount;
+    }
+
+    /**
+     * Вычисляет вес Хэмминга функции пословно
+     * @return количество единиц в векторе значений
+     * */
+    public int weight() {
+        return (int) KERNELS.bitCount(words, words.length);
+    }
+
+    /**
+     * Вычисляет сумму по модулю 2 двух функций
+     * @param other функция с тем же количеством переменных
+     * @return функция {@code f(x) ^ g(x)}
+     * @throws IllegalArgumentException если количество переменных в функциях различно
+     * */
+    public BooleanFunction xor(BooleanFunction other) {
+        checkSameVariables(other);
+        var result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] ^ other.words[i];
+        }
+        return new BooleanFunction(result, variablesCount, false);
+    }
+
+    /**
+     * Вычисляет конъюнкцию двух функций
+     * @param other функция с тем же количеством переменных
+     * @return функция {@code f(x) & g(x)}
+     * @throws IllegalArgumentException если количество переменных в функциях различно
+     * */
+    public BooleanFunction and(BooleanFunction other) {
+        checkSameVariables(other);
+        var result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new BooleanFunction(result, variablesCount, false);
+    }
+
+    /**
+     * Вычисляет расстояние Хэмминга между функциями без построения их суммы
+     * @param other функция с тем же количеством переменных
+     * @return количество наборов, на которых функции различаются
+     * @throws IllegalArgumentException если количество переменных в функциях различно
+     * */
+    public int distance(BooleanFunction other) {
+        checkSameVariables(other);
+        return (int) KERNELS.xorBitCount(words, other.words, words.length);
+    }
+
+    /**
+     * Сдвигает аргумент функции на базисный вектор, т.е. строит
+     * функцию {@code g(x) = f(x ^ (1 << variable))}.
+     * Для переменных с номером меньше 6 перестановка выполняется внутри слова
+     * масками и сдвигами, для остальных переставляются целые слова.
+     * @param variable номер переменной, от 0 до n - 1
+     * @return сдвинутая функция
+     * */
+    public BooleanFunction shift(int variable) {
+        if (variable < 0 || variable >= variablesCount) {
+            throw new IllegalArgumentException("Нет переменной с номером " + variable);
+        }
+        var result = new long[words.length];
+        if (variable < WORD_LOG) {
+            int distance = 1 << variable;
+            long low = LOW_HALF_MASKS[variable];
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                result[i] = ((word & low) << distance) | ((word >>> distance) & low);
+            }
+        } else {
+            int stride = 1 << (variable - WORD_LOG);
+            for (int i = 0; i < words.length; i++) {
+                result[i] = words[i ^ stride];
+            }
+        }
+        return new BooleanFunction(result, variablesCount, false);
+    }
+
+    private void checkSameVariables(BooleanFunction other) {
+        if (variablesCount != other.variablesCount) {
+            throw new IllegalArgumentException("Разное количество аргументов!");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BooleanFunction other)) {
+            return false;
+        }
+        return variablesCount == other.variablesCount && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * variablesCount + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder(size());
+        for (int i = 0; i < size(); i++) {
+            builder.append(getBit(i) ? '1' : '0');
+        }
+        return builder.toString();
     }
 }
@@ -0,0 +1,213 @@
+package org.example.functions;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Компактное представление ДНФ или КНФ: каждый терм - куб, заданный двумя масками типа {@code int}.
+ * Бит j маски care равен 1, если переменная с номером {@code j + 1} входит в терм, а бит j
+ * маски value задаёт её значение в кубе; нумерация переменных та же, что в {@link MonomialList}.
+ * Например, для ДНФ куб {@code (value = 0b01, care = 0b11)} соответствует конъюнкции
+ * {@code x1 & !x2}. Маски хранятся в примитивных массивах,
+ * обход не выделяет памяти. Объекты неизменяемы.
+ * <p>Списочные формы {@link org.example.util.Converter#valueVectorToDNF} и
+ * {@link org.example.util.Converter#valueVectorToCNF} нумеруют переменные в обратном порядке
+ * (бит j набора - переменная {@code n - j}) и используют свои знаки литералов;
+ * {@link #toDNFList()} и {@link #toCNFList()} переводят кубы точно в эти формы.
+ * */
+public final class CubeList {
+    /**
+     * Действие над кубом
+     * */
+    @FunctionalInterface
+    public interface CubeConsumer {
+        void accept(int value, int care);
+    }
+
+    @Getter
+    private final int variablesCount;
+    private final int[] values;
+    private final int[] cares;
+
+    /**
+     * @param variablesCount количество переменных
+     * @param values значения переменных кубов, биты вне care должны быть равны нулю
+     * @param cares маски переменных кубов
+     * @throws IllegalArgumentException если длины массивов различны или маски некорректны
+     * */
+    public CubeList(int variablesCount, int[] values, int[] cares) {
+        this(variablesCount, values.clone(), cares.clone(), true);
+    }
+
+    CubeList(int variablesCount, int[] values, int[] cares, boolean check) {
+        if (check) {
+            if (values.length != cares.length) {
+                throw new IllegalArgumentException("Разное количество значений и масок!");
+            }
+            int all = variablesCount == 0 ? 0 : -1 >>> (Integer.SIZE - variablesCount);
+            for (int i = 0; i < values.length; i++) {
+                if ((values[i] & ~cares[i]) != 0 || (cares[i] & ~all) != 0) {
+                    throw new IllegalArgumentException("Некорректный куб с номером " + i);
+                }
+            }
+        }
+        this.variablesCount = variablesCount;
+        this.values = values;
+        this.cares = cares;
+    }
+
+    /**
+     * Строит список кубов из всех наборов, на которых функция принимает заданное значение,
+     * за один проход по упакованному вектору значений
+     * @param function булева функция
+     * @param value искомое значение функции
+     * @return список полностью определённых кубов в порядке возрастания наборов
+     * */
+    public static CubeList points(BooleanFunction function, boolean value) {
+        int n = function.getVariablesCount();
+        int count = value ? function.weight() : function.size() - function.weight();
+        var values = new int[count];
+        var cares = new int[count];
+        int all = n == 0 ? 0 : -1 >>> (Integer.SIZE - n);
+        int lastWord = function.getWordCount() - 1;
+        int index = 0;
+        for (int w = 0; w <= lastWord; w++) {
+            long word = value ? function.getWord(w) : ~function.getWord(w);
+            if (w == lastWord) {
+                word &= BooleanFunction.tailMask(n);
+            }
+            for (; word != 0; word &= word - 1) {
+                values[index] = (w << 6) | Long.numberOfTrailingZeros(word);
+                cares[index++] = all;
+            }
+        }
+        return new CubeList(n, values, cares, false);
+    }
+
+    /**
+     * @return количество кубов
+     * */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @param index номер куба
+     * @return значения переменных куба
+     * */
+    public int value(int index) {
+        return values[index];
+    }
+
+    /**
+     * @param index номер куба
+     * @return маска переменных куба
+     * */
+    public int care(int index) {
+        return cares[index];
+    }
+
+    /**
+     * Обходит кубы без выделения памяти
+     * @param action действие над кубом
+     * */
+    public void forEach(CubeConsumer action) {
+        for (int i = 0; i < values.length; i++) {
+            action.accept(values[i], cares[i]);
+        }
+    }
+
+    /**
+     * @param x набор значений переменных
+     * @return true, если набор лежит хотя бы в одном кубе, т.е. значение ДНФ на наборе
+     * */
+    public boolean covers(int x) {
+        for (int i = 0; i < values.length; i++) {
+            if (((x ^ values[i]) & cares[i]) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return суммарное количество литералов во всех кубах
+     * */
+    public long literals() {
+        long result = 0;
+        for (int care : cares) {
+            result += Integer.bitCount(care);
+        }
+        return result;
+    }
+
+    /**
+     * @return кубы как конъюнкты ДНФ в представлении {@link org.example.util.Converter#valueVectorToDNF}:
+     * переменная записывается со знаком минус, если её бит value равен 1
+     * */
+    public List<List<Integer>> toDNFList() {
+        return toList(-1);
+    }
+
+    /**
+     * @return кубы как дизъюнкты КНФ в представлении {@link org.example.util.Converter#valueVectorToCNF}:
+     * переменная записывается со знаком минус, если её бит value равен 0
+     * */
+    public List<List<Integer>> toCNFList() {
+        return toList(1);
+    }
+
+    /**
+     * @param sign знак переменной с единичным битом value
+     * */
+    private List<List<Integer>> toList(int sign) {
+        var result = new ArrayList<List<Integer>>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            var term = new ArrayList<Integer>(Integer.bitCount(cares[i]));
+            // Переменные по возрастанию номеров n - j, т.е. от старшего бита к младшему
+            for (int j = variablesCount - 1; j >= 0; j--) {
+                if ((cares[i] >>> j & 1) != 0) {
+                    int variable = variablesCount - j;
+                    term.add((values[i] >>> j & 1) != 0 ? sign * variable : -sign * variable);
+                }
+            }
+            result.add(term);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CubeList other)) {
+            return false;
+        }
+        return variablesCount == other.variablesCount && Arrays.equals(values, other.values)
+                && Arrays.equals(cares, other.cares);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * variablesCount + Arrays.hashCode(values)) + Arrays.hashCode(cares);
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            // Старшая переменная слева, '-' - переменная не входит в куб
+            for (int j = variablesCount - 1; j >= 0; j--) {
+                builder.append((cares[i] >>> j & 1) == 0 ? '-' : (char) ('0' + (values[i] >>> j & 1)));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.functions;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Компактное представление АНФ: моном задаётся маской переменных типа {@code int},
+ * бит j маски соответствует переменной с номером {@code j + 1}, маска 0 - константе 1.
+ * Маски хранятся в примитивном массиве в порядке возрастания, обход не выделяет памяти.
+ * Объекты неизменяемы.
+ * */
+public final class MonomialList {
+    @Getter
+    private final int variablesCount;
+    private final int[] masks;
+
+    /**
+     * @param variablesCount количество переменных
+     * @param masks маски мономов в порядке возрастания, массив не копируется
+     * */
+    MonomialList(int variablesCount, int[] masks) {
+        this.variablesCount = variablesCount;
+        this.masks = masks;
+    }
+
+    /**
+     * Строит список мономов по упакованным коэффициентам АНФ
+     * @param anfCoefficients упакованные коэффициенты, бит u - коэффициент при мономе с маской u
+     * @param variablesCount количество переменных
+     * @return список мономов
+     * */
+    public static MonomialList fromCoefficients(long[] anfCoefficients, int variablesCount) {
+        int wordCount = BooleanFunction.wordCount(variablesCount);
+        int count = 0;
+        for (int w = 0; w < wordCount; w++) {
+            count += Long.bitCount(anfCoefficients[w]);
+        }
+        var masks = new int[count];
+        int index = 0;
+        for (int w = 0; w < wordCount; w++) {
+            for (long word = anfCoefficients[w]; word != 0; word &= word - 1) {
+                masks[index++] = (w << 6) | Long.numberOfTrailingZeros(word);
+            }
+        }
+        return new MonomialList(variablesCount, masks);
+    }
+
+    /**
+     * @return количество мономов
+     * */
+    public int size() {
+        return masks.length;
+    }
+
+    /**
+     * @param index номер монома
+     * @return маска переменных монома
+     * */
+    public int get(int index) {
+        return masks[index];
+    }
+
+    /**
+     * Обходит маски мономов без выделения памяти
+     * @param action действие над маской
+     * */
+    public void forEach(IntConsumer action) {
+        for (int mask : masks) {
+            action.accept(mask);
+        }
+    }
+
+    /**
+     * @return максимальная степень монома, 0 для пустого списка
+     * */
+    public int algebraicDegree() {
+        int result = 0;
+        for (int mask : masks) {
+            result = Math.max(result, Integer.bitCount(mask));
+        }
+        return result;
+    }
+
+    /**
+     * @return копия масок мономов
+     * */
+    public int[] toArray() {
+        return masks.clone();
+    }
+
+    /**
+     * @return представление в виде списка списков номеров переменных, как в
+     * {@link org.example.util.Converter#valueVectorToANF}
+     * */
+    public List<List<Integer>> toList() {
+        var result = new ArrayList<List<Integer>>(masks.length);
+        for (int mask : masks) {
+            if (mask == 0) {
+                result.add(Collections.emptyList());
+                continue;
+            }
+            var monomial = new ArrayList<Integer>(Integer.bitCount(mask));
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                monomial.add(Integer.numberOfTrailingZeros(rest) + 1);
+            }
+            result.add(monomial);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MonomialList other)) {
+            return false;
+        }
+        return variablesCount == other.variablesCount && Arrays.equals(masks, other.masks);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * variablesCount + Arrays.hashCode(masks);
+    }
+
+    @Override
+    public String toString() {
+        if (masks.length == 0) {
+            return "0";
+        }
+        var builder = new StringBuilder();
+        for (int i = 0; i < masks.length; i++) {
+            if (i > 0) {
+                builder.append(" ^ ");
+            }
+            if (masks[i] == 0) {
+                builder.append('1');
+            }
+            for (int rest = masks[i]; rest != 0; rest &= rest - 1) {
+                builder.append('x').append(Integer.numberOfTrailingZeros(rest) + 1);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.functions;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Класс, представляющий векторную булеву функцию (S-блок) из n в m бит.
+ * Хранится в виде таблицы значений {@code int[2^n]}. Объекты неизменяемы.
+ * */
+public final class SBox {
+    private final int[] table;
+    @Getter
+    private final int inputsCount;
+    @Getter
+    private final int outputsCount;
+
+    /**
+     * Создаёт S-блок по таблице значений
+     * @param table таблица значений длины {@code 2^n}, копируется
+     * @param outputsCount количество выходных бит m
+     * @throws IllegalArgumentException если длина таблицы не степень двойки
+     * или значение не помещается в m бит
+     * */
+    public SBox(int[] table, int outputsCount) {
+        if (Integer.bitCount(table.length) != 1 || table.length > 1 << 30) {
+            throw new IllegalArgumentException("Длина таблицы должна быть степенью двойки!");
+        }
+        if (outputsCount < 1 || outputsCount > 30) {
+            throw new IllegalArgumentException("Количество выходов должно быть от 1 до 30!");
+        }
+        for (int value : table) {
+            if (value >>> outputsCount != 0) {
+                throw new IllegalArgumentException("Значение " + value + " не помещается в "
+                        + outputsCount + " бит!");
+            }
+        }
+        this.table = table.clone();
+        this.inputsCount = Integer.numberOfTrailingZeros(table.length);
+        this.outputsCount = outputsCount;
+    }
+
+    /**
+     * @param x входное значение
+     * @return значение S-блока на входе x
+     * */
+    public int apply(int x) {
+        return table[x];
+    }
+
+    /**
+     * @return размер таблицы значений, т.е. {@code 2^n}
+     * */
+    public int size() {
+        return table.length;
+    }
+
+    /**
+     * @return копия таблицы значений
+     * */
+    public int[] toArray() {
+        return table.clone();
+    }
+
+    /**
+     * Строит компонентную функцию {@code b . S(x)}
+     * @param mask ненулевая маска выходов b
+     * @return булева функция от n переменных
+     * */
+    public BooleanFunction component(int mask) {
+        var words = new long[BooleanFunction.wordCount(inputsCount)];
+        for (int x = 0; x < table.length; x++) {
+            words[x >>> 6] |= (long) (Integer.bitCount(table[x] & mask) & 1) << x;
+        }
+        return BooleanFunction.fromWords(words, inputsCount);
+    }
+
+    /**
+     * @return true, если S-блок является перестановкой
+     * */
+    public boolean isPermutation() {
+        if (inputsCount != outputsCount) {
+            return false;
+        }
+        var seen = new boolean[table.length];
+        for (int value : table) {
+            if (seen[value]) {
+                return false;
+            }
+            seen[value] = true;
+        }
+        return true;
+    }
+
+    /**
+     * @return обратный S-блок
+     * @throws IllegalStateException если S-блок не является перестановкой
+     * */
+    public SBox inverse() {
+        if (!isPermutation()) {
+            throw new IllegalStateException("S-блок не является перестановкой!");
+        }
+        var result = new int[table.length];
+        for (int x = 0; x < table.length; x++) {
+            result[table[x]] = x;
+        }
+        return new SBox(result, outputsCount);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SBox other)) {
+            return false;
+        }
+        return outputsCount == other.outputsCount && Arrays.equals(table, other.table);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * outputsCount + Arrays.hashCode(table);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(table);
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.functions.algos;
+
+import org.example.functions.BooleanFunction;
+
+import java.util.Optional;
+
+/**
+ * Вычисление алгебраической иммунности и аннуляторов через линейную алгебру над GF(2).
+ * Функция g степени не выше d с АНФ {@code sum c_u x^u} аннулирует f, если
+ * {@code sum_(u ⊆ x) c_u = 0} для каждого x из носителя f. Это однородная система с
+ * {@code wt(f)} уравнениями и {@code sum_(i <= d) C(n, i)} неизвестными.
+ * */
+final class AlgebraicImmunity {
+
+    private AlgebraicImmunity() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * @see Algorithms#algebraicImmunity
+     * */
+    static int algebraicImmunity(BooleanFunction function) {
+        var complement = complement(function);
+        int n = function.getVariablesCount();
+        for (int degree = 0; degree <= n; degree++) {
+            if (hasAnnihilator(function, degree) || hasAnnihilator(complement, degree)) {
+                return degree;
+            }
+        }
+        // Недостижимо: функция 1 ^ f степени не выше n аннулирует f
+        throw new IllegalStateException();
+    }
+
+    /**
+     * @see Algorithms#findAnnihilator
+     * */
+    static Optional<BooleanFunction> findAnnihilator(BooleanFunction function, int degree) {
+        int n = function.getVariablesCount();
+        if (degree < 0 || degree > n) {
+            throw new IllegalArgumentException("Степень должна быть от 0 до " + n);
+        }
+        var monomials = monomials(n, degree);
+        var kernel = system(function, monomials).kernel();
+        if (kernel.getRows() == 0) {
+            return Optional.empty();
+        }
+        // Коэффициенты АНФ первого вектора ядра, преобразование Мёбиуса - инволюция
+        var words = new long[function.getWordCount()];
+        for (int j = 0; j < monomials.length; j++) {
+            if (kernel.get(0, j)) {
+                words[monomials[j] >>> 6] |= 1L << monomials[j];
+            }
+        }
+        Moebius.transform(words, n);
+        return Optional.of(BooleanFunction.fromWords(words, n));
+    }
+
+    private static boolean hasAnnihilator(BooleanFunction function, int degree) {
+        var monomials = monomials(function.getVariablesCount(), degree);
+        int weight = function.weight();
+        // Неизвестных больше, чем уравнений, - решение заведомо есть
+        if (weight < monomials.length) {
+            return true;
+        }
+        return system(function, monomials).reducedRowEchelonForm() < monomials.length;
+    }
+
+    /**
+     * Строит матрицу системы: строка для каждого x из носителя f, столбец для каждого монома
+     * */
+    private static GF2Matrix system(BooleanFunction function, int[] monomials) {
+        int n = function.getVariablesCount();
+        int degree = monomials.length == 0 ? 0 : Integer.bitCount(monomials[monomials.length - 1]);
+        var columnOf = new int[1 << n];
+        for (int j = 0; j < monomials.length; j++) {
+            columnOf[monomials[j]] = j + 1;
+        }
+        var matrix = new GF2Matrix(function.weight(), monomials.length);
+        int row = 0;
+        for (int w = 0; w < function.getWordCount(); w++) {
+            for (long word = function.getWord(w); word != 0; word &= word - 1) {
+                int x = (w << 6) | Long.numberOfTrailingZeros(word);
+                // Перебор подмножеств x, в том числе пустого
+                for (int u = x; ; u = (u - 1) & x) {
+                    if (Integer.bitCount(u) <= degree) {
+                        matrix.set(row, columnOf[u] - 1, true);
+                    }
+                    if (u == 0) {
+                        break;
+                    }
+                }
+                row++;
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * @return маски всех мономов степени не выше degree в порядке возрастания степени
+     * */
+    private static int[] monomials(int n, int degree) {
+        int count = 0;
+        long binomial = 1;
+        for (int i = 0; i <= degree; i++) {
+            count += (int) binomial;
+            binomial = binomial * (n - i) / (i + 1);
+        }
+        var result = new int[count];
+        int index = 0;
+        for (int d = 0; d <= degree; d++) {
+            if (d == 0) {
+                result[index++] = 0;
+                continue;
+            }
+            // Перебор масок веса d в порядке возрастания (приём Госпера)
+            int mask = (1 << d) - 1;
+            for (; mask < 1 << n; mask = SpectralCriteria.nextCombination(mask)) {
+                result[index++] = mask;
+            }
+        }
+        return result;
+    }
+
+    private static BooleanFunction complement(BooleanFunction function) {
+        var words = function.toLongArray();
+        for (int i = 0; i < words.length; i++) {
+            words[i] = ~words[i];
+        }
+        return BooleanFunction.fromWords(words, function.getVariablesCount());
+    }
+}
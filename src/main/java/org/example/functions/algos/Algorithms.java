@@ -1,10 +1,15 @@
 package org.example.functions.algos;
 
 import org.example.functions.BooleanFunction;
+import org.example.functions.MonomialList;
+import org.example.metrics.Metrics;
+import org.example.metrics.Operation;
 
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Основные алгоритмы для работы с булевыми функциями
@@ -21,7 +26,7 @@ public class Algorithms {
      * @return вес функции
      * */
     public static int hammingWeight(BooleanFunction function) {
-        return function.getBits().cardinality();
+        return function.weight();
     }
 
     /**
@@ -31,25 +36,39 @@ public class Algorithms {
      * @see "Algorithmic Cryptanalysis Antoine Joux, Algorithm 9.6"
      * */
     public static BitSet moebiusTransform(BooleanFunction function) {
-        var n = function.getVariablesCount();
-        int size, position;
-
-        var result = BitSet.valueOf(function.getBits().toLongArray());
-        for (int i = 0; i < n; i++) {
-            size = 1 << i;
-            position = 0;
-            while (position < (1 << (n - 1))) {
-                for (int j = 0; j < size; j++) {
-                    if(result.get(position + j) ^ result.get(position + size + j)) {
-                        result.set(position + size + j);
-                    }
-                }
-
-                position += size << 1;
-            }
-        }
+        var buffer = new long[function.getWordCount()];
+        return BitSet.valueOf(moebiusTransform(function, buffer));
+    }
 
-        return result;
+    /**
+     * Вычисляет преобразование Мёбиуса булевой функции в переданный буфер
+     * @param function булева функция
+     * @param buffer буфер длины не меньше {@code function.getWordCount()},
+     * в который записываются упакованные коэффициенты АНФ
+     * @return переданный буфер
+     * @see #moebiusTransformInPlace
+     * */
+    public static long[] moebiusTransform(BooleanFunction function, long[] buffer) {
+        moebiusTransformInPlace(function.copyWordsTo(buffer), function.getVariablesCount());
+        return buffer;
+    }
+
+    /**
+     * Вычисляет преобразование Мёбиуса упакованного вектора значений на месте.
+     * Преобразование является инволюцией, поэтому им же восстанавливается
+     * вектор значений по АНФ.
+     * @param words упакованный вектор значений длины {@code max(1, 2^(n-6))},
+     * биты за пределами {@code 2^n} должны быть нулевыми
+     * @param variablesCount количество переменных
+     * @see Moebius
+     * */
+    public static void moebiusTransformInPlace(long[] words, int variablesCount) {
+        var probe = Metrics.start(Operation.MOEBIUS, variablesCount);
+        try {
+            Moebius.transform(words, variablesCount);
+        } finally {
+            probe.stop();
+        }
     }
 
     /**
@@ -59,29 +78,37 @@ public class Algorithms {
      * @see "Algorithmic Cryptanalysis Antoine Joux, Algorithm 9.3"
      * */
     public static int[] walshTransform(BooleanFunction function) {
-        var n = function.getVariablesCount();
-        int size, position, sum, diff;
+        return walshTransform(function, new int[function.size()], null);
+    }
 
-        var result = new int[1 << n];
-        for (int i = 0; i < (1 << n); i++) {
-            result[i] = function.getBit(i) ? -1 : 1;
-        }
+    /**
+     * Вычисляет преобразование Уолша булевой функции в переданный буфер без выделения памяти
+     * @param function булева функция
+     * @param buffer буфер длины не меньше {@code 2^n}
+     * @return переданный буфер с коэффициентами преобразования Уолша
+     * @see WalshHadamard
+     * */
+    public static int[] walshTransform(BooleanFunction function, int[] buffer) {
+        return walshTransform(function, buffer, null);
+    }
 
-        for (int i = 0; i < n; i++) {
-            size = 1 << i;
-            position = 0;
-            while (position < (1 << n)) {
-                for (int j = 0; j < size; j++) {
-                    sum = result[position + j] + result[position + size + j];
-                    diff = result[position + j] - result[position + size + j];
-                    result[position + j] = sum;
-                    result[position + size + j] = diff;
-                }
-                position += size << 1;
-            }
+    /**
+     * Вычисляет преобразование Уолша булевой функции в переданный буфер
+     * @param function булева функция
+     * @param buffer буфер длины не меньше {@code 2^n}
+     * @param pool пул потоков для старших шагов бабочки, либо {@code null}
+     * @return переданный буфер с коэффициентами преобразования Уолша
+     * @see WalshHadamard
+     * */
+    public static int[] walshTransform(BooleanFunction function, int[] buffer, ForkJoinPool pool) {
+        var probe = Metrics.start(Operation.WALSH, function.getVariablesCount());
+        try {
+            WalshHadamard.signs(function, buffer);
+            WalshHadamard.transform(buffer, function.getVariablesCount(), pool);
+            return buffer;
+        } finally {
+            probe.stop();
         }
-
-        return result;
     }
 
     /**
@@ -89,55 +116,50 @@ public class Algorithms {
      * @param function булева функция
      * @return матрица с дифференциальными разностями (DDT таблица)
      * @see "Algorithmic Cryptanalysis Antoine Joux, Algorithm 9.1"
+     * @see #differenceDistributionTable
      * */
     public static int[][] ddtTable(BooleanFunction function) {
-        int inputSize = 1 << function.getVariablesCount(), xPrime;
-        var diffTable = new int[inputSize][2];
-
-        for (int deltaX = 0; deltaX < inputSize; deltaX++) {
-            for (int x = 0; x < inputSize; x++) {
-                xPrime = x ^ deltaX;
-//                if (xPrime >= inputSize) {
-//                    continue;
-//                }
-
-                diffTable[deltaX][(function.getBit(x) ^ function.getBit(xPrime)) ? 1 : 0]++;
-            }
-        }
+        return differenceDistributionTable(function).toArray();
+    }
 
-        return diffTable;
+    /**
+     * Строит ленивое представление DDT по спектру автокорреляции за {@code O(n 2^n)}
+     * @param function булева функция
+     * @return таблица дифференциальных характеристик
+     * */
+    public static DifferenceDistributionTable differenceDistributionTable(BooleanFunction function) {
+        return new DifferenceDistributionTable(autocorrelationSpectrum(function), function.getVariablesCount());
     }
 
     /**
-     * Вычисляет обратное преобразование Уолша булевой функции
+     * Вычисляет обратное преобразование Уолша знакового вектора булевой функции,
+     * т.е. величины {@code W_f(u) / 2^n}, округлённые вниз
      * @param function булева функция
-     * @return массив с коэффициентами преобразования Уолша булевой функции
+     * @return массив длины {@code 2^n} с коэффициентами обратного преобразования
      * @see "Algorithmic Cryptanalysis Antoine Joux, Algorithm 9.4"
      * */
     public static int[] inverseWalshTransform(BooleanFunction function) {
-        var n = function.getVariablesCount();
-        int size, position, sum, diff;
-
-        var result = new int[1 << (n - 1)];
-        for (int i = 0; i < (1 << (n - 1)); i++) {
-            result[i] = function.getBit(i) ? -1 : 1;
-        }
+        var result = WalshHadamard.signs(function, new int[function.size()]);
+        return inverseWalshTransform(result, function.getVariablesCount(), null);
+    }
 
-        for (int i = 0; i < n; i++) {
-            size = 1 << i;
-            position = 0;
-            while (position < (1 << (n - 1))) {
-                for (int j = 0; j < size; j++) {
-                    sum = result[position + j] + result[position + size + j];
-                    diff = result[position + j] - result[position + size + j];
-                    result[position + j] = sum / 2;
-                    result[position + size + j] = diff / 2;
-                }
-                position += size << 1;
-            }
+    /**
+     * Вычисляет обратное преобразование Уолша спектра на месте,
+     * восстанавливая знаковый вектор {@code (-1)^f(x)}
+     * @param spectrum спектр Уолша длины {@code 2^n}, перезаписывается
+     * @param variablesCount количество переменных
+     * @param pool пул потоков для старших шагов бабочки, либо {@code null}
+     * @return переданный массив
+     * @see "Algorithmic Cryptanalysis Antoine Joux, Algorithm 9.4"
+     * */
+    public static int[] inverseWalshTransform(int[] spectrum, int variablesCount, ForkJoinPool pool) {
+        var probe = Metrics.start(Operation.INVERSE_WALSH, variablesCount);
+        try {
+            WalshHadamard.inverse(spectrum, variablesCount, pool);
+            return spectrum;
+        } finally {
+            probe.stop();
         }
-
-        return result;
     }
 
     /**
@@ -154,18 +176,192 @@ public class Algorithms {
                 .orElse(0);
     }
 
+    /**
+     * Вычисляет алгебраическую степень по компактной АНФ
+     * @param anf мономы АНФ
+     * @return алгебраическая степень функции
+     * @see org.example.util.Converter#valueVectorToANFMonomials
+     * */
+    public static int algebraicDegree(MonomialList anf) {
+        return anf.algebraicDegree();
+    }
+
+    /**
+     * Вычисляет алгебраическую степень по упакованным коэффициентам АНФ
+     * как максимальный вес индекса ненулевого коэффициента, не строя списков мономов
+     * @param anfCoefficients упакованные коэффициенты АНФ
+     * @param variablesCount количество переменных
+     * @return алгебраическая степень функции
+     * @see #moebiusTransform(BooleanFunction, long[])
+     * */
+    public static int algebraicDegree(long[] anfCoefficients, int variablesCount) {
+        int result = 0;
+        int wordCount = BooleanFunction.wordCount(variablesCount);
+        for (int w = 0; w < wordCount; w++) {
+            for (long word = anfCoefficients[w]; word != 0; word &= word - 1) {
+                int monomial = (w << 6) | Long.numberOfTrailingZeros(word);
+                result = Math.max(result, Integer.bitCount(monomial));
+            }
+        }
+        return result;
+    }
+
     /**
      * Проверяет, является ли функция аффинной
      * @param anf список списков, представляющий АНФ, где каждый элемент списка -
      * это список номеров переменных в одном из дизъюнктов
-     * @return true, если функция аффинная, иначе false
+     * @return true, если функция аффинная (в том числе константа), иначе false
      * @see org.example.util.Converter#valueVectorToANF
      * */
     public static boolean isAffine(List<List<Integer>> anf) {
         return anf.stream()
                 .map(List::size)
                 .max(Integer::compareTo)
-                .orElse(0) == 1;
+                .orElse(0) <= 1;
+    }
+
+    /**
+     * Проверяет, является ли функция аффинной, по компактной АНФ
+     * @param anf мономы АНФ
+     * @return true, если функция аффинная (в том числе константа), иначе false
+     * @see org.example.util.Converter#valueVectorToANFMonomials
+     * */
+    public static boolean isAffine(MonomialList anf) {
+        return anf.algebraicDegree() <= 1;
+    }
+
+    /**
+     * Проверяет, является ли функция аффинной, по упакованным коэффициентам АНФ без построения мономов
+     * @param anfCoefficients упакованные коэффициенты АНФ
+     * @param variablesCount количество переменных
+     * @return true, если функция аффинная (в том числе константа), иначе false
+     * @see #moebiusTransform(BooleanFunction, long[])
+     * */
+    public static boolean isAffine(long[] anfCoefficients, int variablesCount) {
+        return algebraicDegree(anfCoefficients, variablesCount) <= 1;
+    }
+
+    /**
+     * Вычисляет алгебраическую иммунность булевой функции, т.е. минимальную степень
+     * ненулевой функции g, для которой {@code f g = 0} или {@code (1 ^ f) g = 0}.
+     * Для каждой степени решается однородная система над GF(2) методом четырёх русских.
+     * @param function булева функция
+     * @return алгебраическая иммунность, не больше {@code ceil(n / 2)}
+     * @see GF2Matrix
+     * */
+    public static int algebraicImmunity(BooleanFunction function) {
+        var probe = Metrics.start(Operation.ALGEBRAIC_IMMUNITY, function.getVariablesCount());
+        try {
+            return AlgebraicImmunity.algebraicImmunity(function);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Ищет ненулевой аннулятор функции, т.е. g с {@code f g = 0}, степени не выше degree
+     * @param function булева функция
+     * @param degree максимальная степень аннулятора
+     * @return аннулятор, либо пустой Optional, если его нет
+     * @throws IllegalArgumentException если степень вне диапазона {@code [0, n]}
+     * */
+    public static Optional<BooleanFunction> findAnnihilator(BooleanFunction function, int degree) {
+        return AlgebraicImmunity.findAnnihilator(function, degree);
+    }
+
+    /**
+     * Вычисляет порядок корреляционной иммунности: наибольшее m, при котором
+     * {@code W_f(a) = 0} для всех a веса от 1 до m
+     * @param walshSpectrum спектр Уолша функции
+     * @param variablesCount количество переменных
+     * @return порядок корреляционной иммунности от 0 до n
+     * */
+    public static int correlationImmunity(int[] walshSpectrum, int variablesCount) {
+        return SpectralCriteria.zeroOrder(walshSpectrum, variablesCount, variablesCount);
+    }
+
+    /**
+     * Проверяет корреляционную иммунность порядка order, просматривая только индексы веса
+     * не больше order и останавливаясь на первом ненулевом коэффициенте
+     * @param walshSpectrum спектр Уолша функции
+     * @param variablesCount количество переменных
+     * @param order проверяемый порядок
+     * @return true, если функция корреляционно-иммунна порядка order
+     * */
+    public static boolean isCorrelationImmune(int[] walshSpectrum, int variablesCount, int order) {
+        checkOrder(variablesCount, order);
+        return SpectralCriteria.zeroOrder(walshSpectrum, variablesCount, order) == order;
+    }
+
+    /**
+     * Вычисляет порядок устойчивости: порядок корреляционной иммунности уравновешенной функции
+     * @param walshSpectrum спектр Уолша функции
+     * @param variablesCount количество переменных
+     * @return порядок устойчивости, либо -1, если функция не уравновешена
+     * */
+    public static int resiliency(int[] walshSpectrum, int variablesCount) {
+        return walshSpectrum[0] != 0 ? -1 : correlationImmunity(walshSpectrum, variablesCount);
+    }
+
+    /**
+     * Проверяет устойчивость порядка order с ранним выходом
+     * @param walshSpectrum спектр Уолша функции
+     * @param variablesCount количество переменных
+     * @param order проверяемый порядок
+     * @return true, если функция уравновешена и корреляционно-иммунна порядка order
+     * */
+    public static boolean isResilient(int[] walshSpectrum, int variablesCount, int order) {
+        return walshSpectrum[0] == 0 && isCorrelationImmune(walshSpectrum, variablesCount, order);
+    }
+
+    /**
+     * Вычисляет порядок критерия распространения PC(l): наибольшее l, при котором
+     * {@code r_f(a) = 0} для всех a веса от 1 до l
+     * @param autocorrelation спектр автокорреляции функции
+     * @param variablesCount количество переменных
+     * @return порядок критерия распространения от 0 до n
+     * @see #autocorrelationSpectrum
+     * */
+    public static int propagationCriterion(int[] autocorrelation, int variablesCount) {
+        return SpectralCriteria.zeroOrder(autocorrelation, variablesCount, variablesCount);
+    }
+
+    /**
+     * Проверяет критерий распространения PC(l) с ранним выходом
+     * @param autocorrelation спектр автокорреляции функции
+     * @param variablesCount количество переменных
+     * @param order проверяемый порядок l
+     * @return true, если функция удовлетворяет PC(l)
+     * */
+    public static boolean satisfiesPropagationCriterion(int[] autocorrelation, int variablesCount, int order) {
+        checkOrder(variablesCount, order);
+        return SpectralCriteria.zeroOrder(autocorrelation, variablesCount, order) == order;
+    }
+
+    /**
+     * Проверяет, является ли функция бент-функцией, т.е. {@code |W_f(u)| = 2^(n/2)} для всех u
+     * @param walshSpectrum спектр Уолша функции
+     * @param variablesCount количество переменных
+     * @return true для бент-функции, для нечётного n всегда false
+     * */
+    public static boolean isBent(int[] walshSpectrum, int variablesCount) {
+        return SpectralCriteria.isBent(walshSpectrum, variablesCount);
+    }
+
+    /**
+     * Определяет амплитуду платовидной функции, у которой все ненулевые {@code |W_f(u)|} равны
+     * @param walshSpectrum спектр Уолша функции
+     * @param variablesCount количество переменных
+     * @return амплитуда, либо 0, если функция не платовидная
+     * */
+    public static int plateauedAmplitude(int[] walshSpectrum, int variablesCount) {
+        return SpectralCriteria.plateauedAmplitude(walshSpectrum, variablesCount);
+    }
+
+    private static void checkOrder(int variablesCount, int order) {
+        if (order < 0 || order > variablesCount) {
+            throw new IllegalArgumentException("Порядок должен быть от 0 до " + variablesCount);
+        }
     }
 
     /**
@@ -188,59 +384,121 @@ public class Algorithms {
      * @param g вторая булева функция
      * @throws RuntimeException если количество переменных в функциях различно
      * @return корреляция между функциями
+     * @see CorrelationEngine
      * */
     public static double correlation(BooleanFunction f, BooleanFunction g) {
         if(f.getVariablesCount() != g.getVariablesCount()) {
             throw new IllegalArgumentException("Разное количество аргументов!");
         }
 
-        int size = 1 << f.getVariablesCount(), sum = 0;
-        for (int x = 0; x < size; x++) {
-            sum += (f.getBit(x) == g.getBit(x)) ? 1 : -1;
-        }
+        // Число совпадений минус число различий, считается по 64 набора за раз
+        int size = f.size();
+        int sum = size - 2 * f.distance(g);
         return (double) sum / size;
     }
 
     /**
-     * Вычисляет спектр автокорреляции булевой функции
+     * Вычисляет спектр автокорреляции булевой функции через спектр Уолша
+     * (теорема Винера-Хинчина): {@code r = WHT^-1(W^2)}, за {@code O(n 2^n)}
      * @param function булева функция
      * @return массив с коэффициентами автокорреляции булевой функции
      * */
     public static int[] autocorrelationSpectrum(BooleanFunction function) {
-        int size = 1 << function.getVariablesCount(), total = 0;
-        var spectrum = new int[size];
+        var spectrum = walshTransform(function);
+        var workspace = new long[spectrum.length];
+        return autocorrelationSpectrum(spectrum, function.getVariablesCount(), workspace, spectrum, null);
+    }
+
+    /**
+     * Вычисляет спектр автокорреляции по спектру Уолша без выделения памяти
+     * @param walshSpectrum спектр Уолша функции
+     * @param variablesCount количество переменных
+     * @param workspace рабочий буфер длины не меньше {@code 2^n}
+     * @param result буфер для результата длины не меньше {@code 2^n},
+     * может совпадать с {@code walshSpectrum}
+     * @param pool пул потоков для преобразования, либо {@code null}
+     * @return буфер {@code result} с коэффициентами автокорреляции
+     * */
+    public static int[] autocorrelationSpectrum(int[] walshSpectrum, int variablesCount,
+                                                long[] workspace, int[] result, ForkJoinPool pool) {
+        var probe = Metrics.start(Operation.AUTOCORRELATION, variablesCount);
+        try {
+            squaredSpectrumInverse(walshSpectrum, variablesCount, workspace, result, pool);
+            return result;
+        } finally {
+            probe.stop();
+        }
+    }
+
+    private static void squaredSpectrumInverse(int[] walshSpectrum, int variablesCount,
+                                             long[] workspace, int[] result, ForkJoinPool pool) {
+        int size = 1 << variablesCount;
+        for (int u = 0; u < size; u++) {
+            long value = walshSpectrum[u];
+            workspace[u] = value * value;
+        }
+        // Сумма модулей квадратов равна 2^(2n), поэтому в long переполнения нет
+        WalshHadamard.inverse(workspace, variablesCount, pool);
         for (int a = 0; a < size; a++) {
-            total = 0;
-            for (int x = 0; x < size; x++) {
-                total += (function.getBit(x) == function.getBit(x ^ a)) ? 1 : -1;
+            result[a] = (int) workspace[a];
+        }
+    }
+
+    /**
+     * Вычисляет абсолютный индикатор, индикатор суммы квадратов и количество
+     * линейных структур булевой функции
+     * @param function булева функция
+     * @return индикаторы автокорреляции
+     * */
+    public static AutocorrelationIndicators autocorrelationIndicators(BooleanFunction function) {
+        return autocorrelationIndicators(autocorrelationSpectrum(function), function.getVariablesCount());
+    }
+
+    /**
+     * Вычисляет индикаторы по готовому спектру автокорреляции за один проход
+     * @param autocorrelation спектр автокорреляции
+     * @param variablesCount количество переменных
+     * @return индикаторы автокорреляции
+     * @throws ArithmeticException если индикатор суммы квадратов не помещается в long
+     * (возможно только при n больше 20)
+     * @see #autocorrelationSpectrum
+     * */
+    public static AutocorrelationIndicators autocorrelationIndicators(int[] autocorrelation, int variablesCount) {
+        int size = 1 << variablesCount, absolute = 0, linearStructures = 0;
+        long value = autocorrelation[0];
+        long sumOfSquares = value * value;
+        for (int a = 1; a < size; a++) {
+            value = autocorrelation[a];
+            sumOfSquares = Math.addExact(sumOfSquares, value * value);
+            int abs = Math.abs(autocorrelation[a]);
+            if (abs > absolute) {
+                absolute = abs;
+            }
+            if (abs == size) {
+                linearStructures++;
             }
-            spectrum[a] = total;
         }
-        return spectrum;
+        return new AutocorrelationIndicators(absolute, sumOfSquares, linearStructures);
     }
 
     /**
-     * Вычисляет линейные характеристики булевой функции
+     * Вычисляет линейные характеристики булевой функции. Таблица материализуется
+     * целиком и занимает {@code 4^n} памяти, для больших n следует использовать
+     * {@link #linearApproximationTable}
      * @param function булева функция
      * @return матрица с линейными характеристиками (LAT таблица)
      * */
     public static int[][] latTable(BooleanFunction function) {
-        int size = 1 << function.getVariablesCount(), total = 0;
-        var lat = new int[size][size];
+        return linearApproximationTable(function).toArray();
+    }
 
-        boolean ax, bx, fx;
-        for (int a = 0; a < size; a++) {
-            for (int b = 0; b < size; b++) {
-                total = 0;
-                for (int x = 0; x < size; x++) {
-                    ax = (Integer.bitCount(a & x) % 2 != 0);
-                    fx = function.getBit(x);
-                    bx = (Integer.bitCount(b & x) % 2 != 0);
-                    total += (ax ^ fx ^ bx) ? -1 : 1;
-                }
-                lat[a][b] = total;
-            }
-        }
-        return lat;
+    /**
+     * Строит ленивое представление LAT по одному спектру Уолша за {@code O(n 2^n)}
+     * @param function булева функция
+     * @return таблица линейных приближений
+     * @see LinearApproximationTable#differenceDistributionTable
+     * */
+    public static LinearApproximationTable linearApproximationTable(BooleanFunction function) {
+        return new LinearApproximationTable(walshTransform(function), function.getVariablesCount());
     }
 }
@@ -0,0 +1,241 @@
+package org.example.functions.algos;
+
+import lombok.Getter;
+import org.example.functions.BooleanFunction;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Изменяемое состояние анализа для локального поиска: вектор значений и выбранные спектры,
+ * которые обновляются за {@code O(2^n)} при изменении одного бита или обмене двух значений
+ * вместо пересчёта за {@code O(n 2^n)}. Все изменения журналируются и могут быть отменены.
+ * Класс не потокобезопасен. Возвращаемые массивы отражают текущее состояние и не должны изменяться.
+ * */
+public final class AnalysisState {
+    /**
+     * Спектры, поддерживаемые состоянием
+     * */
+    public enum Spectrum {
+        WALSH,
+        ANF,
+        AUTOCORRELATION
+    }
+
+    /**
+     * {@code SUPERSETS_IN_WORD[x]} - маска позиций u внутри слова, для которых {@code u & x == x}
+     * */
+    private static final long[] SUPERSETS_IN_WORD = new long[BooleanFunction.WORD_BITS];
+
+    static {
+        for (int x = 0; x < BooleanFunction.WORD_BITS; x++) {
+            for (int u = 0; u < BooleanFunction.WORD_BITS; u++) {
+                if ((u & x) == x) {
+                    SUPERSETS_IN_WORD[x] |= 1L << u;
+                }
+            }
+        }
+    }
+
+    @Getter
+    private final int variablesCount;
+    private final int size;
+    private final long[] table;
+    private final int[] walsh;
+    private final long[] anf;
+    private final int[] autocorrelation;
+    @Getter
+    private int weight;
+
+    /**
+     * Журнал изменений: номера изменённых бит, за которыми следует их количество
+     * */
+    private int[] journal = new int[64];
+    private int journalSize;
+
+    /**
+     * Создаёт состояние со всеми спектрами
+     * @param function исходная функция
+     * */
+    public AnalysisState(BooleanFunction function) {
+        this(function, EnumSet.allOf(Spectrum.class));
+    }
+
+    /**
+     * @param function исходная функция
+     * @param spectra поддерживаемые спектры
+     * */
+    public AnalysisState(BooleanFunction function, Set<Spectrum> spectra) {
+        this.variablesCount = function.getVariablesCount();
+        this.size = function.size();
+        this.table = function.toLongArray();
+        this.weight = function.weight();
+        this.walsh = spectra.contains(Spectrum.WALSH) || spectra.contains(Spectrum.AUTOCORRELATION)
+                ? Algorithms.walshTransform(function) : null;
+        this.anf = spectra.contains(Spectrum.ANF)
+                ? Algorithms.moebiusTransform(function, new long[table.length]) : null;
+        this.autocorrelation = spectra.contains(Spectrum.AUTOCORRELATION)
+                ? Algorithms.autocorrelationSpectrum(walsh, variablesCount, new long[size], new int[size], null)
+                : null;
+    }
+
+    /**
+     * @param x номер набора
+     * @return текущее значение функции на наборе
+     * */
+    public boolean getBit(int x) {
+        return (table[x >>> 6] & (1L << x)) != 0;
+    }
+
+    /**
+     * Инвертирует значение функции на наборе x
+     * @param x номер набора
+     * */
+    public void flip(int x) {
+        apply(x);
+        push(x);
+        push(1);
+    }
+
+    /**
+     * Меняет местами значения функции на наборах x и y, сохраняя вес
+     * @param x номер первого набора
+     * @param y номер второго набора
+     * */
+    public void swap(int x, int y) {
+        if (getBit(x) != getBit(y)) {
+            apply(x);
+            apply(y);
+            push(x);
+            push(y);
+            push(2);
+        } else {
+            push(0);
+        }
+    }
+
+    /**
+     * Отменяет последнее изменение
+     * @return false, если журнал пуст
+     * */
+    public boolean undo() {
+        if (journalSize == 0) {
+            return false;
+        }
+        int count = journal[--journalSize];
+        // Инвертирование - инволюция, поэтому достаточно повторить изменения в обратном порядке
+        for (int i = 0; i < count; i++) {
+            apply(journal[--journalSize]);
+        }
+        return true;
+    }
+
+    /**
+     * Очищает журнал, фиксируя текущее состояние
+     * */
+    public void commit() {
+        journalSize = 0;
+    }
+
+    private void push(int value) {
+        if (journalSize == journal.length) {
+            journal = Arrays.copyOf(journal, journal.length * 2);
+        }
+        journal[journalSize++] = value;
+    }
+
+    private void apply(int x) {
+        long bit = (table[x >>> 6] >>> x) & 1;
+        if (autocorrelation != null) {
+            // r(a) содержит s(x)s(x^a) дважды, после смены знака s(x) слагаемые меняются на -4 s(x)s(x^a)
+            int signX = (int) (1 - 2 * bit);
+            for (int a = 1; a < size; a++) {
+                int y = x ^ a;
+                int signY = (int) (1 - 2 * ((table[y >>> 6] >>> y) & 1));
+                autocorrelation[a] -= 4 * signX * signY;
+            }
+        }
+        if (walsh != null) {
+            int delta = (int) (4 * bit - 2);
+            for (int a = 0; a < size; a++) {
+                walsh[a] += (Integer.bitCount(a & x) & 1) == 0 ? delta : -delta;
+            }
+        }
+        if (anf != null) {
+            long low = SUPERSETS_IN_WORD[x & 63] & BooleanFunction.tailMask(variablesCount);
+            int high = x >>> 6;
+            for (int w = 0; w < anf.length; w++) {
+                if ((w & high) == high) {
+                    anf[w] ^= low;
+                }
+            }
+        }
+        weight += (int) (1 - 2 * bit);
+        table[x >>> 6] ^= 1L << x;
+    }
+
+    /**
+     * @return текущий спектр Уолша
+     * @throws IllegalStateException если спектр не поддерживается
+     * */
+    public int[] walshSpectrum() {
+        return require(walsh, Spectrum.WALSH);
+    }
+
+    /**
+     * @return текущие упакованные коэффициенты АНФ
+     * @throws IllegalStateException если спектр не поддерживается
+     * */
+    public long[] anfCoefficients() {
+        return require(anf, Spectrum.ANF);
+    }
+
+    /**
+     * @return текущий спектр автокорреляции
+     * @throws IllegalStateException если спектр не поддерживается
+     * */
+    public int[] autocorrelationSpectrum() {
+        return require(autocorrelation, Spectrum.AUTOCORRELATION);
+    }
+
+    /**
+     * @return нелинейность текущей функции за {@code O(2^n)}
+     * */
+    public int nonlinearity() {
+        return Algorithms.nonlinearity(walshSpectrum());
+    }
+
+    /**
+     * @return алгебраическая степень текущей функции
+     * */
+    public int algebraicDegree() {
+        return Algorithms.algebraicDegree(anfCoefficients(), variablesCount);
+    }
+
+    /**
+     * @return абсолютный индикатор текущей функции
+     * */
+    public int absoluteIndicator() {
+        var spectrum = autocorrelationSpectrum();
+        int result = 0;
+        for (int a = 1; a < size; a++) {
+            result = Math.max(result, Math.abs(spectrum[a]));
+        }
+        return result;
+    }
+
+    /**
+     * @return снимок текущей функции
+     * */
+    public BooleanFunction toFunction() {
+        return BooleanFunction.fromWords(table, variablesCount);
+    }
+
+    private static <T> T require(T spectrum, Spectrum kind) {
+        if (spectrum == null) {
+            throw new IllegalStateException("Спектр " + kind + " не поддерживается этим состоянием!");
+        }
+        return spectrum;
+    }
+}
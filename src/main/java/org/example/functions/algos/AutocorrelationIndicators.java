@@ -0,0 +1,24 @@
+package org.example.functions.algos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Индикаторы, вычисляемые по спектру автокорреляции булевой функции
+ * */
+@Getter
+@AllArgsConstructor
+public final class AutocorrelationIndicators {
+    /**
+     * Абсолютный индикатор: максимум {@code |r(a)|} по ненулевым {@code a}
+     * */
+    private final int absoluteIndicator;
+    /**
+     * Индикатор суммы квадратов: сумма {@code r(a)^2} по всем {@code a}
+     * */
+    private final long sumOfSquaresIndicator;
+    /**
+     * Количество ненулевых линейных структур, т.е. {@code a != 0} с {@code |r(a)| = 2^n}
+     * */
+    private final int linearStructures;
+}
@@ -0,0 +1,19 @@
+package org.example.functions.algos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Набор скалярных характеристик булевой функции
+ * @see FunctionProfile#characteristics()
+ * */
+@Getter
+@AllArgsConstructor
+public final class Characteristics {
+    private final int weight;
+    private final int algebraicDegree;
+    private final int nonlinearity;
+    private final int absoluteIndicator;
+    private final long sumOfSquaresIndicator;
+    private final int linearStructures;
+}
@@ -0,0 +1,323 @@
+package org.example.functions.algos;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.kernels.KernelProvider;
+import org.example.functions.kernels.Kernels;
+import org.example.metrics.Metrics;
+import org.example.metrics.Operation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Пакетное вычисление корреляций между двумя наборами функций от одного числа переменных.
+ * Корреляция пары равна {@code 1 - 2 d(f, g) / 2^n}, расстояние считается XOR и подсчётом
+ * единиц по словам ядрами {@link Kernels}. Матрица обходится плитками: блок строк сравнивается
+ * с блоком столбцов, упакованные векторы которого помещаются в кэш, поэтому каждый
+ * столбец читается из памяти один раз на блок строк. Блоки строк обрабатываются параллельно.
+ * Корреляции со всеми линейными функциями {@code u·x} вычисляются одним преобразованием
+ * Уолша: {@code c(f, u·x) = W_f(u) / 2^n}.
+ * */
+public final class CorrelationEngine {
+    /**
+     * Количество слов столбцов в одной плитке, около 128 КиБ
+     * */
+    private static final int COLUMN_TILE_WORDS = 1 << 14;
+
+    /**
+     * Количество строк, обрабатываемых одной задачей. Каждая плитка столбцов, загруженная
+     * в кэш, используется всеми строками задачи независимо от n
+     * */
+    private static final int ROW_TILE = 16;
+
+    private static final Kernels KERNELS = KernelProvider.active();
+
+    private CorrelationEngine() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * Вычисляет матрицу корреляций в общем пуле потоков
+     * @see #correlationMatrix(List, List, ForkJoinPool)
+     * */
+    public static double[][] correlationMatrix(List<BooleanFunction> rows, List<BooleanFunction> columns) {
+        return correlationMatrix(rows, columns, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Вычисляет корреляции каждой функции первого набора с каждой функцией второго
+     * @param rows первый набор функций
+     * @param columns второй набор функций
+     * @param pool пул потоков, либо {@code null} для вычисления в текущем потоке
+     * @return матрица, элемент {@code [i][j]} которой - корреляция {@code rows[i]} и {@code columns[j]}
+     * @throws IllegalArgumentException если функции от разного числа переменных
+     * */
+    public static double[][] correlationMatrix(List<BooleanFunction> rows, List<BooleanFunction> columns,
+                                               ForkJoinPool pool) {
+        int n = checkVariablesCount(rows, columns);
+        var result = new double[rows.size()][columns.size()];
+        var probe = Metrics.start(Operation.CORRELATION_MATRIX, n);
+        try {
+            double size = 1L << n;
+            forEachTile(rows, columns, pool, (row, column, distance) ->
+                    result[row][column] = 1 - 2 * distance / size);
+            return result;
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Отбирает наибольшие по модулю корреляции в общем пуле потоков
+     * @see #topK(List, List, int, ForkJoinPool)
+     * */
+    public static CorrelationMatch[][] topK(List<BooleanFunction> rows, List<BooleanFunction> columns, int k) {
+        return topK(rows, columns, k, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Для каждой функции первого набора отбирает k функций второго набора с наибольшей
+     * по модулю корреляцией, не храня матрицу целиком
+     * @param rows первый набор функций
+     * @param columns второй набор функций
+     * @param k количество отбираемых функций
+     * @param pool пул потоков, либо {@code null} для вычисления в текущем потоке
+     * @return для каждой строки не больше k элементов по убыванию модуля корреляции,
+     * при равенстве - по возрастанию номера
+     * @throws IllegalArgumentException если функции от разного числа переменных или k отрицательно
+     * */
+    public static CorrelationMatch[][] topK(List<BooleanFunction> rows, List<BooleanFunction> columns, int k,
+                                            ForkJoinPool pool) {
+        int n = checkVariablesCount(rows, columns);
+        if (k < 0) {
+            throw new IllegalArgumentException("Количество отбираемых функций должно быть неотрицательным!");
+        }
+        var probe = Metrics.start(Operation.CORRELATION_TOP_K, n);
+        try {
+            long size = 1L << n;
+            var selections = new Selection[rows.size()];
+            for (int i = 0; i < selections.length; i++) {
+                selections[i] = new Selection(Math.min(k, columns.size()));
+            }
+            // Модуль корреляции, умноженный на 2^n, - это |2^n - 2d|
+            forEachTile(rows, columns, pool, (row, column, distance) ->
+                    selections[row].offer(size - 2 * distance, column));
+            var result = new CorrelationMatch[rows.size()][];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = selections[i].toMatches(size);
+            }
+            return result;
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Вычисляет корреляции функции со всеми линейными функциями {@code u·x}
+     * @param function булева функция
+     * @return массив длины {@code 2^n}, элемент u которого - корреляция с {@code u·x}
+     * */
+    public static double[] linearCorrelations(BooleanFunction function) {
+        var spectrum = Algorithms.walshTransform(function);
+        double size = function.size();
+        var result = new double[spectrum.length];
+        for (int u = 0; u < spectrum.length; u++) {
+            result[u] = spectrum[u] / size;
+        }
+        return result;
+    }
+
+    /**
+     * Для каждой функции отбирает k линейных функций с наибольшей по модулю корреляцией
+     * @param functions набор функций
+     * @param k количество отбираемых линейных функций
+     * @param pool пул потоков, либо {@code null} для вычисления в текущем потоке
+     * @return для каждой функции не больше k элементов, индекс элемента - маска u
+     * @see #topK(List, List, int, ForkJoinPool)
+     * */
+    public static CorrelationMatch[][] topLinear(List<BooleanFunction> functions, int k, ForkJoinPool pool) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Количество отбираемых функций должно быть неотрицательным!");
+        }
+        var result = new CorrelationMatch[functions.size()][];
+        var range = IntStream.range(0, functions.size());
+        Runnable task = () -> (pool == null ? range : range.parallel()).forEach(i -> {
+            var function = functions.get(i);
+            var spectrum = Algorithms.walshTransform(function);
+            var selection = new Selection(Math.min(k, spectrum.length));
+            for (int u = 0; u < spectrum.length; u++) {
+                selection.offer(spectrum[u], u);
+            }
+            result[i] = selection.toMatches(function.size());
+        });
+        run(task, pool);
+        return result;
+    }
+
+    private static int checkVariablesCount(List<BooleanFunction> rows, List<BooleanFunction> columns) {
+        int n = rows.isEmpty() ? columns.isEmpty() ? 0 : columns.get(0).getVariablesCount()
+                : rows.get(0).getVariablesCount();
+        for (var function : rows) {
+            if (function.getVariablesCount() != n) {
+                throw new IllegalArgumentException("Разное количество аргументов!");
+            }
+        }
+        for (var function : columns) {
+            if (function.getVariablesCount() != n) {
+                throw new IllegalArgumentException("Разное количество аргументов!");
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Обходит все пары плитками и передаёт расстояния обработчику. Каждую строку
+     * обрабатывает один поток, поэтому обработчик может без синхронизации писать в данные строки.
+     * */
+    private static void forEachTile(List<BooleanFunction> rows, List<BooleanFunction> columns,
+                                    ForkJoinPool pool, DistanceConsumer consumer) {
+        if (rows.isEmpty() || columns.isEmpty()) {
+            return;
+        }
+        int words = rows.get(0).getWordCount();
+        var rowWords = pack(rows);
+        var columnWords = pack(columns);
+        int columnTile = Math.max(1, COLUMN_TILE_WORDS / words);
+        int rowTiles = (rows.size() + ROW_TILE - 1) / ROW_TILE;
+
+        var range = IntStream.range(0, rowTiles);
+        Runnable task = () -> (pool == null ? range : range.parallel()).forEach(tile -> {
+            int rowFrom = tile * ROW_TILE, rowTo = Math.min(rowFrom + ROW_TILE, rows.size());
+            for (int columnFrom = 0; columnFrom < columns.size(); columnFrom += columnTile) {
+                int columnTo = Math.min(columnFrom + columnTile, columns.size());
+                for (int i = rowFrom; i < rowTo; i++) {
+                    var row = rowWords[i];
+                    for (int j = columnFrom; j < columnTo; j++) {
+                        consumer.accept(i, j, KERNELS.xorBitCount(row, columnWords[j], words));
+                    }
+                }
+            }
+        });
+        run(task, pool);
+    }
+
+    private static void run(Runnable task, ForkJoinPool pool) {
+        if (pool == null || pool == ForkJoinPool.commonPool()) {
+            task.run();
+        } else {
+            // Параллельный поток, запущенный из задачи пула, выполняется в этом пуле
+            pool.submit(task).join();
+        }
+    }
+
+    private static long[][] pack(List<BooleanFunction> functions) {
+        var result = new long[functions.size()][];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = functions.get(i).toLongArray();
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface DistanceConsumer {
+        void accept(int row, int column, long distance);
+    }
+
+    /**
+     * Отбор k значений, наибольших по модулю, через двоичную кучу с минимумом в корне
+     * */
+    private static final class Selection {
+        private final long[] keys;
+        private final long[] values;
+        private final int[] indices;
+        private int size;
+
+        Selection(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+            this.indices = new int[capacity];
+        }
+
+        void offer(long value, int index) {
+            long key = Math.abs(value);
+            if (size < keys.length) {
+                keys[size] = key;
+                values[size] = value;
+                indices[size] = index;
+                siftUp(size++);
+            } else if (size > 0 && less(keys[0], indices[0], key, index)) {
+                keys[0] = key;
+                values[0] = value;
+                indices[0] = index;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * @param scale делитель, переводящий значения в корреляции
+         * @return отобранные элементы, от лучшего к худшему
+         * */
+        CorrelationMatch[] toMatches(long scale) {
+            var order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> keys[a] != keys[b] ? Long.compare(keys[b], keys[a])
+                    : Integer.compare(indices[a], indices[b]));
+            var result = new CorrelationMatch[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = new CorrelationMatch(indices[order[i]], (double) values[order[i]] / scale);
+            }
+            return result;
+        }
+
+        /**
+         * Порядок отбора: больший ключ лучше, при равных ключах лучше меньший номер
+         * */
+        private static boolean less(long key, int index, long otherKey, int otherIndex) {
+            return key < otherKey || key == otherKey && index > otherIndex;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(keys[i], indices[i], keys[parent], indices[parent])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i, left = 2 * i + 1, right = left + 1;
+                if (left < size && less(keys[left], indices[left], keys[smallest], indices[smallest])) {
+                    smallest = left;
+                }
+                if (right < size && less(keys[right], indices[right], keys[smallest], indices[smallest])) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+            long value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+            int index = indices[i];
+            indices[i] = indices[j];
+            indices[j] = index;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.functions.algos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Элемент отбора наибольших корреляций
+ * @see CorrelationEngine#topK
+ * */
+@Getter
+@AllArgsConstructor
+public final class CorrelationMatch {
+    /**
+     * Номер функции во втором наборе, либо маска линейной функции {@code u·x}
+     * */
+    private final int index;
+    /**
+     * Корреляция от -1 до 1
+     * */
+    private final double correlation;
+
+    @Override
+    public String toString() {
+        return index + ": " + correlation;
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.functions.algos;
+
+import lombok.Getter;
+
+import java.util.stream.IntStream;
+
+/**
+ * Ленивое представление таблицы дифференциальных характеристик (DDT) булевой функции.
+ * Для функции с одним выходом количество {@code x}, для которых
+ * {@code f(x) ^ f(x ^ delta) = 0}, равно {@code (2^n + r(delta)) / 2}, где {@code r} -
+ * спектр автокорреляции, поэтому хранится только он.
+ * */
+public final class DifferenceDistributionTable {
+    private final int[] autocorrelation;
+    @Getter
+    private final int variablesCount;
+
+    /**
+     * @param autocorrelation спектр автокорреляции функции, не копируется
+     * @param variablesCount количество переменных
+     * */
+    public DifferenceDistributionTable(int[] autocorrelation, int variablesCount) {
+        if (autocorrelation.length < 1 << variablesCount) {
+            throw new IllegalArgumentException("Спектр короче 2^n!");
+        }
+        this.autocorrelation = autocorrelation;
+        this.variablesCount = variablesCount;
+    }
+
+    /**
+     * @return количество строк таблицы, т.е. {@code 2^n}
+     * */
+    public int size() {
+        return 1 << variablesCount;
+    }
+
+    /**
+     * Возвращает элемент таблицы
+     * @param delta входная разность
+     * @param output выходная разность, 0 или 1
+     * @return количество {@code x}, для которых {@code f(x) ^ f(x ^ delta) = output}
+     * */
+    public int get(int delta, int output) {
+        return output == 0
+                ? (size() + autocorrelation[delta]) >> 1
+                : (size() - autocorrelation[delta]) >> 1;
+    }
+
+    /**
+     * @param delta входная разность
+     * @return поток из двух элементов строки
+     * */
+    public IntStream row(int delta) {
+        return IntStream.of(get(delta, 0), get(delta, 1));
+    }
+
+    /**
+     * @return дифференциальная равномерность: максимум элементов по ненулевым разностям
+     * */
+    public int uniformity() {
+        int result = 0;
+        for (int delta = 1; delta < size(); delta++) {
+            result = Math.max(result, (size() + Math.abs(autocorrelation[delta])) >> 1);
+        }
+        return result;
+    }
+
+    /**
+     * Материализует таблицу в массив размера {@code 2^n x 2}
+     * @return матрица DDT
+     * */
+    public int[][] toArray() {
+        var result = new int[size()][];
+        for (int delta = 0; delta < size(); delta++) {
+            result[delta] = new int[]{get(delta, 0), get(delta, 1)};
+        }
+        return result;
+    }
+}
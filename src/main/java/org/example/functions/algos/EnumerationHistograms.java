@@ -0,0 +1,85 @@
+package org.example.functions.algos;
+
+import lombok.Getter;
+
+/**
+ * Гистограммы характеристик по множеству булевых функций от n переменных
+ * @see ExhaustiveEnumeration
+ * */
+@Getter
+public final class EnumerationHistograms {
+    private final int variablesCount;
+    /**
+     * Количество функций с нелинейностью i, {@code i <= 2^(n-1)}
+     * */
+    private final long[] nonlinearity;
+    /**
+     * Количество функций со степенью i, {@code i <= n}
+     * */
+    private final long[] degree;
+    /**
+     * Количество функций с весом i, {@code i <= 2^n}
+     * */
+    private final long[] weight;
+    /**
+     * Совместное распределение: {@code [nonlinearity][degree]}
+     * */
+    private final long[][] nonlinearityByDegree;
+
+    /**
+     * @param variablesCount количество переменных
+     * */
+    public EnumerationHistograms(int variablesCount) {
+        int size = 1 << variablesCount;
+        this.variablesCount = variablesCount;
+        this.nonlinearity = new long[size / 2 + 1];
+        this.degree = new long[variablesCount + 1];
+        this.weight = new long[size + 1];
+        this.nonlinearityByDegree = new long[size / 2 + 1][variablesCount + 1];
+    }
+
+    /**
+     * Учитывает одну функцию
+     * @param nonlinearityValue нелинейность
+     * @param degreeValue алгебраическая степень
+     * @param weightValue вес
+     * */
+    void add(int nonlinearityValue, int degreeValue, int weightValue) {
+        nonlinearity[nonlinearityValue]++;
+        degree[degreeValue]++;
+        weight[weightValue]++;
+        nonlinearityByDegree[nonlinearityValue][degreeValue]++;
+    }
+
+    /**
+     * Прибавляет к гистограммам другие гистограммы той же размерности
+     * @param other гистограммы
+     * @return эти гистограммы
+     * */
+    EnumerationHistograms merge(EnumerationHistograms other) {
+        addAll(nonlinearity, other.nonlinearity);
+        addAll(degree, other.degree);
+        addAll(weight, other.weight);
+        for (int i = 0; i < nonlinearityByDegree.length; i++) {
+            addAll(nonlinearityByDegree[i], other.nonlinearityByDegree[i]);
+        }
+        return this;
+    }
+
+    private static void addAll(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += source[i];
+        }
+    }
+
+    /**
+     * @return общее количество учтённых функций
+     * */
+    public long total() {
+        long result = 0;
+        for (long count : weight) {
+            result += count;
+        }
+        return result;
+    }
+}
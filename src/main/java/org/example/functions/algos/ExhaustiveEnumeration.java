@@ -0,0 +1,164 @@
+package org.example.functions.algos;
+
+import org.example.functions.BooleanFunction;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Полный перебор всех булевых функций от {@code n <= 5} переменных с построением гистограмм
+ * нелинейности, степени и веса. Пространство делится по старшим битам вектора значений
+ * между задачами {@link ForkJoinPool}; внутри задачи функции перебираются в порядке кода Грея,
+ * поэтому соседние функции отличаются одним битом и спектр Уолша, АНФ и вес
+ * обновляются за {@code O(2^n)} вместо пересчёта с нуля.
+ * */
+public final class ExhaustiveEnumeration {
+    /**
+     * Максимальное количество переменных для полного перебора
+     * */
+    public static final int MAX_VARIABLES = 5;
+
+    /**
+     * Количество старших бит вектора значений, фиксируемых в одной задаче
+     * */
+    private static final int PREFIX_BITS = 10;
+
+    private final int variablesCount;
+    private final int size;
+    /**
+     * {@code CHARACTERS[x * size + a] = (-1)^(a.x)}
+     * */
+    private final int[] characters;
+    /**
+     * {@code SUPERSETS[x]} - маска мономов u, содержащих x: флип f(x) меняет ровно эти коэффициенты АНФ
+     * */
+    private final long[] supersets;
+    /**
+     * {@code DEGREE_MASKS[d]} - маска мономов степени не меньше d
+     * */
+    private final long[] degreeMasks;
+
+    private ExhaustiveEnumeration(int variablesCount) {
+        this.variablesCount = variablesCount;
+        this.size = 1 << variablesCount;
+        this.characters = new int[size * size];
+        this.supersets = new long[size];
+        this.degreeMasks = new long[variablesCount + 1];
+        for (int x = 0; x < size; x++) {
+            for (int a = 0; a < size; a++) {
+                characters[x * size + a] = 1 - 2 * (Integer.bitCount(a & x) & 1);
+                if ((a & x) == x) {
+                    supersets[x] |= 1L << a;
+                }
+            }
+            for (int d = 0; d <= Integer.bitCount(x); d++) {
+                degreeMasks[d] |= 1L << x;
+            }
+        }
+    }
+
+    /**
+     * Перебирает все функции от n переменных в общем пуле потоков
+     * @param variablesCount количество переменных, не больше {@link #MAX_VARIABLES}
+     * @return гистограммы характеристик
+     * */
+    public static EnumerationHistograms enumerate(int variablesCount) {
+        return enumerate(variablesCount, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Перебирает все функции от n переменных
+     * @param variablesCount количество переменных, не больше {@link #MAX_VARIABLES}
+     * @param pool пул потоков
+     * @return гистограммы характеристик
+     * */
+    public static EnumerationHistograms enumerate(int variablesCount, ForkJoinPool pool) {
+        if (variablesCount < 0 || variablesCount > MAX_VARIABLES) {
+            throw new IllegalArgumentException("Полный перебор возможен только для n от 0 до " + MAX_VARIABLES);
+        }
+        var enumeration = new ExhaustiveEnumeration(variablesCount);
+        int prefixBits = Math.min(PREFIX_BITS, enumeration.size);
+        return pool.invoke(enumeration.new PrefixTask(0, 1 << prefixBits, prefixBits));
+    }
+
+    /**
+     * Перебирает функции с фиксированными старшими битами вектора значений
+     * @param prefix значение старших бит
+     * @param prefixBits количество старших бит
+     * @param histograms гистограммы, в которые добавляются результаты
+     * */
+    private void enumerateSuffix(long prefix, int prefixBits, EnumerationHistograms histograms) {
+        int freeBits = size - prefixBits;
+        long table = prefix << freeBits;
+
+        var function = BooleanFunction.fromWords(new long[]{table}, variablesCount);
+        var walsh = Algorithms.walshTransform(function);
+        long anf = Algorithms.moebiusTransform(function, new long[1])[0];
+        int weight = function.weight();
+        histograms.add(nonlinearity(walsh), degree(anf), weight);
+
+        long count = 1L << freeBits;
+        for (long step = 1; step < count; step++) {
+            // Код Грея: на шаге step меняется бит с номером числа младших нулей step
+            int x = Long.numberOfTrailingZeros(step);
+            long bit = (table >>> x) & 1;
+            int delta = (int) (4 * bit - 2);
+            int offset = x * size;
+            for (int a = 0; a < size; a++) {
+                walsh[a] += delta * characters[offset + a];
+            }
+            anf ^= supersets[x];
+            weight += (int) (1 - 2 * bit);
+            table ^= 1L << x;
+            histograms.add(nonlinearity(walsh), degree(anf), weight);
+        }
+    }
+
+    private int nonlinearity(int[] walsh) {
+        int maxAbs = 0;
+        for (int value : walsh) {
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+        return (size - maxAbs) >> 1;
+    }
+
+    private int degree(long anf) {
+        for (int d = variablesCount; d > 0; d--) {
+            if ((anf & degreeMasks[d]) != 0) {
+                return d;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Задача перебора диапазона значений старших бит {@code [from, to)}
+     * */
+    private final class PrefixTask extends RecursiveTask<EnumerationHistograms> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final int prefixBits;
+
+        PrefixTask(long from, long to, int prefixBits) {
+            this.from = from;
+            this.to = to;
+            this.prefixBits = prefixBits;
+        }
+
+        @Override
+        protected EnumerationHistograms compute() {
+            if (to - from == 1) {
+                var histograms = new EnumerationHistograms(variablesCount);
+                enumerateSuffix(from, prefixBits, histograms);
+                return histograms;
+            }
+            long middle = (from + to) >>> 1;
+            var left = new PrefixTask(from, middle, prefixBits);
+            left.fork();
+            var right = new PrefixTask(middle, to, prefixBits).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package org.example.functions.algos;
+
+import lombok.Getter;
+import org.example.functions.BooleanFunction;
+
+import java.lang.ref.SoftReference;
+
+/**
+ * Профиль характеристик булевой функции с ленивым кэшированием промежуточных спектров.
+ * Спектр Уолша, коэффициенты АНФ и спектр автокорреляции вычисляются не более одного раза
+ * и хранятся по мягким ссылкам, поэтому освобождаются сборщиком мусора при нехватке памяти
+ * (или явно через {@link #evict()}) и при необходимости вычисляются заново.
+ * Скалярные характеристики кэшируются постоянно. Класс потокобезопасен.
+ * Возвращаемые массивы разделяются между вызывающими и не должны изменяться.
+ * */
+public final class FunctionProfile {
+    private static final int UNKNOWN = -1;
+
+    @Getter
+    private final BooleanFunction function;
+
+    private final Object walshLock = new Object();
+    private final Object anfLock = new Object();
+    private final Object autocorrelationLock = new Object();
+
+    private volatile SoftReference<int[]> walsh = new SoftReference<>(null);
+    private volatile SoftReference<long[]> anf = new SoftReference<>(null);
+    private volatile SoftReference<int[]> autocorrelation = new SoftReference<>(null);
+
+    private volatile int weight = UNKNOWN;
+    private volatile int degree = UNKNOWN;
+    private volatile int nonlinearity = UNKNOWN;
+    private volatile int correlationImmunity = UNKNOWN;
+    private volatile int propagationCriterion = UNKNOWN;
+    private volatile int plateauedAmplitude = UNKNOWN;
+    private volatile AutocorrelationIndicators indicators;
+
+    private FunctionProfile(BooleanFunction function) {
+        this.function = function;
+    }
+
+    /**
+     * @param function булева функция
+     * @return новый профиль функции с пустым кэшем
+     * */
+    public static FunctionProfile of(BooleanFunction function) {
+        return new FunctionProfile(function);
+    }
+
+    /**
+     * @return спектр Уолша функции
+     * @see Algorithms#walshTransform
+     * */
+    public int[] walshSpectrum() {
+        var result = walsh.get();
+        if (result == null) {
+            synchronized (walshLock) {
+                result = walsh.get();
+                if (result == null) {
+                    result = Algorithms.walshTransform(function);
+                    walsh = new SoftReference<>(result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return упакованные коэффициенты АНФ
+     * @see Algorithms#moebiusTransform
+     * */
+    public long[] anfCoefficients() {
+        var result = anf.get();
+        if (result == null) {
+            synchronized (anfLock) {
+                result = anf.get();
+                if (result == null) {
+                    result = Algorithms.moebiusTransform(function, new long[function.getWordCount()]);
+                    anf = new SoftReference<>(result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return спектр автокорреляции, вычисленный по кэшированному спектру Уолша
+     * @see Algorithms#autocorrelationSpectrum
+     * */
+    public int[] autocorrelationSpectrum() {
+        var result = autocorrelation.get();
+        if (result == null) {
+            synchronized (autocorrelationLock) {
+                result = autocorrelation.get();
+                if (result == null) {
+                    int n = function.getVariablesCount();
+                    result = Algorithms.autocorrelationSpectrum(walshSpectrum(), n,
+                            new long[function.size()], new int[function.size()], null);
+                    autocorrelation = new SoftReference<>(result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return вес Хэмминга функции
+     * */
+    public int weight() {
+        if (weight == UNKNOWN) {
+            weight = function.weight();
+        }
+        return weight;
+    }
+
+    /**
+     * @return true, если функция уравновешена
+     * */
+    public boolean isBalanced() {
+        return 2 * weight() == function.size();
+    }
+
+    /**
+     * @return алгебраическая степень функции
+     * @see Algorithms#algebraicDegree(long[], int)
+     * */
+    public int algebraicDegree() {
+        if (degree == UNKNOWN) {
+            degree = Algorithms.algebraicDegree(anfCoefficients(), function.getVariablesCount());
+        }
+        return degree;
+    }
+
+    /**
+     * @return true, если функция аффинная
+     * */
+    public boolean isAffine() {
+        return algebraicDegree() <= 1;
+    }
+
+    /**
+     * @return нелинейность функции
+     * @see Algorithms#nonlinearity
+     * */
+    public int nonlinearity() {
+        if (nonlinearity == UNKNOWN) {
+            nonlinearity = Algorithms.nonlinearity(walshSpectrum());
+        }
+        return nonlinearity;
+    }
+
+    /**
+     * @return порядок корреляционной иммунности
+     * @see Algorithms#correlationImmunity
+     * */
+    public int correlationImmunity() {
+        if (correlationImmunity == UNKNOWN) {
+            correlationImmunity = Algorithms.correlationImmunity(walshSpectrum(), function.getVariablesCount());
+        }
+        return correlationImmunity;
+    }
+
+    /**
+     * @return порядок устойчивости, либо -1 для неуравновешенной функции
+     * @see Algorithms#resiliency
+     * */
+    public int resiliency() {
+        return isBalanced() ? correlationImmunity() : -1;
+    }
+
+    /**
+     * @return порядок критерия распространения
+     * @see Algorithms#propagationCriterion
+     * */
+    public int propagationCriterion() {
+        if (propagationCriterion == UNKNOWN) {
+            propagationCriterion = Algorithms.propagationCriterion(autocorrelationSpectrum(),
+                    function.getVariablesCount());
+        }
+        return propagationCriterion;
+    }
+
+    /**
+     * @return true, если функция бент-функция
+     * @see Algorithms#isBent
+     * */
+    public boolean isBent() {
+        int n = function.getVariablesCount();
+        return (n & 1) == 0 && plateauedAmplitude() == 1 << (n / 2);
+    }
+
+    /**
+     * @return амплитуда платовидной функции, либо 0
+     * @see Algorithms#plateauedAmplitude
+     * */
+    public int plateauedAmplitude() {
+        if (plateauedAmplitude == UNKNOWN) {
+            plateauedAmplitude = Algorithms.plateauedAmplitude(walshSpectrum(), function.getVariablesCount());
+        }
+        return plateauedAmplitude;
+    }
+
+    /**
+     * @return индикаторы автокорреляции
+     * @see Algorithms#autocorrelationIndicators
+     * */
+    public AutocorrelationIndicators autocorrelationIndicators() {
+        var result = indicators;
+        if (result == null) {
+            result = Algorithms.autocorrelationIndicators(autocorrelationSpectrum(), function.getVariablesCount());
+            indicators = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return все скалярные характеристики функции
+     * */
+    public Characteristics characteristics() {
+        var autocorrelationIndicators = autocorrelationIndicators();
+        return new Characteristics(weight(), algebraicDegree(), nonlinearity(),
+                autocorrelationIndicators.getAbsoluteIndicator(),
+                autocorrelationIndicators.getSumOfSquaresIndicator(),
+                autocorrelationIndicators.getLinearStructures());
+    }
+
+    /**
+     * @return ленивая таблица линейных приближений на кэшированном спектре Уолша
+     * */
+    public LinearApproximationTable linearApproximationTable() {
+        return new LinearApproximationTable(walshSpectrum(), function.getVariablesCount());
+    }
+
+    /**
+     * @return ленивая таблица дифференциальных характеристик на кэшированном спектре автокорреляции
+     * */
+    public DifferenceDistributionTable differenceDistributionTable() {
+        return new DifferenceDistributionTable(autocorrelationSpectrum(), function.getVariablesCount());
+    }
+
+    /**
+     * Освобождает кэшированные спектры. Скалярные характеристики сохраняются.
+     * */
+    public void evict() {
+        walsh = new SoftReference<>(null);
+        anf = new SoftReference<>(null);
+        autocorrelation = new SoftReference<>(null);
+    }
+}
@@ -0,0 +1,283 @@
+package org.example.functions.algos;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Матрица над полем GF(2). Строки хранятся упакованными в общий массив {@code long}:
+ * бит столбца j строки i лежит в слове {@code i * stride + (j >>> 6)} на позиции {@code j & 63}.
+ * Сложение строк выполняется по 64 столбца за операцию.
+ * */
+public final class GF2Matrix {
+    /**
+     * Количество столбцов, обрабатываемых за один шаг метода четырёх русских
+     * */
+    private static final int M4RI_BLOCK = 8;
+
+    /**
+     * Минимальное количество слов в матрице, начиная с которого строки обновляются параллельно
+     * */
+    private static final long PARALLEL_THRESHOLD = 1 << 16;
+
+    @Getter
+    private final int rows;
+    @Getter
+    private final int columns;
+    private final int stride;
+    private final long[] data;
+
+    /**
+     * Создаёт нулевую матрицу
+     * @param rows количество строк
+     * @param columns количество столбцов
+     * */
+    public GF2Matrix(int rows, int columns) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Размеры матрицы должны быть неотрицательными!");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.stride = (columns + 63) >>> 6;
+        this.data = new long[Math.multiplyExact(rows, stride)];
+    }
+
+    private GF2Matrix(GF2Matrix other) {
+        this.rows = other.rows;
+        this.columns = other.columns;
+        this.stride = other.stride;
+        this.data = other.data.clone();
+    }
+
+    /**
+     * @return единичная матрица размера size
+     * */
+    public static GF2Matrix identity(int size) {
+        var result = new GF2Matrix(size, size);
+        for (int i = 0; i < size; i++) {
+            result.set(i, i, true);
+        }
+        return result;
+    }
+
+    public boolean get(int row, int column) {
+        checkIndex(row, column);
+        return (data[row * stride + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    public void set(int row, int column, boolean value) {
+        checkIndex(row, column);
+        int index = row * stride + (column >>> 6);
+        if (value) {
+            data[index] |= 1L << column;
+        } else {
+            data[index] &= ~(1L << column);
+        }
+    }
+
+    /**
+     * Прибавляет к строке target строку source
+     * @param target номер изменяемой строки
+     * @param source номер прибавляемой строки
+     * */
+    public void xorRow(int target, int source) {
+        xorRow(target, source, 0);
+    }
+
+    /**
+     * @return копия матрицы
+     * */
+    public GF2Matrix copy() {
+        return new GF2Matrix(this);
+    }
+
+    /**
+     * Вычисляет ранг матрицы, не изменяя её
+     * @return ранг матрицы
+     * */
+    public int rank() {
+        return copy().reduce().length;
+    }
+
+    /**
+     * Вычисляет базис ядра матрицы, т.е. пространства векторов v с {@code M v = 0}
+     * @return матрица, строки которой образуют базис ядра, с {@code columns - rank} строками
+     * */
+    public GF2Matrix kernel() {
+        var reduced = copy();
+        var pivots = reduced.reduce();
+        var isPivot = new boolean[columns];
+        for (int column : pivots) {
+            isPivot[column] = true;
+        }
+        var result = new GF2Matrix(columns - pivots.length, columns);
+        int row = 0;
+        for (int free = 0; free < columns; free++) {
+            if (isPivot[free]) {
+                continue;
+            }
+            // В ступенчатом виде x_pivot(i) = sum по свободным f строки i в столбце f
+            result.set(row, free, true);
+            for (int i = 0; i < pivots.length; i++) {
+                if (reduced.get(i, free)) {
+                    result.set(row, pivots[i], true);
+                }
+            }
+            row++;
+        }
+        return result;
+    }
+
+    /**
+     * Приводит матрицу к приведённому ступенчатому виду методом четырёх русских (M4RI)
+     * @return ранг матрицы
+     * */
+    public int reducedRowEchelonForm() {
+        return reduce().length;
+    }
+
+    /**
+     * Приводит матрицу к приведённому ступенчатому виду. Столбцы обрабатываются блоками
+     * по {@link #M4RI_BLOCK}: в блоке выбираются ведущие строки, по ним строится таблица
+     * всех {@code 2^k} их линейных комбинаций, после чего каждая из остальных строк
+     * очищается в столбцах блока одним сложением со строкой таблицы.
+     * @return номера ведущих столбцов, i-й из них ведущий в строке i
+     * */
+    private int[] reduce() {
+        var pivots = new int[Math.min(rows, columns)];
+        var table = new long[(1 << M4RI_BLOCK) * stride];
+        int rank = 0;
+        for (int block = 0; block < columns && rank < rows; block += M4RI_BLOCK) {
+            int end = Math.min(block + M4RI_BLOCK, columns);
+            int found = 0;
+            int candidate = rank;
+            for (int column = block; column < end && rank + found < rows; column++) {
+                int pivotRow = -1;
+                // Кандидаты сначала очищаются в ведущих столбцах, уже найденных в этом блоке
+                for (; candidate < rows; candidate++) {
+                    for (int j = 0; j < found; j++) {
+                        if (bit(candidate, pivots[rank + j])) {
+                            xorRow(candidate, rank + j, block >>> 6);
+                        }
+                    }
+                    if (bit(candidate, column)) {
+                        pivotRow = candidate;
+                        break;
+                    }
+                }
+                int row = rank + found;
+                if (pivotRow < 0) {
+                    // Все строки ниже уже очищены в найденных столбцах, начнём заново для следующего столбца
+                    candidate = row;
+                    continue;
+                }
+                swapRows(row, pivotRow);
+                for (int j = 0; j < found; j++) {
+                    if (bit(rank + j, column)) {
+                        xorRow(rank + j, row, block >>> 6);
+                    }
+                }
+                pivots[row] = column;
+                found++;
+                candidate = row + 1;
+            }
+            if (found > 0) {
+                eliminateBlock(rank, found, pivots, table, block >>> 6);
+                rank += found;
+            }
+        }
+        return Arrays.copyOf(pivots, rank);
+    }
+
+    /**
+     * Очищает ведущие столбцы блока во всех строках, кроме ведущих, по таблице комбинаций
+     * */
+    private void eliminateBlock(int first, int count, int[] pivots, long[] table, int fromWord) {
+        int width = stride - fromWord;
+        // table[mask] - сумма ведущих строк, отмеченных в mask, строится в порядке возрастания mask
+        for (int mask = 1; mask < 1 << count; mask++) {
+            int low = Integer.numberOfTrailingZeros(mask);
+            int previous = (mask & (mask - 1)) * stride;
+            int source = (first + low) * stride + fromWord;
+            for (int w = 0; w < width; w++) {
+                table[mask * stride + w] = table[previous + w] ^ data[source + w];
+            }
+        }
+        var rowsRange = IntStream.range(0, rows).filter(r -> r < first || r >= first + count);
+        if ((long) rows * width >= PARALLEL_THRESHOLD) {
+            rowsRange = rowsRange.parallel();
+        }
+        rowsRange.forEach(r -> {
+            int mask = 0;
+            for (int j = 0; j < count; j++) {
+                if (bit(r, pivots[first + j])) {
+                    mask |= 1 << j;
+                }
+            }
+            if (mask != 0) {
+                int offset = r * stride + fromWord;
+                for (int w = 0; w < width; w++) {
+                    data[offset + w] ^= table[mask * stride + w];
+                }
+            }
+        });
+    }
+
+    private boolean bit(int row, int column) {
+        return (data[row * stride + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    private void xorRow(int target, int source, int fromWord) {
+        int t = target * stride, s = source * stride;
+        for (int w = fromWord; w < stride; w++) {
+            data[t + w] ^= data[s + w];
+        }
+    }
+
+    private void swapRows(int first, int second) {
+        if (first == second) {
+            return;
+        }
+        int a = first * stride, b = second * stride;
+        for (int w = 0; w < stride; w++) {
+            long t = data[a + w];
+            data[a + w] = data[b + w];
+            data[b + w] = t;
+        }
+    }
+
+    private void checkIndex(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Нет элемента (" + row + ", " + column + ")");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GF2Matrix other)) {
+            return false;
+        }
+        return rows == other.rows && columns == other.columns && Arrays.equals(data, other.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + columns) + Arrays.hashCode(data);
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder(rows * (columns + 1));
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                builder.append(bit(i, j) ? '1' : '0');
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.functions.algos;
+
+import lombok.Getter;
+
+import java.util.stream.IntStream;
+
+/**
+ * Ленивое представление таблицы линейных приближений (LAT) булевой функции.
+ * Для функции с одним выходом {@code LAT[a][b] = W_f(a ^ b)}, поэтому хранится
+ * только спектр Уолша длины {@code 2^n}, а элементы вычисляются при обращении.
+ * */
+public final class LinearApproximationTable {
+    private final int[] walshSpectrum;
+    @Getter
+    private final int variablesCount;
+
+    /**
+     * @param walshSpectrum спектр Уолша функции, не копируется
+     * @param variablesCount количество переменных
+     * */
+    public LinearApproximationTable(int[] walshSpectrum, int variablesCount) {
+        if (walshSpectrum.length < 1 << variablesCount) {
+            throw new IllegalArgumentException("Спектр короче 2^n!");
+        }
+        this.walshSpectrum = walshSpectrum;
+        this.variablesCount = variablesCount;
+    }
+
+    /**
+     * @return количество строк и столбцов таблицы, т.е. {@code 2^n}
+     * */
+    public int size() {
+        return 1 << variablesCount;
+    }
+
+    /**
+     * Возвращает элемент таблицы
+     * @param a маска входа
+     * @param b маска, с которой сравнивается выход
+     * @return {@code sum (-1)^(a.x ^ f(x) ^ b.x)}
+     * */
+    public int get(int a, int b) {
+        return walshSpectrum[a ^ b];
+    }
+
+    /**
+     * @param a номер строки
+     * @return поток элементов строки без её материализации
+     * */
+    public IntStream row(int a) {
+        return IntStream.range(0, size()).map(b -> walshSpectrum[a ^ b]);
+    }
+
+    /**
+     * @return максимум модуля элементов таблицы
+     * */
+    public int maxAbsolute() {
+        int result = 0;
+        for (int i = 0; i < size(); i++) {
+            result = Math.max(result, Math.abs(walshSpectrum[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Строит таблицу DDT по тому же спектру Уолша, не выполняя прямое преобразование повторно
+     * @return таблица дифференциальных характеристик
+     * */
+    public DifferenceDistributionTable differenceDistributionTable() {
+        var autocorrelation = Algorithms.autocorrelationSpectrum(walshSpectrum, variablesCount,
+                new long[size()], new int[size()], null);
+        return new DifferenceDistributionTable(autocorrelation, variablesCount);
+    }
+
+    /**
+     * Материализует таблицу в двумерный массив, требует {@code 4^n} памяти
+     * @return матрица LAT
+     * */
+    public int[][] toArray() {
+        var result = new int[size()][];
+        for (int a = 0; a < size(); a++) {
+            result[a] = row(a).toArray();
+        }
+        return result;
+    }
+}
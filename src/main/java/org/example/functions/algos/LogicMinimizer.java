@@ -0,0 +1,448 @@
+package org.example.functions.algos;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.CubeList;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Минимизация двухуровневых форм (ДНФ и КНФ) булевых функций.
+ * Кубы задаются парами масок (value, care), как в {@link CubeList}; списочную форму
+ * {@link org.example.util.Converter#valueVectorToDNF} дают {@link CubeList#toDNFList()} и {@link CubeList#toCNFList()}.
+ * Для малого числа переменных используется метод Квайна-Мак-Класки: кубы одного уровня
+ * разбиваются на классы по весу value, и склеивание классов выполняется параллельно.
+ * Для большего числа переменных - эвристика в духе Espresso: каждый куб расширяется до простой
+ * импликанты, затем избыточные кубы удаляются, оставшиеся сжимаются и расширяются снова.
+ * */
+public class LogicMinimizer {
+    /**
+     * Максимальное количество переменных: куб упаковывается в long вместе с весом
+     * */
+    public static final int MAX_VARIABLES = 24;
+
+    private static final int FIELD_BITS = 24;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+
+    private LogicMinimizer() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * Строит короткую ДНФ функции с параметрами по умолчанию
+     * @param function булева функция
+     * @return конъюнкты ДНФ
+     * */
+    public static CubeList minimizeDNF(BooleanFunction function) {
+        return minimizeDNF(function, MinimizationOptions.defaults());
+    }
+
+    /**
+     * Строит короткую ДНФ функции
+     * @param function булева функция не более чем от {@link #MAX_VARIABLES} переменных
+     * @param options параметры минимизации
+     * @return конъюнкты ДНФ, объединение кубов равно носителю функции
+     * @throws IllegalArgumentException если переменных больше {@link #MAX_VARIABLES}
+     * */
+    public static CubeList minimizeDNF(BooleanFunction function, MinimizationOptions options) {
+        int n = function.getVariablesCount();
+        if (n > MAX_VARIABLES) {
+            throw new IllegalArgumentException("Минимизация возможна не более чем для "
+                    + MAX_VARIABLES + " переменных!");
+        }
+        var deadline = options.getTimeLimit() == null
+                ? Long.MAX_VALUE
+                : System.nanoTime() + options.getTimeLimit().toNanos();
+        boolean exact = switch (options.getMethod()) {
+            case QUINE_MCCLUSKEY -> true;
+            case ESPRESSO -> false;
+            case AUTO -> n <= options.getExactVariablesLimit();
+        };
+        return exact
+                ? quineMcCluskey(function, deadline)
+                : new Espresso(function, options, deadline).run();
+    }
+
+    /**
+     * Строит короткую КНФ функции как ДНФ её отрицания
+     * @param function булева функция не более чем от {@link #MAX_VARIABLES} переменных
+     * @param options параметры минимизации
+     * @return дизъюнкты КНФ в виде кубов, на которых они равны 0, как в
+     * {@link org.example.util.Converter#valueVectorToCNFCubes}
+     * */
+    public static CubeList minimizeCNF(BooleanFunction function, MinimizationOptions options) {
+        var words = function.toLongArray();
+        for (int i = 0; i < words.length; i++) {
+            words[i] = ~words[i];
+        }
+        return minimizeDNF(BooleanFunction.fromWords(words, function.getVariablesCount()), options);
+    }
+
+    /**
+     * @see #minimizeCNF(BooleanFunction, MinimizationOptions)
+     * */
+    public static CubeList minimizeCNF(BooleanFunction function) {
+        return minimizeCNF(function, MinimizationOptions.defaults());
+    }
+
+    // Квайн-Мак-Класки
+
+    private static long pack(int care, int value) {
+        return ((long) Integer.bitCount(value) << (2 * FIELD_BITS)) | ((long) care << FIELD_BITS) | value;
+    }
+
+    private static int care(long cube) {
+        return (int) ((cube >>> FIELD_BITS) & FIELD_MASK);
+    }
+
+    private static int value(long cube) {
+        return (int) (cube & FIELD_MASK);
+    }
+
+    private static CubeList quineMcCluskey(BooleanFunction function, long deadline) {
+        int n = function.getVariablesCount();
+        int all = fullMask(n);
+        var onSet = CubeList.points(function, true);
+        var level = new long[onSet.size()];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = pack(all, onSet.value(i));
+        }
+
+        var primes = new long[16];
+        int primeCount = 0;
+        while (level.length > 0) {
+            Arrays.sort(level);
+            if (System.nanoTime() > deadline) {
+                // Кубы текущего уровня - импликанты, хотя и не обязательно простые
+                primes = ensureCapacity(primes, primeCount + level.length);
+                System.arraycopy(level, 0, primes, primeCount, level.length);
+                primeCount += level.length;
+                break;
+            }
+            var used = new boolean[level.length];
+            var merged = merge(level, used);
+            for (int i = 0; i < level.length; i++) {
+                if (!used[i]) {
+                    primes = ensureCapacity(primes, primeCount + 1);
+                    primes[primeCount++] = level[i];
+                }
+            }
+            level = unique(merged);
+        }
+        return cover(function, Arrays.copyOf(primes, primeCount));
+    }
+
+    /**
+     * Склеивает кубы отсортированного уровня. Кубы с весом value k склеиваются только
+     * с кубами веса k + 1, поэтому классы обрабатываются параллельно и независимо.
+     * */
+    private static long[] merge(long[] level, boolean[] used) {
+        int classes = (int) (level[level.length - 1] >>> (2 * FIELD_BITS)) + 1;
+        var starts = new int[classes + 1];
+        for (long cube : level) {
+            starts[(int) (cube >>> (2 * FIELD_BITS)) + 1]++;
+        }
+        for (int k = 0; k < classes; k++) {
+            starts[k + 1] += starts[k];
+        }
+        var results = new long[classes][];
+        IntStream.range(0, classes).parallel().forEach(k -> {
+            var output = new long[16];
+            int count = 0;
+            for (int i = starts[k]; i < starts[k + 1]; i++) {
+                int care = care(level[i]), value = value(level[i]);
+                for (int free = care & ~value; free != 0; free &= free - 1) {
+                    int bit = free & -free;
+                    int partner = Arrays.binarySearch(level, starts[k + 1], starts[Math.min(k + 2, classes)],
+                            pack(care, value | bit));
+                    if (partner >= 0) {
+                        // Гонки безвредны: в массив пишется только true, чтение после завершения потока
+                        used[i] = true;
+                        used[partner] = true;
+                        output = ensureCapacity(output, count + 1);
+                        output[count++] = pack(care & ~bit, value);
+                    }
+                }
+            }
+            results[k] = Arrays.copyOf(output, count);
+        });
+        return Arrays.stream(results).flatMapToLong(Arrays::stream).toArray();
+    }
+
+    private static long[] unique(long[] cubes) {
+        if (cubes.length == 0) {
+            return cubes;
+        }
+        Arrays.sort(cubes);
+        int count = 1;
+        for (int i = 1; i < cubes.length; i++) {
+            if (cubes[i] != cubes[count - 1]) {
+                cubes[count++] = cubes[i];
+            }
+        }
+        return Arrays.copyOf(cubes, count);
+    }
+
+    /**
+     * Выбирает покрытие носителя: сначала существенные импликанты, затем жадно
+     * импликанты, покрывающие больше всего непокрытых наборов
+     * */
+    private static CubeList cover(BooleanFunction function, long[] primes) {
+        int size = function.size();
+        var counts = new int[size];
+        for (long prime : primes) {
+            forEachPoint(care(prime), value(prime), function.getVariablesCount(), x -> counts[x]++);
+        }
+        var covered = new boolean[size];
+        var selected = new boolean[primes.length];
+        int remaining = function.weight();
+        for (int i = 0; i < primes.length; i++) {
+            if (anyPoint(care(primes[i]), value(primes[i]), function.getVariablesCount(), x -> counts[x] == 1)) {
+                selected[i] = true;
+                remaining -= markCovered(primes[i], function.getVariablesCount(), covered);
+            }
+        }
+        while (remaining > 0) {
+            int best = -1;
+            int bestGain = 0;
+            for (int i = 0; i < primes.length; i++) {
+                if (selected[i]) {
+                    continue;
+                }
+                var gain = new int[1];
+                forEachPoint(care(primes[i]), value(primes[i]), function.getVariablesCount(), x -> {
+                    if (!covered[x]) {
+                        gain[0]++;
+                    }
+                });
+                if (gain[0] > bestGain || gain[0] == bestGain && best >= 0
+                        && Integer.bitCount(care(primes[i])) < Integer.bitCount(care(primes[best]))) {
+                    best = i;
+                    bestGain = gain[0];
+                }
+            }
+            selected[best] = true;
+            remaining -= markCovered(primes[best], function.getVariablesCount(), covered);
+        }
+
+        int count = 0;
+        for (boolean s : selected) {
+            if (s) {
+                count++;
+            }
+        }
+        var values = new int[count];
+        var cares = new int[count];
+        int index = 0;
+        for (int i = 0; i < primes.length; i++) {
+            if (selected[i]) {
+                values[index] = value(primes[i]);
+                cares[index++] = care(primes[i]);
+            }
+        }
+        return new CubeList(function.getVariablesCount(), values, cares);
+    }
+
+    private static int markCovered(long cube, int n, boolean[] covered) {
+        var count = new int[1];
+        forEachPoint(care(cube), value(cube), n, x -> {
+            if (!covered[x]) {
+                covered[x] = true;
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    // Общие операции над кубами
+
+    private static int fullMask(int n) {
+        return n == 0 ? 0 : -1 >>> (Integer.SIZE - n);
+    }
+
+    /**
+     * Перебирает наборы куба: к value добавляются все подмножества свободных переменных
+     * */
+    private static void forEachPoint(int care, int value, int n, IntConsumer action) {
+        int free = ~care & fullMask(n);
+        for (int sub = free; ; sub = (sub - 1) & free) {
+            action.accept(value | sub);
+            if (sub == 0) {
+                break;
+            }
+        }
+    }
+
+    private static boolean anyPoint(int care, int value, int n, IntPredicate predicate) {
+        int free = ~care & fullMask(n);
+        for (int sub = free; ; sub = (sub - 1) & free) {
+            if (predicate.test(value | sub)) {
+                return true;
+            }
+            if (sub == 0) {
+                return false;
+            }
+        }
+    }
+
+    private static long[] ensureCapacity(long[] array, int capacity) {
+        return capacity <= array.length ? array : Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+    }
+
+    /**
+     * Эвристика в духе Espresso. Покрытие хранится массивами масок, для каждого набора
+     * носителя поддерживается количество покрывающих его кубов.
+     * */
+    private static final class Espresso {
+        private final BooleanFunction function;
+        private final MinimizationOptions options;
+        private final long deadline;
+        private final int n;
+        private final int all;
+        private final int[] counts;
+        private int[] values = new int[16];
+        private int[] cares = new int[16];
+        private int size;
+
+        Espresso(BooleanFunction function, MinimizationOptions options, long deadline) {
+            this.function = function;
+            this.options = options;
+            this.deadline = deadline;
+            this.n = function.getVariablesCount();
+            this.all = fullMask(n);
+            this.counts = new int[function.size()];
+        }
+
+        CubeList run() {
+            // Начальное покрытие: каждый ещё не покрытый набор расширяется до простой импликанты
+            for (int w = 0; w < function.getWordCount(); w++) {
+                for (long word = function.getWord(w); word != 0; word &= word - 1) {
+                    int x = (w << 6) | Long.numberOfTrailingZeros(word);
+                    if (counts[x] == 0) {
+                        add(x, all);
+                        expand(size - 1, 0);
+                    }
+                }
+            }
+            irredundant();
+
+            var bestValues = Arrays.copyOf(values, size);
+            var bestCares = Arrays.copyOf(cares, size);
+            long bestCost = cost();
+            for (int iteration = 1; iteration <= options.getMaxIterations()
+                    && size > options.getTargetCubes() && System.nanoTime() <= deadline; iteration++) {
+                reduce();
+                // Другой порядок поднятия переменных даёт другие простые импликанты
+                for (int i = 0; i < size; i++) {
+                    expand(i, iteration);
+                }
+                irredundant();
+                long cost = cost();
+                if (cost >= bestCost) {
+                    break;
+                }
+                bestCost = cost;
+                bestValues = Arrays.copyOf(values, size);
+                bestCares = Arrays.copyOf(cares, size);
+            }
+            return new CubeList(n, bestValues, bestCares);
+        }
+
+        /**
+         * Стоимость покрытия: количество кубов, затем количество литералов
+         * */
+        private long cost() {
+            long literals = 0;
+            for (int i = 0; i < size; i++) {
+                literals += Integer.bitCount(cares[i]);
+            }
+            return ((long) size << 32) | literals;
+        }
+
+        private void add(int value, int care) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                cares = Arrays.copyOf(cares, size * 2);
+            }
+            values[size] = value;
+            cares[size++] = care;
+            forEachPoint(care, value, n, x -> counts[x]++);
+        }
+
+        /**
+         * Поднимает переменные куба, пока он остаётся импликантой.
+         * Переменная j поднимается, если все наборы куба с инвертированным битом j лежат в носителе.
+         * */
+        private void expand(int index, int rotation) {
+            for (int k = 0; k < n; k++) {
+                int bit = 1 << ((k + rotation) % n);
+                int care = cares[index];
+                if ((care & bit) == 0) {
+                    continue;
+                }
+                int flipped = values[index] ^ bit;
+                if (!anyPoint(care, flipped, n, x -> !function.getBit(x))) {
+                    forEachPoint(care, flipped, n, x -> counts[x]++);
+                    cares[index] = care & ~bit;
+                    values[index] &= ~bit;
+                }
+            }
+        }
+
+        /**
+         * Удаляет кубы, все наборы которых покрыты другими кубами, начиная с меньших
+         * */
+        private void irredundant() {
+            var order = IntStream.range(0, size).boxed()
+                    .sorted((a, b) -> Integer.compare(Integer.bitCount(cares[b]), Integer.bitCount(cares[a])))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            var removed = new boolean[size];
+            for (int i : order) {
+                if (!anyPoint(cares[i], values[i], n, x -> counts[x] == 1)) {
+                    forEachPoint(cares[i], values[i], n, x -> counts[x]--);
+                    removed[i] = true;
+                }
+            }
+            int kept = 0;
+            for (int i = 0; i < removed.length; i++) {
+                if (!removed[i]) {
+                    values[kept] = values[i];
+                    cares[kept++] = cares[i];
+                }
+            }
+            size = kept;
+        }
+
+        /**
+         * Сжимает каждый куб до наименьшего куба, содержащего наборы, покрытые только им
+         * */
+        private void reduce() {
+            for (int i = 0; i < size; i++) {
+                int care = cares[i], value = values[i];
+                var hull = new int[]{-1, 0};
+                forEachPoint(care, value, n, x -> {
+                    if (counts[x] == 1) {
+                        hull[0] &= x;
+                        hull[1] |= x;
+                    }
+                });
+                if (hull[0] == -1) {
+                    // Нет наборов, покрытых только этим кубом: он избыточен
+                    continue;
+                }
+                // Переменные, постоянные на уникальных наборах, входят в сжатый куб
+                int newCare = (care | ~(hull[0] ^ hull[1])) & all;
+                int newValue = hull[0] & newCare;
+                if (newCare != care) {
+                    forEachPoint(care, value, n, x -> counts[x]--);
+                    cares[i] = newCare;
+                    values[i] = newValue;
+                    forEachPoint(newCare, newValue, n, x -> counts[x]++);
+                }
+            }
+        }
+    }
+}
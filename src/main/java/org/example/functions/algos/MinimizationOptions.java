@@ -0,0 +1,62 @@
+package org.example.functions.algos;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Параметры минимизации ДНФ и КНФ
+ * @see LogicMinimizer
+ * */
+@Getter
+@Builder
+public final class MinimizationOptions {
+    /**
+     * Метод минимизации
+     * */
+    public enum Method {
+        /**
+         * Квайн-Мак-Класки для малого числа переменных, иначе эвристика в духе Espresso
+         * */
+        AUTO,
+        /**
+         * Все простые импликанты склеиванием, затем существенные импликанты и жадное покрытие
+         * */
+        QUINE_MCCLUSKEY,
+        /**
+         * Итерации расширения, удаления избыточных и сжатия кубов
+         * */
+        ESPRESSO
+    }
+
+    @Builder.Default
+    private final Method method = Method.AUTO;
+    /**
+     * Максимальное количество переменных, при котором {@link Method#AUTO} выбирает Квайна-Мак-Класки
+     * */
+    @Builder.Default
+    private final int exactVariablesLimit = 10;
+    /**
+     * Ограничение времени, либо null. По его истечении возвращается лучшее найденное покрытие.
+     * */
+    @Builder.Default
+    private final Duration timeLimit = null;
+    /**
+     * Максимальное количество итераций эвристики
+     * */
+    @Builder.Default
+    private final int maxIterations = 16;
+    /**
+     * Эвристика останавливается, как только количество кубов не превышает этого значения
+     * */
+    @Builder.Default
+    private final int targetCubes = 0;
+
+    /**
+     * @return параметры по умолчанию
+     * */
+    public static MinimizationOptions defaults() {
+        return builder().build();
+    }
+}
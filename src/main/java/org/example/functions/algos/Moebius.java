@@ -0,0 +1,45 @@
+package org.example.functions.algos;
+
+import org.example.functions.BooleanFunction;
+
+/**
+ * Преобразование Мёбиуса упакованного вектора значений на месте.
+ * Первые шесть шагов бабочки выполняются внутри каждого слова масками и сдвигами,
+ * остальные - как XOR целых слов, отстоящих друг от друга на {@code 2^(i-6)}.
+ * В отличие от {@link Algorithms#moebiusTransformInPlace}, вызовы не учитываются в метриках,
+ * поэтому класс используется как составная часть других алгоритмов.
+ * @see "Algorithmic Cryptanalysis Antoine Joux, Algorithm 9.6"
+ * */
+public final class Moebius {
+
+    private Moebius() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * Выполняет преобразование Мёбиуса на месте
+     * @param words упакованный вектор значений длины {@code max(1, 2^(n-6))},
+     * биты за пределами {@code 2^n} должны быть нулевыми
+     * @param variablesCount количество переменных
+     * */
+    public static void transform(long[] words, int variablesCount) {
+        int wordCount = BooleanFunction.wordCount(variablesCount);
+        int inWordSteps = Math.min(variablesCount, BooleanFunction.WORD_LOG);
+
+        for (int w = 0; w < wordCount; w++) {
+            long word = words[w];
+            for (int i = 0; i < inWordSteps; i++) {
+                word ^= (word & BooleanFunction.LOW_HALF_MASKS[i]) << (1 << i);
+            }
+            words[w] = word;
+        }
+
+        for (int size = 1; size < wordCount; size <<= 1) {
+            for (int position = 0; position < wordCount; position += size << 1) {
+                for (int j = position; j < position + size; j++) {
+                    words[j + size] ^= words[j];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.functions.algos;
+
+import org.example.functions.SBox;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Алгоритмы для работы с векторными булевыми функциями (S-блоками)
+ * */
+public class SBoxAlgorithms {
+
+    private SBoxAlgorithms() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * Вычисляет спектры Уолша всех компонентных функций {@code b . S} одним преобразованием.
+     * Элемент {@code LAT[a][b] = sum (-1)^(a.x ^ b.S(x))} равен коэффициенту двумерного
+     * преобразования Уолша-Адамара индикатора графа {@code [S(x) = y]}, поэтому все
+     * {@code 2^m} компонент обрабатываются за одни и те же проходы по памяти
+     * и параллельно (при достаточном размере) в пуле потоков.
+     * @param sBox S-блок из n в m бит
+     * @param pool пул потоков, либо {@code null}
+     * @return плоский массив длины {@code 2^(n+m)}, элемент {@code LAT[a][b]}
+     * находится по индексу {@code (a << m) | b}
+     * @throws IllegalArgumentException если {@code n + m > 30}, т.е. таблица не помещается в массив
+     * */
+    public static int[] componentWalshSpectra(SBox sBox, ForkJoinPool pool) {
+        int n = sBox.getInputsCount(), m = sBox.getOutputsCount();
+        if (n + m > 30) {
+            throw new IllegalArgumentException("Сумма количеств входов и выходов должна быть не больше 30!");
+        }
+        var data = new int[1 << (n + m)];
+        for (int x = 0; x < sBox.size(); x++) {
+            data[(x << m) | sBox.apply(x)] = 1;
+        }
+        WalshHadamard.transform(data, n + m, pool);
+        return data;
+    }
+
+    /**
+     * Вычисляет таблицу линейных приближений S-блока
+     * @param sBox S-блок из n в m бит
+     * @return матрица {@code 2^n x 2^m}, где столбец b - спектр Уолша компоненты {@code b . S}
+     * @throws IllegalArgumentException если {@code n + m > 30}
+     * */
+    public static int[][] latTable(SBox sBox) {
+        int m = sBox.getOutputsCount();
+        var flat = componentWalshSpectra(sBox, ForkJoinPool.commonPool());
+        var result = new int[sBox.size()][];
+        for (int a = 0; a < sBox.size(); a++) {
+            result[a] = new int[1 << m];
+            System.arraycopy(flat, a << m, result[a], 0, 1 << m);
+        }
+        return result;
+    }
+
+    /**
+     * Вычисляет таблицу дифференциальных характеристик S-блока.
+     * Строки независимы и заполняются параллельно.
+     * @param sBox S-блок из n в m бит
+     * @return матрица {@code 2^n x 2^m}, элемент {@code [dx][dy]} равен количеству x,
+     * для которых {@code S(x) ^ S(x ^ dx) = dy}
+     * @see "Algorithmic Cryptanalysis Antoine Joux, Algorithm 9.1"
+     * */
+    public static int[][] ddtTable(SBox sBox) {
+        int size = sBox.size(), outputs = 1 << sBox.getOutputsCount();
+        var result = new int[size][];
+        IntStream.range(0, size).parallel().forEach(deltaX -> {
+            var row = new int[outputs];
+            for (int x = 0; x < size; x++) {
+                row[sBox.apply(x) ^ sBox.apply(x ^ deltaX)]++;
+            }
+            result[deltaX] = row;
+        });
+        return result;
+    }
+
+    /**
+     * Вычисляет таблицу связей бумеранга (BCT) S-блока
+     * @param sBox S-блок, являющийся перестановкой
+     * @return матрица {@code 2^n x 2^n}, элемент {@code [dx][dy]} равен количеству x,
+     * для которых {@code S^-1(S(x) ^ dy) ^ S^-1(S(x ^ dx) ^ dy) = dx}
+     * @throws IllegalStateException если S-блок не является перестановкой
+     * @see "Cid, Huang, Peyrin, Sasaki, Song. Boomerang Connectivity Table"
+     * */
+    public static int[][] bctTable(SBox sBox) {
+        var inverse = sBox.inverse();
+        int size = sBox.size();
+        var result = new int[size][];
+        IntStream.range(0, size).parallel().forEach(deltaX -> {
+            var row = new int[size];
+            for (int deltaY = 0; deltaY < size; deltaY++) {
+                int count = 0;
+                for (int x = 0; x < size; x++) {
+                    int left = inverse.apply(sBox.apply(x) ^ deltaY);
+                    int right = inverse.apply(sBox.apply(x ^ deltaX) ^ deltaY);
+                    if ((left ^ right) == deltaX) {
+                        count++;
+                    }
+                }
+                row[deltaY] = count;
+            }
+            result[deltaX] = row;
+        });
+        return result;
+    }
+
+    /**
+     * Вычисляет дифференциальную равномерность S-блока
+     * @param ddt таблица дифференциальных характеристик
+     * @return максимум элементов DDT по ненулевым входным разностям
+     * @see #ddtTable
+     * */
+    public static int differentialUniformity(int[][] ddt) {
+        int result = 0;
+        for (int deltaX = 1; deltaX < ddt.length; deltaX++) {
+            for (int value : ddt[deltaX]) {
+                result = Math.max(result, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Вычисляет линейность S-блока по всем {@code 2^m - 1} ненулевым компонентам
+     * @param lat таблица линейных приближений
+     * @return максимум {@code |LAT[a][b]|} по всем a и ненулевым b
+     * @see #latTable
+     * */
+    public static int linearity(int[][] lat) {
+        int result = 0;
+        for (int[] row : lat) {
+            for (int b = 1; b < row.length; b++) {
+                result = Math.max(result, Math.abs(row[b]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Вычисляет нелинейность S-блока, т.е. минимум нелинейностей его компонент
+     * @param lat таблица линейных приближений
+     * @return нелинейность S-блока
+     * @see #latTable
+     * */
+    public static int nonlinearity(int[][] lat) {
+        return (lat.length / 2) - (linearity(lat) / 2);
+    }
+
+    /**
+     * Вычисляет бумеранговую равномерность S-блока
+     * @param bct таблица связей бумеранга
+     * @return максимум элементов BCT по ненулевым входной и выходной разностям
+     * @see #bctTable
+     * */
+    public static int boomerangUniformity(int[][] bct) {
+        int result = 0;
+        for (int deltaX = 1; deltaX < bct.length; deltaX++) {
+            for (int deltaY = 1; deltaY < bct[deltaX].length; deltaY++) {
+                result = Math.max(result, bct[deltaX][deltaY]);
+            }
+        }
+        return result;
+    }
+}
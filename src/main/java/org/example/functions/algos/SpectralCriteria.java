@@ -0,0 +1,80 @@
+package org.example.functions.algos;
+
+/**
+ * Критерии корреляционной иммунности, устойчивости, распространения и бент-функций
+ * по готовым спектрам. Индексы спектра перебираются классами одинакового веса в порядке
+ * возрастания веса (приём Госпера), поэтому проверка порядка m просматривает только
+ * {@code sum_(1 <= i <= m) C(n, i)} коэффициентов и прекращается на первом нарушении.
+ * */
+final class SpectralCriteria {
+
+    private SpectralCriteria() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * @return следующая в порядке возрастания маска того же веса
+     * */
+    static int nextCombination(int mask) {
+        int lowest = mask & -mask;
+        int ripple = mask + lowest;
+        return (((ripple ^ mask) >>> 2) / lowest) | ripple;
+    }
+
+    /**
+     * Ищет наибольший порядок m не больше maxOrder, для которого спектр равен нулю
+     * на всех индексах веса от 1 до m
+     * @param spectrum спектр длины {@code 2^n}
+     * @param variablesCount количество переменных n
+     * @param maxOrder порядок, после которого перебор прекращается
+     * @return найденный порядок
+     * */
+    static int zeroOrder(int[] spectrum, int variablesCount, int maxOrder) {
+        int limit = 1 << variablesCount;
+        for (int weight = 1; weight <= maxOrder; weight++) {
+            for (int mask = (1 << weight) - 1; mask < limit; mask = nextCombination(mask)) {
+                if (spectrum[mask] != 0) {
+                    return weight - 1;
+                }
+            }
+        }
+        return maxOrder;
+    }
+
+    /**
+     * @see Algorithms#isBent
+     * */
+    static boolean isBent(int[] walshSpectrum, int variablesCount) {
+        if ((variablesCount & 1) != 0) {
+            return false;
+        }
+        int amplitude = 1 << (variablesCount / 2);
+        int size = 1 << variablesCount;
+        for (int u = 0; u < size; u++) {
+            if (Math.abs(walshSpectrum[u]) != amplitude) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @see Algorithms#plateauedAmplitude
+     * */
+    static int plateauedAmplitude(int[] walshSpectrum, int variablesCount) {
+        int size = 1 << variablesCount;
+        int amplitude = 0;
+        for (int u = 0; u < size; u++) {
+            int abs = Math.abs(walshSpectrum[u]);
+            if (abs == 0) {
+                continue;
+            }
+            if (amplitude == 0) {
+                amplitude = abs;
+            } else if (abs != amplitude) {
+                return 0;
+            }
+        }
+        return amplitude;
+    }
+}
@@ -0,0 +1,378 @@
+package org.example.functions.algos;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.kernels.KernelProvider;
+import org.example.functions.kernels.Kernels;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Быстрое преобразование Уолша-Адамара на месте над массивами {@code int} и {@code long}.
+ * Массив длины {@code 2^n} рассматривается как матрица из {@code 2^(n-m)} строк по
+ * {@code 2^m} элементов, где {@code 2^m} элементов помещаются в кэш. Сначала каждая строка
+ * преобразуется целиком (младшие {@code m} шагов бабочки), затем старшие шаги выполняются
+ * по столбцам парами (radix-4), что вдвое сокращает число проходов по памяти.
+ * Строки на первом этапе и полосы столбцов на втором независимы, поэтому в параллельном
+ * режиме они распределяются между потоками {@link ForkJoinPool}. Сами шаги бабочки выполняются
+ * ядрами {@link Kernels}, векторными при доступном Vector API.
+ * @see "Algorithmic Cryptanalysis Antoine Joux, Algorithm 9.3"
+ */
+public final class WalshHadamard {
+    /**
+     * Логарифм длины блока, обрабатываемого в кэше
+     * */
+    public static final int BLOCK_LOG = 12;
+
+    /**
+     * Минимальное количество переменных, начиная с которого имеет смысл параллельный режим
+     * */
+    public static final int PARALLEL_THRESHOLD = 16;
+
+    /**
+     * Минимальная ширина полосы столбцов, обрабатываемой одной задачей
+     * */
+    private static final int MIN_COLUMNS = 64;
+
+    private static final Kernels KERNELS = KernelProvider.active();
+
+    private WalshHadamard() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * Заполняет буфер знаковым вектором функции {@code (-1)^f(x)}
+     * @param function булева функция
+     * @param buffer буфер длины не меньше {@code 2^n}
+     * @return переданный буфер
+     * */
+    public static int[] signs(BooleanFunction function, int[] buffer) {
+        int count = Math.min(function.size(), BooleanFunction.WORD_BITS);
+        for (int w = 0; w < function.getWordCount(); w++) {
+            KERNELS.signs(function.getWord(w), buffer, w << BooleanFunction.WORD_LOG, count);
+        }
+        return buffer;
+    }
+
+    /**
+     * Заполняет буфер знаковым вектором функции {@code (-1)^f(x)}
+     * @param function булева функция
+     * @param buffer буфер длины не меньше {@code 2^n}
+     * @return переданный буфер
+     * */
+    public static long[] signs(BooleanFunction function, long[] buffer) {
+        int size = function.size();
+        for (int x = 0; x < size; x++) {
+            buffer[x] = 1 - ((function.getWord(x >>> 6) >>> x) & 1) * 2;
+        }
+        return buffer;
+    }
+
+    /**
+     * Выполняет преобразование Уолша-Адамара на месте в текущем потоке
+     * @param data массив длины не меньше {@code 2^n}
+     * @param variablesCount количество переменных n
+     * */
+    public static void transform(int[] data, int variablesCount) {
+        transform(data, variablesCount, null);
+    }
+
+    /**
+     * Выполняет преобразование Уолша-Адамара на месте в общем пуле потоков
+     * @param data массив длины не меньше {@code 2^n}
+     * @param variablesCount количество переменных n
+     * */
+    public static void transformParallel(int[] data, int variablesCount) {
+        transform(data, variablesCount, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Выполняет преобразование Уолша-Адамара на месте
+     * @param data массив длины не меньше {@code 2^n}
+     * @param variablesCount количество переменных n
+     * @param pool пул потоков; если {@code null} или n меньше {@link #PARALLEL_THRESHOLD},
+     * преобразование выполняется в текущем потоке
+     * */
+    public static void transform(int[] data, int variablesCount, ForkJoinPool pool) {
+        int blockLog = Math.min(variablesCount, BLOCK_LOG);
+        int rows = 1 << (variablesCount - blockLog);
+        int columns = 1 << blockLog;
+
+        if (pool == null || variablesCount < PARALLEL_THRESHOLD) {
+            for (int row = 0; row < rows; row++) {
+                transformBlock(data, row << blockLog, blockLog);
+            }
+            transformColumns(data, 0, columns, rows, blockLog);
+        } else {
+            pool.invoke(new IntRowsTask(data, 0, rows, blockLog));
+            int grain = Math.max(MIN_COLUMNS, columns / (4 * pool.getParallelism()));
+            pool.invoke(new IntColumnsTask(data, 0, columns, rows, blockLog, grain));
+        }
+    }
+
+    /**
+     * Выполняет обратное преобразование Уолша-Адамара на месте.
+     * Деление на {@code 2^n} выполняется сдвигом и точно для любого спектра,
+     * полученного прямым преобразованием целочисленного вектора.
+     * @param data массив длины не меньше {@code 2^n}
+     * @param variablesCount количество переменных n
+     * @param pool пул потоков, может быть {@code null}
+     * */
+    public static void inverse(int[] data, int variablesCount, ForkJoinPool pool) {
+        transform(data, variablesCount, pool);
+        int size = 1 << variablesCount;
+        for (int i = 0; i < size; i++) {
+            data[i] >>= variablesCount;
+        }
+    }
+
+    /**
+     * Выполняет преобразование Уолша-Адамара на месте в текущем потоке
+     * @param data массив длины не меньше {@code 2^n}
+     * @param variablesCount количество переменных n
+     * */
+    public static void transform(long[] data, int variablesCount) {
+        transform(data, variablesCount, null);
+    }
+
+    /**
+     * Выполняет преобразование Уолша-Адамара на месте в общем пуле потоков
+     * @param data массив длины не меньше {@code 2^n}
+     * @param variablesCount количество переменных n
+     * */
+    public static void transformParallel(long[] data, int variablesCount) {
+        transform(data, variablesCount, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Выполняет преобразование Уолша-Адамара на месте
+     * @param data массив длины не меньше {@code 2^n}
+     * @param variablesCount количество переменных n
+     * @param pool пул потоков; если {@code null} или n меньше {@link #PARALLEL_THRESHOLD},
+     * преобразование выполняется в текущем потоке
+     * */
+    public static void transform(long[] data, int variablesCount, ForkJoinPool pool) {
+        int blockLog = Math.min(variablesCount, BLOCK_LOG);
+        int rows = 1 << (variablesCount - blockLog);
+        int columns = 1 << blockLog;
+
+        if (pool == null || variablesCount < PARALLEL_THRESHOLD) {
+            for (int row = 0; row < rows; row++) {
+                transformBlock(data, row << blockLog, blockLog);
+            }
+            transformColumns(data, 0, columns, rows, blockLog);
+        } else {
+            pool.invoke(new LongRowsTask(data, 0, rows, blockLog));
+            int grain = Math.max(MIN_COLUMNS, columns / (4 * pool.getParallelism()));
+            pool.invoke(new LongColumnsTask(data, 0, columns, rows, blockLog, grain));
+        }
+    }
+
+    /**
+     * Выполняет обратное преобразование Уолша-Адамара на месте.
+     * Деление на {@code 2^n} выполняется сдвигом и точно для любого спектра,
+     * полученного прямым преобразованием целочисленного вектора.
+     * @param data массив длины не меньше {@code 2^n}
+     * @param variablesCount количество переменных n
+     * @param pool пул потоков, может быть {@code null}
+     * */
+    public static void inverse(long[] data, int variablesCount, ForkJoinPool pool) {
+        transform(data, variablesCount, pool);
+        int size = 1 << variablesCount;
+        for (int i = 0; i < size; i++) {
+            data[i] >>= variablesCount;
+        }
+    }
+
+    private static void transformBlock(int[] data, int offset, int blockLog) {
+        int end = offset + (1 << blockLog);
+        for (int size = 1; size < (1 << blockLog); size <<= 1) {
+            for (int position = offset; position < end; position += size << 1) {
+                KERNELS.butterfly(data, position, position + size, size);
+            }
+        }
+    }
+
+    private static void transformColumns(int[] data, int from, int to, int rows, int blockLog) {
+        int half = 1;
+        // Два шага бабочки за один проход по четвёркам строк
+        for (; half << 1 < rows; half <<= 2) {
+            int stride = half << blockLog;
+            for (int group = 0; group < rows; group += half << 2) {
+                for (int row = group; row < group + half; row++) {
+                    KERNELS.radix4(data, (row << blockLog) + from, stride, to - from);
+                }
+            }
+        }
+        // Оставшийся одиночный шаг при нечётном числе старших шагов
+        if (half < rows) {
+            int stride = half << blockLog;
+            for (int row = 0; row < half; row++) {
+                int start = (row << blockLog) + from;
+                KERNELS.butterfly(data, start, start + stride, to - from);
+            }
+        }
+    }
+
+    private static void transformBlock(long[] data, int offset, int blockLog) {
+        int end = offset + (1 << blockLog);
+        for (int size = 1; size < (1 << blockLog); size <<= 1) {
+            for (int position = offset; position < end; position += size << 1) {
+                KERNELS.butterfly(data, position, position + size, size);
+            }
+        }
+    }
+
+    private static void transformColumns(long[] data, int from, int to, int rows, int blockLog) {
+        int half = 1;
+        // Два шага бабочки за один проход по четвёркам строк
+        for (; half << 1 < rows; half <<= 2) {
+            int stride = half << blockLog;
+            for (int group = 0; group < rows; group += half << 2) {
+                for (int row = group; row < group + half; row++) {
+                    KERNELS.radix4(data, (row << blockLog) + from, stride, to - from);
+                }
+            }
+        }
+        // Оставшийся одиночный шаг при нечётном числе старших шагов
+        if (half < rows) {
+            int stride = half << blockLog;
+            for (int row = 0; row < half; row++) {
+                int start = (row << blockLog) + from;
+                KERNELS.butterfly(data, start, start + stride, to - from);
+            }
+        }
+    }
+
+    /**
+     * Преобразование строк с номерами из {@code [from, to)}
+     * */
+    private static final class IntRowsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] data;
+        private final int from;
+        private final int to;
+        private final int blockLog;
+
+        IntRowsTask(int[] data, int from, int to, int blockLog) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+            this.blockLog = blockLog;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int row = from; row < to; row++) {
+                    transformBlock(data, row << blockLog, blockLog);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new IntRowsTask(data, from, middle, blockLog),
+                    new IntRowsTask(data, middle, to, blockLog));
+        }
+    }
+
+    /**
+     * Старшие шаги для полосы столбцов {@code [from, to)}
+     * */
+    private static final class IntColumnsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] data;
+        private final int from;
+        private final int to;
+        private final int rows;
+        private final int blockLog;
+        private final int grain;
+
+        IntColumnsTask(int[] data, int from, int to, int rows, int blockLog, int grain) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+            this.rows = rows;
+            this.blockLog = blockLog;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                transformColumns(data, from, to, rows, blockLog);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new IntColumnsTask(data, from, middle, rows, blockLog, grain),
+                    new IntColumnsTask(data, middle, to, rows, blockLog, grain));
+        }
+    }
+
+    /**
+     * Преобразование строк с номерами из {@code [from, to)}
+     * */
+    private static final class LongRowsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] data;
+        private final int from;
+        private final int to;
+        private final int blockLog;
+
+        LongRowsTask(long[] data, int from, int to, int blockLog) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+            this.blockLog = blockLog;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int row = from; row < to; row++) {
+                    transformBlock(data, row << blockLog, blockLog);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new LongRowsTask(data, from, middle, blockLog),
+                    new LongRowsTask(data, middle, to, blockLog));
+        }
+    }
+
+    /**
+     * Старшие шаги для полосы столбцов {@code [from, to)}
+     * */
+    private static final class LongColumnsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] data;
+        private final int from;
+        private final int to;
+        private final int rows;
+        private final int blockLog;
+        private final int grain;
+
+        LongColumnsTask(long[] data, int from, int to, int rows, int blockLog, int grain) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+            this.rows = rows;
+            this.blockLog = blockLog;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                transformColumns(data, from, to, rows, blockLog);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new LongColumnsTask(data, from, middle, rows, blockLog, grain),
+                    new LongColumnsTask(data, middle, to, rows, blockLog, grain));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.functions.kernels;
+
+import java.util.Optional;
+
+/**
+ * Выбор реализации вычислительных ядер. Векторная реализация используется, если модуль
+ * {@code jdk.incubator.vector} подключён ({@code --add-modules jdk.incubator.vector}),
+ * и не отключена свойством {@value #SCALAR_PROPERTY}. Иначе используется скалярная.
+ * */
+public final class KernelProvider {
+    /**
+     * Системное свойство, принудительно включающее скалярную реализацию
+     * */
+    public static final String SCALAR_PROPERTY = "org.example.kernels.scalar";
+
+    private static final Kernels SCALAR = new ScalarKernels();
+    private static final Kernels VECTOR = loadVector();
+    private static final Kernels ACTIVE = VECTOR == null || Boolean.getBoolean(SCALAR_PROPERTY) ? SCALAR : VECTOR;
+
+    private KernelProvider() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * @return реализация, выбранная при запуске
+     * */
+    public static Kernels active() {
+        return ACTIVE;
+    }
+
+    /**
+     * @return скалярная реализация
+     * */
+    public static Kernels scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * @return векторная реализация, если модуль Vector API доступен
+     * */
+    public static Optional<Kernels> vector() {
+        return Optional.ofNullable(VECTOR);
+    }
+
+    private static Kernels loadVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            // Загрузка по имени, чтобы без модуля классы Vector API не связывались
+            return (Kernels) Class.forName(KernelProvider.class.getPackageName() + ".VectorKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
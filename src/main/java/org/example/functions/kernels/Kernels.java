@@ -0,0 +1,66 @@
+package org.example.functions.kernels;
+
+/**
+ * Вычислительные ядра горячих циклов: шаги бабочки преобразования Уолша-Адамара,
+ * построение знакового вектора и подсчёт единиц в упакованных векторах.
+ * Все реализации дают одинаковые результаты, выбор реализации - в {@link KernelProvider}.
+ * */
+public interface Kernels {
+    /**
+     * Шаг бабочки над отрезками длины length: {@code (a, b) -> (a + b, a - b)}
+     * @param data массив
+     * @param first начало отрезка a
+     * @param second начало отрезка b
+     * @param length длина отрезков
+     * */
+    void butterfly(int[] data, int first, int second, int length);
+
+    /**
+     * @see #butterfly(int[], int, int, int)
+     * */
+    void butterfly(long[] data, int first, int second, int length);
+
+    /**
+     * Два шага бабочки над четырьмя отрезками длины length, начинающимися с
+     * {@code from + k * stride}, {@code k = 0..3}
+     * @param data массив
+     * @param from начало первого отрезка
+     * @param stride расстояние между отрезками
+     * @param length длина отрезков
+     * */
+    void radix4(int[] data, int from, int stride, int length);
+
+    /**
+     * @see #radix4(int[], int, int, int)
+     * */
+    void radix4(long[] data, int from, int stride, int length);
+
+    /**
+     * Записывает {@code (-1)^bit} для младших count бит слова
+     * @param word упакованные значения функции
+     * @param destination буфер
+     * @param offset позиция в буфере, соответствующая младшему биту
+     * @param count количество бит, от 1 до 64
+     * */
+    void signs(long word, int[] destination, int offset, int count);
+
+    /**
+     * @param words упакованный вектор
+     * @param length количество слов
+     * @return количество единиц в первых length словах
+     * */
+    long bitCount(long[] words, int length);
+
+    /**
+     * @param first первый упакованный вектор
+     * @param second второй упакованный вектор
+     * @param length количество слов
+     * @return количество единиц в {@code first ^ second}, т.е. расстояние Хэмминга
+     * */
+    long xorBitCount(long[] first, long[] second, int length);
+
+    /**
+     * @return название реализации
+     * */
+    String name();
+}
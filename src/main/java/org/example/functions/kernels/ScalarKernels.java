@@ -0,0 +1,87 @@
+package org.example.functions.kernels;
+
+/**
+ * Скалярная реализация ядер, используется, если модуль {@code jdk.incubator.vector} недоступен
+ * */
+final class ScalarKernels implements Kernels {
+
+    @Override
+    public void butterfly(int[] data, int first, int second, int length) {
+        for (int k = 0; k < length; k++) {
+            int a = data[first + k];
+            int b = data[second + k];
+            data[first + k] = a + b;
+            data[second + k] = a - b;
+        }
+    }
+
+    @Override
+    public void butterfly(long[] data, int first, int second, int length) {
+        for (int k = 0; k < length; k++) {
+            long a = data[first + k];
+            long b = data[second + k];
+            data[first + k] = a + b;
+            data[second + k] = a - b;
+        }
+    }
+
+    @Override
+    public void radix4(int[] data, int from, int stride, int length) {
+        for (int i = from; i < from + length; i++) {
+            int a = data[i];
+            int b = data[i + stride];
+            int c = data[i + 2 * stride];
+            int d = data[i + 3 * stride];
+            int ab = a + b, aMinusB = a - b, cd = c + d, cMinusD = c - d;
+            data[i] = ab + cd;
+            data[i + stride] = aMinusB + cMinusD;
+            data[i + 2 * stride] = ab - cd;
+            data[i + 3 * stride] = aMinusB - cMinusD;
+        }
+    }
+
+    @Override
+    public void radix4(long[] data, int from, int stride, int length) {
+        for (int i = from; i < from + length; i++) {
+            long a = data[i];
+            long b = data[i + stride];
+            long c = data[i + 2 * stride];
+            long d = data[i + 3 * stride];
+            long ab = a + b, aMinusB = a - b, cd = c + d, cMinusD = c - d;
+            data[i] = ab + cd;
+            data[i + stride] = aMinusB + cMinusD;
+            data[i + 2 * stride] = ab - cd;
+            data[i + 3 * stride] = aMinusB - cMinusD;
+        }
+    }
+
+    @Override
+    public void signs(long word, int[] destination, int offset, int count) {
+        for (int i = 0; i < count; i++) {
+            destination[offset + i] = (int) (1 - ((word >>> i) & 1) * 2);
+        }
+    }
+
+    @Override
+    public long bitCount(long[] words, int length) {
+        long result = 0;
+        for (int i = 0; i < length; i++) {
+            result += Long.bitCount(words[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public long xorBitCount(long[] first, long[] second, int length) {
+        long result = 0;
+        for (int i = 0; i < length; i++) {
+            result += Long.bitCount(first[i] ^ second[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.functions.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Реализация ядер на Vector API с предпочтительной для процессора шириной векторов
+ * (256 бит на AVX2, 512 бит на AVX-512). Хвосты, не кратные ширине, обрабатываются скалярно.
+ * Класс загружается только через {@link KernelProvider}, если модуль {@code jdk.incubator.vector} доступен.
+ * */
+final class VectorKernels implements Kernels {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    /**
+     * Номера дорожек {@code 0, 1, ..., L - 1}
+     * */
+    private static final IntVector LANES = IntVector.zero(INTS).addIndex(1);
+
+    private final ScalarKernels tail = new ScalarKernels();
+
+    @Override
+    public void butterfly(int[] data, int first, int second, int length) {
+        int bound = INTS.loopBound(length);
+        for (int k = 0; k < bound; k += INTS.length()) {
+            var a = IntVector.fromArray(INTS, data, first + k);
+            var b = IntVector.fromArray(INTS, data, second + k);
+            a.add(b).intoArray(data, first + k);
+            a.sub(b).intoArray(data, second + k);
+        }
+        tail.butterfly(data, first + bound, second + bound, length - bound);
+    }
+
+    @Override
+    public void butterfly(long[] data, int first, int second, int length) {
+        int bound = LONGS.loopBound(length);
+        for (int k = 0; k < bound; k += LONGS.length()) {
+            var a = LongVector.fromArray(LONGS, data, first + k);
+            var b = LongVector.fromArray(LONGS, data, second + k);
+            a.add(b).intoArray(data, first + k);
+            a.sub(b).intoArray(data, second + k);
+        }
+        tail.butterfly(data, first + bound, second + bound, length - bound);
+    }
+
+    @Override
+    public void radix4(int[] data, int from, int stride, int length) {
+        int bound = INTS.loopBound(length);
+        for (int i = from; i < from + bound; i += INTS.length()) {
+            var a = IntVector.fromArray(INTS, data, i);
+            var b = IntVector.fromArray(INTS, data, i + stride);
+            var c = IntVector.fromArray(INTS, data, i + 2 * stride);
+            var d = IntVector.fromArray(INTS, data, i + 3 * stride);
+            var ab = a.add(b);
+            var aMinusB = a.sub(b);
+            var cd = c.add(d);
+            var cMinusD = c.sub(d);
+            ab.add(cd).intoArray(data, i);
+            aMinusB.add(cMinusD).intoArray(data, i + stride);
+            ab.sub(cd).intoArray(data, i + 2 * stride);
+            aMinusB.sub(cMinusD).intoArray(data, i + 3 * stride);
+        }
+        tail.radix4(data, from + bound, stride, length - bound);
+    }
+
+    @Override
+    public void radix4(long[] data, int from, int stride, int length) {
+        int bound = LONGS.loopBound(length);
+        for (int i = from; i < from + bound; i += LONGS.length()) {
+            var a = LongVector.fromArray(LONGS, data, i);
+            var b = LongVector.fromArray(LONGS, data, i + stride);
+            var c = LongVector.fromArray(LONGS, data, i + 2 * stride);
+            var d = LongVector.fromArray(LONGS, data, i + 3 * stride);
+            var ab = a.add(b);
+            var aMinusB = a.sub(b);
+            var cd = c.add(d);
+            var cMinusD = c.sub(d);
+            ab.add(cd).intoArray(data, i);
+            aMinusB.add(cMinusD).intoArray(data, i + stride);
+            ab.sub(cd).intoArray(data, i + 2 * stride);
+            aMinusB.sub(cMinusD).intoArray(data, i + 3 * stride);
+        }
+        tail.radix4(data, from + bound, stride, length - bound);
+    }
+
+    @Override
+    public void signs(long word, int[] destination, int offset, int count) {
+        int bound = INTS.loopBound(count);
+        for (int i = 0; i < bound; i += INTS.length()) {
+            // Бит i + k слова попадает в дорожку k, затем 1 - 2 * bit
+            var bits = IntVector.broadcast(INTS, (int) (word >>> i))
+                    .lanewise(VectorOperators.LSHR, LANES)
+                    .and(1);
+            bits.lanewise(VectorOperators.LSHL, 1).neg().add(1).intoArray(destination, offset + i);
+        }
+        tail.signs(word >>> bound, destination, offset + bound, count - bound);
+    }
+
+    @Override
+    public long bitCount(long[] words, int length) {
+        int bound = LONGS.loopBound(length);
+        var sum = LongVector.zero(LONGS);
+        for (int i = 0; i < bound; i += LONGS.length()) {
+            sum = sum.add(LongVector.fromArray(LONGS, words, i).lanewise(VectorOperators.BIT_COUNT));
+        }
+        long result = sum.reduceLanes(VectorOperators.ADD);
+        for (int i = bound; i < length; i++) {
+            result += Long.bitCount(words[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public long xorBitCount(long[] first, long[] second, int length) {
+        int bound = LONGS.loopBound(length);
+        var sum = LongVector.zero(LONGS);
+        for (int i = 0; i < bound; i += LONGS.length()) {
+            var x = LongVector.fromArray(LONGS, first, i).lanewise(VectorOperators.XOR,
+                    LongVector.fromArray(LONGS, second, i));
+            sum = sum.add(x.lanewise(VectorOperators.BIT_COUNT));
+        }
+        long result = sum.reduceLanes(VectorOperators.ADD);
+        for (int i = bound; i < length; i++) {
+            result += Long.bitCount(first[i] ^ second[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + INTS.vectorBitSize();
+    }
+}
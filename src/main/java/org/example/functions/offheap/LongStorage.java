@@ -0,0 +1,217 @@
+package org.example.functions.offheap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Массив {@code long} вне кучи с индексацией {@code long}. Память разбита на блоки по
+ * {@code 2^chunkLog} элементов, каждый блок - прямой буфер или окно отображённого файла,
+ * поэтому общий размер не ограничен ни {@code 2^31} элементами, ни размером кучи.
+ * Блоки освобождаются сборщиком мусора после {@link #close()} и потери ссылок на хранилище.
+ * */
+public final class LongStorage implements Closeable {
+    /**
+     * Логарифм размера блока по умолчанию: {@code 2^27} элементов, т.е. 1 ГиБ
+     * */
+    public static final int DEFAULT_CHUNK_LOG = 27;
+
+    private static final int MAX_CHUNK_LOG = 27;
+
+    private final long length;
+    private final int chunkLog;
+    private final long chunkMask;
+    private final FileChannel channel;
+    private LongBuffer[] chunks;
+
+    private LongStorage(long length, int chunkLog, FileChannel channel) {
+        this.length = length;
+        this.chunkLog = chunkLog;
+        this.chunkMask = (1L << chunkLog) - 1;
+        this.channel = channel;
+        this.chunks = new LongBuffer[Math.toIntExact((length + chunkMask) >>> chunkLog)];
+    }
+
+    /**
+     * Выделяет обнулённое хранилище в прямой памяти
+     * @param length количество элементов
+     * @return хранилище
+     * */
+    public static LongStorage allocate(long length) {
+        return allocate(length, DEFAULT_CHUNK_LOG);
+    }
+
+    /**
+     * Выделяет обнулённое хранилище в прямой памяти
+     * @param length количество элементов
+     * @param chunkLog логарифм размера блока, от 0 до 27
+     * @return хранилище
+     * */
+    public static LongStorage allocate(long length, int chunkLog) {
+        checkArguments(length, chunkLog);
+        var storage = new LongStorage(length, chunkLog, null);
+        for (int i = 0; i < storage.chunks.length; i++) {
+            storage.chunks[i] = ByteBuffer.allocateDirect(storage.chunkLength(i) * Long.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asLongBuffer();
+        }
+        return storage;
+    }
+
+    /**
+     * Отображает файл в память как хранилище. Файл создаётся или дополняется нулями
+     * до нужного размера, существующее содержимое сохраняется.
+     * @param file путь к файлу
+     * @param length количество элементов
+     * @return хранилище, которое нужно закрыть
+     * @throws IOException если файл не удалось открыть или отобразить
+     * */
+    public static LongStorage map(Path file, long length) throws IOException {
+        return map(file, length, DEFAULT_CHUNK_LOG);
+    }
+
+    /**
+     * Отображает файл в память как хранилище
+     * @param file путь к файлу
+     * @param length количество элементов
+     * @param chunkLog логарифм размера блока, от 0 до 27
+     * @return хранилище, которое нужно закрыть
+     * @throws IOException если файл не удалось открыть или отобразить
+     * */
+    public static LongStorage map(Path file, long length, int chunkLog) throws IOException {
+        checkArguments(length, chunkLog);
+        var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            var storage = new LongStorage(length, chunkLog, channel);
+            for (int i = 0; i < storage.chunks.length; i++) {
+                // Порядок байт фиксирован, чтобы файл читался на любой платформе
+                storage.chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                                ((long) i << chunkLog) * Long.BYTES, (long) storage.chunkLength(i) * Long.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN)
+                        .asLongBuffer();
+            }
+            return storage;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void checkArguments(long length, int chunkLog) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Длина хранилища должна быть неотрицательной!");
+        }
+        if (chunkLog < 0 || chunkLog > MAX_CHUNK_LOG) {
+            throw new IllegalArgumentException("Логарифм размера блока должен быть от 0 до " + MAX_CHUNK_LOG);
+        }
+    }
+
+    /**
+     * @return количество элементов
+     * */
+    public long length() {
+        return length;
+    }
+
+    public long get(long index) {
+        checkIndex(index);
+        return chunks()[(int) (index >>> chunkLog)].get((int) (index & chunkMask));
+    }
+
+    public void set(long index, long value) {
+        checkIndex(index);
+        chunks()[(int) (index >>> chunkLog)].put((int) (index & chunkMask), value);
+    }
+
+    /**
+     * Копирует элементы в массив, переходя через границы блоков
+     * @param from индекс первого элемента
+     * @param destination массив назначения
+     * @param offset позиция в массиве
+     * @param count количество элементов
+     * */
+    public void read(long from, long[] destination, int offset, int count) {
+        checkRange(from, count);
+        var chunks = chunks();
+        while (count > 0) {
+            int position = (int) (from & chunkMask);
+            int part = (int) Math.min(count, chunkMask + 1 - position);
+            chunks[(int) (from >>> chunkLog)].get(position, destination, offset, part);
+            from += part;
+            offset += part;
+            count -= part;
+        }
+    }
+
+    /**
+     * Копирует элементы массива в хранилище, переходя через границы блоков
+     * @param from индекс первого изменяемого элемента
+     * @param source исходный массив
+     * @param offset позиция в массиве
+     * @param count количество элементов
+     * */
+    public void write(long from, long[] source, int offset, int count) {
+        checkRange(from, count);
+        var chunks = chunks();
+        while (count > 0) {
+            int position = (int) (from & chunkMask);
+            int part = (int) Math.min(count, chunkMask + 1 - position);
+            chunks[(int) (from >>> chunkLog)].put(position, source, offset, part);
+            from += part;
+            offset += part;
+            count -= part;
+        }
+    }
+
+    /**
+     * Сбрасывает изменения отображённого файла на диск. Для прямой памяти ничего не делает.
+     * @throws IOException если запись не удалась
+     * */
+    public void force() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Закрывает файл и освобождает ссылки на блоки. После закрытия обращения к хранилищу
+     * завершаются {@link IllegalStateException}.
+     * */
+    @Override
+    public void close() throws IOException {
+        chunks = null;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private int chunkLength(int chunk) {
+        return (int) Math.min(chunkMask + 1, length - ((long) chunk << chunkLog));
+    }
+
+    private LongBuffer[] chunks() {
+        var result = chunks;
+        if (result == null) {
+            throw new IllegalStateException("Хранилище закрыто!");
+        }
+        return result;
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Нет элемента " + index);
+        }
+    }
+
+    private void checkRange(long from, int count) {
+        if (from < 0 || count < 0 || from > length - count) {
+            throw new IndexOutOfBoundsException("Диапазон [" + from + ", " + (from + count) + ") вне хранилища");
+        }
+    }
+}
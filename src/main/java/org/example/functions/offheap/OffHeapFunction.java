@@ -0,0 +1,155 @@
+package org.example.functions.offheap;
+
+import lombok.Getter;
+import org.example.functions.BooleanFunction;
+import org.example.functions.kernels.KernelProvider;
+import org.example.functions.kernels.Kernels;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Булева функция, вектор значений которой хранится вне кучи в {@link LongStorage}.
+ * Раскладка битов та же, что у {@link BooleanFunction}: значение на наборе x - бит
+ * {@code x & 63} слова {@code x >>> 6}. Позволяет работать с функциями до
+ * {@value #MAX_VARIABLES} переменных, вектор значений которых не помещается в кучу.
+ * */
+public final class OffHeapFunction implements Closeable {
+    /**
+     * Максимальное количество переменных
+     * */
+    public static final int MAX_VARIABLES = 36;
+
+    /**
+     * Количество слов, обрабатываемых за одно обращение к хранилищу
+     * */
+    private static final int BATCH_WORDS = 1 << 12;
+
+    private static final Kernels KERNELS = KernelProvider.active();
+
+    @Getter
+    private final int variablesCount;
+    private final LongStorage words;
+
+    private OffHeapFunction(int variablesCount, LongStorage words) {
+        this.variablesCount = variablesCount;
+        this.words = words;
+    }
+
+    /**
+     * Создаёт нулевую функцию в прямой памяти
+     * @param variablesCount количество переменных
+     * @return функция
+     * */
+    public static OffHeapFunction allocate(int variablesCount) {
+        checkVariablesCount(variablesCount);
+        return new OffHeapFunction(variablesCount, LongStorage.allocate(wordCount(variablesCount)));
+    }
+
+    /**
+     * Отображает файл с упакованным вектором значений в память
+     * @param file путь к файлу, создаётся при отсутствии
+     * @param variablesCount количество переменных
+     * @return функция, которую нужно закрыть
+     * @throws IOException если файл не удалось отобразить
+     * */
+    public static OffHeapFunction map(Path file, int variablesCount) throws IOException {
+        checkVariablesCount(variablesCount);
+        return new OffHeapFunction(variablesCount, LongStorage.map(file, wordCount(variablesCount)));
+    }
+
+    /**
+     * Копирует функцию из кучи в прямую память
+     * @param function булева функция
+     * @return функция вне кучи
+     * */
+    public static OffHeapFunction of(BooleanFunction function) {
+        var result = allocate(function.getVariablesCount());
+        result.words.write(0, function.toLongArray(), 0, function.getWordCount());
+        return result;
+    }
+
+    /**
+     * @param variablesCount количество переменных
+     * @return количество слов упакованного вектора значений
+     * */
+    public static long wordCount(int variablesCount) {
+        return variablesCount <= BooleanFunction.WORD_LOG ? 1 : 1L << (variablesCount - BooleanFunction.WORD_LOG);
+    }
+
+    private static void checkVariablesCount(int variablesCount) {
+        if (variablesCount < 0 || variablesCount > MAX_VARIABLES) {
+            throw new IllegalArgumentException("Количество переменных должно быть от 0 до " + MAX_VARIABLES + "!");
+        }
+    }
+
+    /**
+     * Копирует функцию в кучу
+     * @return булева функция
+     * @throws IllegalArgumentException если переменных больше 30
+     * */
+    public BooleanFunction toFunction() {
+        if (variablesCount > 30) {
+            throw new IllegalArgumentException("Функция от " + variablesCount + " переменных не помещается в кучу!");
+        }
+        var result = new long[(int) words.length()];
+        words.read(0, result, 0, result.length);
+        return BooleanFunction.fromWords(result, variablesCount);
+    }
+
+    /**
+     * @return количество наборов {@code 2^n}
+     * */
+    public long size() {
+        return 1L << variablesCount;
+    }
+
+    public boolean getBit(long index) {
+        checkIndex(index);
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    public void setBit(long index, boolean value) {
+        checkIndex(index);
+        long word = words.get(index >>> 6);
+        words.set(index >>> 6, value ? word | (1L << index) : word & ~(1L << index));
+    }
+
+    /**
+     * Вычисляет вес функции, читая хранилище порциями
+     * @return количество единиц в векторе значений
+     * */
+    public long weight() {
+        long total = words.length();
+        var batch = new long[(int) Math.min(BATCH_WORDS, total)];
+        long result = 0;
+        for (long from = 0; from < total; from += batch.length) {
+            int count = (int) Math.min(batch.length, total - from);
+            words.read(from, batch, 0, count);
+            if (from + count == total) {
+                batch[count - 1] &= BooleanFunction.tailMask(variablesCount);
+            }
+            result += KERNELS.bitCount(batch, count);
+        }
+        return result;
+    }
+
+    /**
+     * @return хранилище упакованного вектора значений, изменения в нём видны функции
+     * */
+    public LongStorage words() {
+        return words;
+    }
+
+    @Override
+    public void close() throws IOException {
+        words.close();
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Нет набора " + index);
+        }
+    }
+}
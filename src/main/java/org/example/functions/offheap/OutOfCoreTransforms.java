@@ -0,0 +1,173 @@
+package org.example.functions.offheap;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Moebius;
+import org.example.functions.algos.WalshHadamard;
+import org.example.functions.kernels.KernelProvider;
+import org.example.functions.kernels.Kernels;
+import org.example.metrics.Metrics;
+import org.example.metrics.Operation;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Преобразования функций, хранящихся вне кучи. Вектор длины {@code 2^n} рассматривается как
+ * матрица из {@code R = 2^(n-B)} строк по {@code 2^B} элементов. Сначала каждая строка
+ * загружается в кучу и преобразуется целиком (младшие {@code B} шагов), затем старшие шаги
+ * выполняются над полосами столбцов: полоса шириной {@code w} из всех R строк собирается в буфер,
+ * преобразуется и записывается обратно. Каждый элемент читается и записывается дважды,
+ * а в куче одновременно находится не больше {@code 2^(B+3)} элементов.
+ * */
+public final class OutOfCoreTransforms {
+    /**
+     * Логарифм длины строки по умолчанию
+     * */
+    public static final int BLOCK_LOG = 20;
+
+    /**
+     * Во сколько раз буфер полос столбцов больше строки
+     * */
+    private static final int COLUMN_BUFFER_LOG = 3;
+
+    private static final Kernels KERNELS = KernelProvider.active();
+
+    private OutOfCoreTransforms() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * Вычисляет спектр Уолша функции вне кучи
+     * @param function булева функция
+     * @param spectrum хранилище длины не меньше {@code 2^n} для коэффициентов
+     * @param pool пул потоков для преобразования строк, либо {@code null}
+     * @return переданное хранилище спектра
+     * @see #walshTransform(OffHeapFunction, LongStorage, ForkJoinPool, int)
+     * */
+    public static LongStorage walshTransform(OffHeapFunction function, LongStorage spectrum, ForkJoinPool pool) {
+        return walshTransform(function, spectrum, pool, BLOCK_LOG);
+    }
+
+    /**
+     * Вычисляет спектр Уолша функции вне кучи
+     * @param function булева функция
+     * @param spectrum хранилище длины не меньше {@code 2^n} для коэффициентов
+     * @param pool пул потоков для преобразования строк, либо {@code null}
+     * @param blockLog логарифм длины строки B, не меньше 6
+     * @return переданное хранилище спектра
+     * @throws IllegalArgumentException если хранилище короче {@code 2^n} или {@code n > 2B + 3}
+     * */
+    public static LongStorage walshTransform(OffHeapFunction function, LongStorage spectrum,
+                                             ForkJoinPool pool, int blockLog) {
+        int n = function.getVariablesCount();
+        checkArguments(n, blockLog);
+        if (spectrum.length() < function.size()) {
+            throw new IllegalArgumentException("Хранилище спектра короче 2^" + n + "!");
+        }
+        var probe = Metrics.start(Operation.OUT_OF_CORE_WALSH, n);
+        try {
+            int rowLog = Math.min(n, blockLog);
+            int rowLength = 1 << rowLog;
+            long rows = 1L << (n - rowLog);
+            var row = new long[rowLength];
+            var words = new long[BooleanFunction.wordCount(rowLog)];
+            for (long r = 0; r < rows; r++) {
+                function.words().read(r * words.length, words, 0, words.length);
+                for (int x = 0; x < rowLength; x++) {
+                    row[x] = 1 - ((words[x >>> 6] >>> x) & 1) * 2;
+                }
+                WalshHadamard.transform(row, rowLog, pool);
+                spectrum.write(r * rowLength, row, 0, rowLength);
+            }
+            transformColumns(spectrum, (int) rows, rowLog, true);
+            return spectrum;
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Вычисляет коэффициенты АНФ функции вне кучи
+     * @param source булева функция
+     * @param destination функция того же числа переменных для коэффициентов, может совпадать с source
+     * @see #moebiusTransform(OffHeapFunction, OffHeapFunction, int)
+     * */
+    public static void moebiusTransform(OffHeapFunction source, OffHeapFunction destination) {
+        moebiusTransform(source, destination, BLOCK_LOG);
+    }
+
+    /**
+     * Вычисляет коэффициенты АНФ функции вне кучи. Строки - блоки по {@code 2^B} наборов,
+     * младшие шаги выполняются {@link Moebius#transform}, старшие - XOR полос слов.
+     * @param source булева функция
+     * @param destination функция того же числа переменных для коэффициентов, может совпадать с source
+     * @param blockLog логарифм количества наборов в строке B, не меньше 6
+     * @throws IllegalArgumentException если функции от разного числа переменных или {@code n > 2B + 3}
+     * */
+    public static void moebiusTransform(OffHeapFunction source, OffHeapFunction destination, int blockLog) {
+        int n = source.getVariablesCount();
+        checkArguments(n, blockLog);
+        if (destination.getVariablesCount() != n) {
+            throw new IllegalArgumentException("Разное количество аргументов!");
+        }
+        var probe = Metrics.start(Operation.OUT_OF_CORE_MOEBIUS, n);
+        try {
+            int rowLog = Math.min(n, blockLog);
+            var row = new long[BooleanFunction.wordCount(rowLog)];
+            long rows = OffHeapFunction.wordCount(n) / row.length;
+            for (long r = 0; r < rows; r++) {
+                source.words().read(r * row.length, row, 0, row.length);
+                Moebius.transform(row, rowLog);
+                destination.words().write(r * row.length, row, 0, row.length);
+            }
+            transformColumns(destination.words(), (int) rows,
+                    Integer.numberOfTrailingZeros(row.length), false);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    private static void checkArguments(int variablesCount, int blockLog) {
+        if (blockLog < BooleanFunction.WORD_LOG || blockLog > 27) {
+            throw new IllegalArgumentException("Логарифм длины строки должен быть от 6 до 27!");
+        }
+        if (variablesCount > 2 * blockLog + COLUMN_BUFFER_LOG) {
+            throw new IllegalArgumentException("Для " + variablesCount
+                    + " переменных длина строки должна быть не меньше 2^" + (variablesCount - COLUMN_BUFFER_LOG + 1) / 2);
+        }
+    }
+
+    /**
+     * Выполняет старшие шаги над полосами столбцов: бабочки Уолша или XOR Мёбиуса
+     * @param data хранилище, рассматриваемое как {@code rows} строк длины {@code 2^rowLog}
+     * */
+    private static void transformColumns(LongStorage data, int rows, int rowLog, boolean walsh) {
+        if (rows == 1) {
+            return;
+        }
+        int rowLength = 1 << rowLog;
+        int width = Math.max(1, Math.min(rowLength, (rowLength << COLUMN_BUFFER_LOG) / rows));
+        var strip = new long[rows * width];
+        for (int column = 0; column < rowLength; column += width) {
+            for (int r = 0; r < rows; r++) {
+                data.read((long) r * rowLength + column, strip, r * width, width);
+            }
+            for (int half = 1; half < rows; half <<= 1) {
+                for (int group = 0; group < rows; group += half << 1) {
+                    for (int r = group; r < group + half; r++) {
+                        int first = r * width, second = (r + half) * width;
+                        if (walsh) {
+                            KERNELS.butterfly(strip, first, second, width);
+                        } else {
+                            for (int k = 0; k < width; k++) {
+                                strip[second + k] ^= strip[first + k];
+                            }
+                        }
+                    }
+                }
+            }
+            for (int r = 0; r < rows; r++) {
+                data.write((long) r * rowLength + column, strip, r * width, width);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Необязательная инструментация вычислительных операций: количество вызовов, гистограмма
+ * задержек, выделенная память и распределение количества переменных.
+ * Включается системным свойством {@value #PROPERTY}{@code =true} при запуске JVM. Флаг читается
+ * один раз в константу, поэтому при выключенной инструментации JIT сводит
+ * {@code start(...).stop()} к пустой операции.
+ * <pre>{@code
+ * var probe = Metrics.start(Operation.WALSH, n);
+ * try {
+ *     ...
+ * } finally {
+ *     probe.stop();
+ * }
+ * }</pre>
+ * */
+public final class Metrics {
+    /**
+     * Системное свойство, включающее инструментацию
+     * */
+    public static final String PROPERTY = "org.example.metrics";
+
+    private static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+    private static final OperationMetrics[] OPERATIONS = new OperationMetrics[Operation.values().length];
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    static {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            OPERATIONS[i] = new OperationMetrics();
+        }
+    }
+
+    private Metrics() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * @return true, если инструментация включена
+     * */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Начинает замер вызова операции
+     * @param operation операция
+     * @param variablesCount количество переменных функции
+     * @return замер, который нужно завершить вызовом {@link Probe#stop()}
+     * */
+    public static Probe start(Operation operation, int variablesCount) {
+        if (!ENABLED) {
+            return Probe.NOOP;
+        }
+        return new Probe(OPERATIONS[operation.ordinal()], variablesCount, System.nanoTime(), allocatedBytes());
+    }
+
+    /**
+     * @return снимок статистики всех операций
+     * */
+    public static Map<Operation, OperationSnapshot> snapshot() {
+        var result = new EnumMap<Operation, OperationSnapshot>(Operation.class);
+        for (var operation : Operation.values()) {
+            result.put(operation, OPERATIONS[operation.ordinal()].snapshot(operation));
+        }
+        return result;
+    }
+
+    /**
+     * Обнуляет статистику
+     * */
+    public static void reset() {
+        for (var operation : OPERATIONS) {
+            operation.reset();
+        }
+    }
+
+    /**
+     * Регистрирует статистику в платформенном MBean-сервере под именем {@code org.example:type=Metrics}
+     * @return имя зарегистрированного MBean
+     * @throws JMException если регистрация не удалась, например MBean уже зарегистрирован
+     * */
+    public static ObjectName registerMBean() throws JMException {
+        var name = new ObjectName("org.example:type=Metrics");
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), name);
+        return name;
+    }
+
+    static long allocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ENABLED && ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    private static final class Bean implements MetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return ENABLED;
+        }
+
+        @Override
+        public Map<String, Long> getCalls() {
+            return collect(OperationSnapshot::getCalls);
+        }
+
+        @Override
+        public Map<String, Long> getTotalNanos() {
+            return collect(OperationSnapshot::getTotalNanos);
+        }
+
+        @Override
+        public Map<String, Long> getBytesAllocated() {
+            return collect(OperationSnapshot::getBytesAllocated);
+        }
+
+        @Override
+        public Map<String, Long> getLatencyP99Nanos() {
+            return collect(s -> s.latencyQuantile(0.99));
+        }
+
+        @Override
+        public Map<String, long[]> getVariablesHistograms() {
+            var result = new LinkedHashMap<String, long[]>();
+            snapshot().forEach((operation, s) -> result.put(operation.name(), s.getVariablesHistogram()));
+            return result;
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+
+        private static Map<String, Long> collect(ToLongFunction<OperationSnapshot> value) {
+            var result = new LinkedHashMap<String, Long>();
+            snapshot().forEach((operation, s) -> result.put(operation.name(), value.applyAsLong(s)));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.metrics;
+
+import java.util.Map;
+
+/**
+ * Представление статистики для JMX. Ключи словарей - имена операций.
+ * */
+public interface MetricsMXBean {
+    boolean isEnabled();
+
+    Map<String, Long> getCalls();
+
+    Map<String, Long> getTotalNanos();
+
+    Map<String, Long> getBytesAllocated();
+
+    Map<String, Long> getLatencyP99Nanos();
+
+    Map<String, long[]> getVariablesHistograms();
+
+    void reset();
+}
@@ -0,0 +1,19 @@
+package org.example.metrics;
+
+/**
+ * Инструментированные операции
+ * */
+public enum Operation {
+    WALSH,
+    INVERSE_WALSH,
+    MOEBIUS,
+    AUTOCORRELATION,
+    ALGEBRAIC_IMMUNITY,
+    DNF,
+    CNF,
+    ANF,
+    OUT_OF_CORE_WALSH,
+    OUT_OF_CORE_MOEBIUS,
+    CORRELATION_MATRIX,
+    CORRELATION_TOP_K
+}
@@ -0,0 +1,64 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики одной операции. {@link LongAdder} распределяет обновления по ячейкам разных потоков,
+ * поэтому одновременные вызовы из пула не конкурируют за одну строку кэша.
+ * */
+final class OperationMetrics {
+    /**
+     * Количество корзин гистограммы задержек: корзина i содержит вызовы длительностью
+     * {@code [2^i, 2^(i+1))} наносекунд
+     * */
+    static final int LATENCY_BUCKETS = 48;
+    static final int MAX_VARIABLES = 40;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder bytesAllocated = new LongAdder();
+    private final LongAdder[] latency = adders(LATENCY_BUCKETS);
+    private final LongAdder[] variables = adders(MAX_VARIABLES + 1);
+
+    private static LongAdder[] adders(int count) {
+        var result = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = new LongAdder();
+        }
+        return result;
+    }
+
+    void record(int variablesCount, long nanos, long bytes) {
+        calls.increment();
+        totalNanos.add(nanos);
+        bytesAllocated.add(bytes);
+        int bucket = Math.min(LATENCY_BUCKETS - 1, 63 - Long.numberOfLeadingZeros(Math.max(1, nanos)));
+        latency[bucket].increment();
+        variables[Math.min(Math.max(variablesCount, 0), MAX_VARIABLES)].increment();
+    }
+
+    OperationSnapshot snapshot(Operation operation) {
+        return new OperationSnapshot(operation, calls.sum(), totalNanos.sum(), bytesAllocated.sum(),
+                sums(latency), sums(variables));
+    }
+
+    void reset() {
+        calls.reset();
+        totalNanos.reset();
+        bytesAllocated.reset();
+        for (var adder : latency) {
+            adder.reset();
+        }
+        for (var adder : variables) {
+            adder.reset();
+        }
+    }
+
+    private static long[] sums(LongAdder[] adders) {
+        var result = new long[adders.length];
+        for (int i = 0; i < adders.length; i++) {
+            result[i] = adders[i].sum();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Снимок статистики одной операции
+ * */
+@Getter
+@AllArgsConstructor
+public final class OperationSnapshot {
+    private final Operation operation;
+    private final long calls;
+    private final long totalNanos;
+    /**
+     * Байты, выделенные в куче потоком во время вызовов, если JVM поддерживает их учёт
+     * */
+    private final long bytesAllocated;
+    /**
+     * Элемент i - количество вызовов длительностью {@code [2^i, 2^(i+1))} наносекунд
+     * */
+    private final long[] latencyHistogram;
+    /**
+     * Элемент n - количество вызовов для функций от n переменных
+     * */
+    private final long[] variablesHistogram;
+
+    /**
+     * Оценивает квантиль задержки по гистограмме с точностью до степени двойки
+     * @param quantile квантиль от 0 до 1
+     * @return верхняя граница корзины, содержащей квантиль, в наносекундах, либо 0 без вызовов
+     * */
+    public long latencyQuantile(double quantile) {
+        long target = (long) Math.ceil(quantile * calls);
+        long seen = 0;
+        for (int i = 0; i < latencyHistogram.length; i++) {
+            seen += latencyHistogram[i];
+            if (seen >= Math.max(1, target)) {
+                return 1L << (i + 1);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return средняя длительность вызова в наносекундах
+     * */
+    public double meanNanos() {
+        return calls == 0 ? 0 : (double) totalNanos / calls;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.metrics;
+
+/**
+ * Замер одного вызова операции, начатый {@link Metrics#start}.
+ * При выключенной инструментации используется общий пустой замер, и {@link #stop()} ничего не делает.
+ * */
+public final class Probe {
+    static final Probe NOOP = new Probe(null, 0, 0, 0);
+
+    private final OperationMetrics metrics;
+    private final int variablesCount;
+    private final long startNanos;
+    private final long startBytes;
+
+    Probe(OperationMetrics metrics, int variablesCount, long startNanos, long startBytes) {
+        this.metrics = metrics;
+        this.variablesCount = variablesCount;
+        this.startNanos = startNanos;
+        this.startBytes = startBytes;
+    }
+
+    /**
+     * Завершает замер и добавляет его в статистику операции
+     * */
+    public void stop() {
+        if (metrics == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - startNanos;
+        long bytes = Metrics.allocatedBytes() - startBytes;
+        metrics.record(variablesCount, nanos, Math.max(0, bytes));
+    }
+}
@@ -0,0 +1,227 @@
+package org.example.pipeline;
+
+import lombok.Getter;
+import org.example.functions.BooleanFunction;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Конвейер пакетного анализа из трёх стадий: чтение, вычисление и запись.
+ * Стадии связаны ограниченными очередями, поэтому медленная стадия притормаживает
+ * предыдущие. Прочитанные, но ещё не проанализированные функции ограничены и количеством
+ * {@code queueCapacity + threads}, и суммарным размером векторов значений {@code bufferWords}
+ * слов, поэтому при больших n в памяти остаётся лишь несколько функций.
+ * У каждого обработчика свой {@link Analyzer} с переиспользуемыми буферами.
+ * Результаты выводятся в порядке готовности, исходный порядок восстанавливается по полю index.
+ * */
+@Getter
+public class AnalysisPipeline {
+    /**
+     * Маркер конца потока в очередях
+     * */
+    private static final Object END = new Object();
+
+    /**
+     * Объём векторов значений в очередях по умолчанию: {@code 2^24} слов, т.е. 128 МиБ
+     * */
+    public static final int DEFAULT_BUFFER_WORDS = 1 << 24;
+
+    private final Set<Characteristic> characteristics;
+    private final OutputFormat format;
+    private final int threads;
+    private final int queueCapacity;
+    private final int bufferWords;
+
+    /**
+     * @param characteristics вычисляемые характеристики
+     * @param format формат вывода
+     * @param threads количество обработчиков
+     * @param queueCapacity ёмкость каждой из очередей
+     * */
+    public AnalysisPipeline(Set<Characteristic> characteristics, OutputFormat format, int threads, int queueCapacity) {
+        this(characteristics, format, threads, queueCapacity, DEFAULT_BUFFER_WORDS);
+    }
+
+    /**
+     * @param characteristics вычисляемые характеристики
+     * @param format формат вывода
+     * @param threads количество обработчиков
+     * @param queueCapacity ёмкость каждой из очередей
+     * @param bufferWords наибольшее суммарное количество слов векторов значений прочитанных,
+     * но ещё не проанализированных функций. Функция длиннее этого объёма пропускается по одной.
+     * */
+    public AnalysisPipeline(Set<Characteristic> characteristics, OutputFormat format, int threads,
+                            int queueCapacity, int bufferWords) {
+        if (threads < 1 || queueCapacity < 1 || bufferWords < 1) {
+            throw new IllegalArgumentException("Количество потоков, ёмкость очереди и объём буфера должны быть положительными!");
+        }
+        this.characteristics = EnumSet.copyOf(characteristics);
+        this.format = format;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.bufferWords = bufferWords;
+    }
+
+    /**
+     * Пропускает все функции источника через конвейер. Источник читается в текущем потоке.
+     * @param source источник функций
+     * @param output получатель результатов, не закрывается
+     * @return количество обработанных функций
+     * @throws IOException если запись завершилась ошибкой
+     * @throws InterruptedException если текущий поток был прерван
+     * */
+    public long run(Iterator<BooleanFunction> source, Writer output) throws IOException, InterruptedException {
+        BlockingQueue<Object> input = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Object> results = new ArrayBlockingQueue<>(queueCapacity);
+        var failure = new AtomicReference<Throwable>();
+        var columns = new Analyzer(characteristics).columns();
+        // Разрешения - слова векторов значений, освобождаются после анализа функции
+        var buffer = new Semaphore(bufferWords);
+
+        var workers = new ArrayList<Thread>(threads);
+        for (int i = 0; i < threads; i++) {
+            var worker = new Thread(() -> compute(input, results, buffer, failure), "analysis-worker-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        var writer = new Thread(() -> write(results, output, columns, failure), "analysis-writer");
+        writer.start();
+
+        long count = 0;
+        try {
+            while (failure.get() == null && source.hasNext()) {
+                var function = source.next();
+                int words = Math.min(function.getWordCount(), bufferWords);
+                buffer.acquire(words);
+                input.put(new Task(count++, function, words));
+            }
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            for (int i = 0; i < threads; i++) {
+                input.put(END);
+            }
+            for (var worker : workers) {
+                worker.join();
+            }
+            writer.join();
+        }
+
+        var error = failure.get();
+        if (error instanceof IOException e) {
+            throw e;
+        } else if (error instanceof RuntimeException e) {
+            throw e;
+        } else if (error instanceof Error e) {
+            throw e;
+        } else if (error != null) {
+            throw new IllegalStateException(error);
+        }
+        return count;
+    }
+
+    private void compute(BlockingQueue<Object> input, BlockingQueue<Object> results, Semaphore buffer,
+                         AtomicReference<Throwable> failure) {
+        try {
+            var analyzer = new Analyzer(characteristics);
+            while (true) {
+                var item = input.take();
+                if (item == END) {
+                    break;
+                }
+                var task = (Task) item;
+                // После ошибки очередь только опустошается, чтобы не блокировать остальные стадии
+                if (failure.get() == null) {
+                    AnalysisResult result;
+                    try {
+                        result = analyzer.analyze(task.index, task.function);
+                    } catch (Throwable e) {
+                        // В том числе OutOfMemoryError при построении таблиц для больших n
+                        failure.compareAndSet(null, e);
+                        result = null;
+                    }
+                    buffer.release(task.words);
+                    if (result != null) {
+                        results.put(result);
+                    }
+                } else {
+                    buffer.release(task.words);
+                }
+            }
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, e);
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            // Писатель ждёт END от каждого обработчика, поэтому он отправляется при любом исходе
+            putEnd(results);
+        }
+    }
+
+    private static void putEnd(BlockingQueue<Object> results) {
+        boolean interrupted = Thread.interrupted();
+        while (true) {
+            try {
+                results.put(END);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(BlockingQueue<Object> results, Writer output, List<String> columns,
+                       AtomicReference<Throwable> failure) {
+        int finished = 0;
+        try {
+            var header = format.header(columns);
+            if (header != null) {
+                output.write(header);
+                output.write('\n');
+            }
+        } catch (IOException e) {
+            failure.compareAndSet(null, e);
+        }
+        try {
+            while (finished < threads) {
+                var item = results.take();
+                if (item == END) {
+                    finished++;
+                } else if (failure.get() == null) {
+                    try {
+                        output.write(format.format((AnalysisResult) item, columns));
+                        output.write('\n');
+                    } catch (IOException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            }
+            output.flush();
+        } catch (IOException e) {
+            failure.compareAndSet(null, e);
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param words количество разрешений буфера, занятых функцией
+     * */
+    private record Task(long index, BooleanFunction function, int words) {
+    }
+}
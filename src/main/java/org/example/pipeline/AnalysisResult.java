@@ -0,0 +1,19 @@
+package org.example.pipeline;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Результат анализа одной функции: значения столбцов в порядке
+ * {@link Analyzer#columns()}
+ * */
+@Getter
+@AllArgsConstructor
+public final class AnalysisResult {
+    /**
+     * Порядковый номер функции во входном потоке
+     * */
+    private final long index;
+    private final int variablesCount;
+    private final long[] values;
+}
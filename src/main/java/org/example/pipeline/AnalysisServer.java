@@ -0,0 +1,285 @@
+package org.example.pipeline;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+import org.example.functions.BooleanFunction;
+import org.example.util.BulkParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Локальный HTTP-сервер анализа функций. Каждый запрос обрабатывается в своём виртуальном
+ * потоке, а вычисления выполняются ограниченным пулом платформенных потоков с ограниченной
+ * очередью, поэтому тяжёлые преобразования не занимают потоки-носители, а при перегрузке
+ * сервер сразу отвечает 503. Тело запроса больше заданного размера отклоняется с кодом 413
+ * до разбора. Функции одного POST-запроса ставятся в очередь скользящим окном,
+ * поэтому размер запроса сам по себе не приводит к 503. Результаты кэшируются в {@link ResultCache}.
+ * <pre>
+ * GET  /analyze?function=0110[&amp;format=hex]   одна функция
+ * POST /analyze[?format=hex]                   функции в теле, по одной в строке
+ * GET  /stats                                  состояние кэша
+ * </pre>
+ * Ответ на анализ - строки в формате {@link OutputFormat}, index - номер функции в запросе.
+ * */
+public final class AnalysisServer implements Closeable {
+    /**
+     * Объём векторов значений кэшируемых функций по умолчанию: {@code 2^26} слов, т.е. 512 МиБ
+     * */
+    public static final long DEFAULT_CACHE_WORDS = 1L << 26;
+    /**
+     * Наибольший размер тела запроса по умолчанию, 64 МиБ
+     * */
+    public static final int DEFAULT_MAX_REQUEST_BYTES = 64 << 20;
+
+    @Getter
+    private final Set<Characteristic> characteristics;
+    @Getter
+    private final OutputFormat format;
+    @Getter
+    private final ResultCache cache;
+    private final List<String> columns;
+    private final ThreadLocal<Analyzer> analyzers;
+    private final ThreadPoolExecutor computePool;
+    /**
+     * Наибольшее количество вычислений, одновременно поставленных одним запросом
+     * */
+    private final int window;
+    private final int maxRequestBytes;
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private HttpServer server;
+
+    /**
+     * @param characteristics вычисляемые характеристики
+     * @param format формат вывода
+     * @param threads количество потоков вычислений
+     * @param queueCapacity ёмкость очереди вычислений
+     * @param cacheSize максимальное количество кэшируемых результатов
+     * */
+    public AnalysisServer(Set<Characteristic> characteristics, OutputFormat format, int threads,
+                          int queueCapacity, int cacheSize) {
+        this(characteristics, format, threads, queueCapacity, cacheSize, DEFAULT_CACHE_WORDS,
+                DEFAULT_MAX_REQUEST_BYTES);
+    }
+
+    /**
+     * @param characteristics вычисляемые характеристики
+     * @param format формат вывода
+     * @param threads количество потоков вычислений
+     * @param queueCapacity ёмкость очереди вычислений
+     * @param cacheSize максимальное количество кэшируемых результатов
+     * @param cacheWords максимальное суммарное количество слов векторов значений кэшируемых функций
+     * @param maxRequestBytes наибольший размер тела запроса в байтах
+     * */
+    public AnalysisServer(Set<Characteristic> characteristics, OutputFormat format, int threads,
+                          int queueCapacity, int cacheSize, long cacheWords, int maxRequestBytes) {
+        if (threads < 1 || queueCapacity < 1 || maxRequestBytes < 1 || maxRequestBytes == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Количество потоков, ёмкость очереди и размер запроса должны быть положительными!");
+        }
+        this.maxRequestBytes = maxRequestBytes;
+        this.characteristics = EnumSet.copyOf(characteristics);
+        this.format = format;
+        this.cache = new ResultCache(cacheSize, cacheWords);
+        this.columns = new Analyzer(this.characteristics).columns();
+        // Analyzer не потокобезопасен, у каждого потока пула свой экземпляр с буферами
+        this.analyzers = ThreadLocal.withInitial(() -> new Analyzer(this.characteristics));
+        // Не больше ёмкости очереди: поток, завершивший результат, может ещё не взять следующую задачу
+        this.window = Math.min(2 * threads, queueCapacity);
+        this.computePool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("analysis-server-worker-", 0).daemon(true).factory());
+    }
+
+    /**
+     * Запускает сервер
+     * @param port порт, либо 0 для любого свободного
+     * @return адрес, на котором принимаются запросы
+     * @throws IOException если порт не удалось занять
+     * */
+    public InetSocketAddress start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Сервер уже запущен!");
+        }
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(requestExecutor);
+        server.createContext("/analyze", exchange -> handle(exchange, this::analyze));
+        server.createContext("/stats", exchange -> handle(exchange, this::stats));
+        server.start();
+        return server.getAddress();
+    }
+
+    /**
+     * Анализирует функцию на пуле вычислений или берёт результат из кэша
+     * @param function булева функция
+     * @return будущий результат с номером 0
+     * @throws RejectedExecutionException если очередь вычислений заполнена
+     * */
+    public CompletableFuture<AnalysisResult> analyze(BooleanFunction function) {
+        return cache.get(function, f -> CompletableFuture.supplyAsync(() -> analyzers.get().analyze(0, f),
+                computePool));
+    }
+
+    /**
+     * Останавливает приём запросов и пул вычислений. Запросы, ожидающие ещё не вычисленных
+     * результатов, завершаются ошибкой.
+     * */
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        requestExecutor.shutdown();
+        // Отброшенные задачи не завершат свои результаты, поэтому они завершаются здесь
+        computePool.shutdownNow();
+        cache.failPending(new RejectedExecutionException("Сервер остановлен"));
+    }
+
+    private Response analyze(HttpExchange exchange) throws IOException, InterruptedException {
+        var parameters = parameters(exchange);
+        var inputFormat = BulkParser.Format.valueOf(
+                parameters.getOrDefault("format", "binary").toUpperCase(Locale.ROOT));
+        List<String> lines;
+        switch (exchange.getRequestMethod()) {
+            case "GET" -> {
+                var function = parameters.get("function");
+                if (function == null) {
+                    throw new IllegalArgumentException("Не задан параметр function!");
+                }
+                lines = List.of(function);
+            }
+            case "POST" -> {
+                // Размер проверяется до чтения, и читается не больше предела, даже без Content-Length
+                var length = exchange.getRequestHeaders().getFirst("Content-Length");
+                if (length != null && Long.parseLong(length.strip()) > maxRequestBytes) {
+                    return tooLarge();
+                }
+                var body = exchange.getRequestBody().readNBytes(maxRequestBytes + 1);
+                if (body.length > maxRequestBytes) {
+                    return tooLarge();
+                }
+                lines = new String(body, StandardCharsets.ISO_8859_1)
+                        .lines()
+                        .filter(line -> !line.isBlank())
+                        .toList();
+            }
+            default -> {
+                return new Response(405, "Метод не поддерживается\n");
+            }
+        }
+
+        var functions = new ArrayList<BooleanFunction>(lines.size());
+        for (var line : lines) {
+            functions.add(BulkParser.parse(line.strip(), inputFormat));
+        }
+        var builder = new StringBuilder();
+        var header = format.header(columns);
+        if (header != null) {
+            builder.append(header).append('\n');
+        }
+        // Скользящее окно: впереди ожидаемого результата поставлено не больше window вычислений,
+        // поэтому большой запрос не переполняет очередь сам и считается параллельно
+        var futures = new ArrayList<CompletableFuture<AnalysisResult>>(functions.size());
+        for (int i = 0; i < functions.size(); i++) {
+            while (futures.size() < functions.size() && futures.size() - i < window) {
+                futures.add(analyze(functions.get(futures.size())));
+            }
+            AnalysisResult result;
+            try {
+                result = futures.get(i).get();
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            }
+            builder.append(format.format(new AnalysisResult(i, result.getVariablesCount(), result.getValues()), columns))
+                    .append('\n');
+        }
+        return new Response(200, builder.toString());
+    }
+
+    private Response tooLarge() {
+        return new Response(413, "Тело запроса больше " + maxRequestBytes + " байт\n");
+    }
+
+    private Response stats(HttpExchange exchange) {
+        return new Response(200, "{\"cache_size\":" + cache.size()
+                + ",\"cache_capacity\":" + cache.getCapacity()
+                + ",\"cache_words\":" + cache.words()
+                + ",\"hits\":" + cache.getHits()
+                + ",\"misses\":" + cache.getMisses()
+                + ",\"queued\":" + computePool.getQueue().size() + "}\n");
+    }
+
+    private static void handle(HttpExchange exchange, Handler handler) throws IOException {
+        Response response;
+        try {
+            response = handler.handle(exchange);
+        } catch (IllegalArgumentException e) {
+            response = new Response(400, e.getMessage() + "\n");
+        } catch (RejectedExecutionException e) {
+            response = new Response(503, "Сервер перегружен\n");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response = new Response(503, "Сервер останавливается\n");
+        } catch (CompletionException e) {
+            var cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof IllegalArgumentException) {
+                response = new Response(400, cause.getMessage() + "\n");
+            } else if (cause instanceof RejectedExecutionException) {
+                response = new Response(503, cause.getMessage() + "\n");
+            } else {
+                response = new Response(500, cause + "\n");
+            }
+        } catch (RuntimeException e) {
+            response = new Response(500, e + "\n");
+        }
+        var body = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, body.length);
+        try (var output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static Map<String, String> parameters(HttpExchange exchange) {
+        var result = new HashMap<String, String>();
+        var query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return result;
+        }
+        for (var pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                result.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Response handle(HttpExchange exchange) throws IOException, InterruptedException;
+    }
+
+    private record Response(int status, String body) {
+    }
+}
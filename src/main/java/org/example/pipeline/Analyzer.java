@@ -0,0 +1,99 @@
+package org.example.pipeline;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.example.functions.algos.DifferenceDistributionTable;
+import org.example.functions.algos.LinearApproximationTable;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Вычисляет выбранные характеристики функций, переиспользуя буферы между вызовами.
+ * Каждый спектр считается не более одного раза на функцию.
+ * Класс не потокобезопасен: в конвейере у каждого обработчика свой экземпляр.
+ * */
+public final class Analyzer {
+    private final EnumSet<Characteristic> characteristics;
+    private final boolean needsWalsh;
+    private final boolean needsAutocorrelation;
+    private final int columnCount;
+
+    private int[] walsh = new int[0];
+    private int[] autocorrelation = new int[0];
+    private long[] workspace = new long[0];
+    private long[] anf = new long[0];
+
+    /**
+     * @param characteristics вычисляемые характеристики
+     * */
+    public Analyzer(Set<Characteristic> characteristics) {
+        this.characteristics = EnumSet.copyOf(characteristics);
+        this.needsWalsh = this.characteristics.stream().anyMatch(Characteristic::needsWalsh);
+        this.needsAutocorrelation = this.characteristics.stream().anyMatch(Characteristic::needsAutocorrelation);
+        this.columnCount = columns().size();
+    }
+
+    /**
+     * @return имена столбцов результата
+     * */
+    public List<String> columns() {
+        var result = new ArrayList<String>();
+        characteristics.forEach(c -> result.addAll(c.getColumns()));
+        return result;
+    }
+
+    /**
+     * Анализирует функцию
+     * @param index порядковый номер функции
+     * @param function булева функция
+     * @return значения столбцов
+     * */
+    public AnalysisResult analyze(long index, BooleanFunction function) {
+        int n = function.getVariablesCount(), size = function.size();
+        ensureCapacity(function);
+        if (needsWalsh) {
+            Algorithms.walshTransform(function, walsh);
+        }
+        if (needsAutocorrelation) {
+            Algorithms.autocorrelationSpectrum(walsh, n, workspace, autocorrelation, null);
+        }
+
+        var values = new long[columnCount];
+        int column = 0;
+        for (var characteristic : characteristics) {
+            switch (characteristic) {
+                case WEIGHT -> values[column++] = function.weight();
+                case DEGREE -> values[column++] = Algorithms.algebraicDegree(
+                        Algorithms.moebiusTransform(function, anf), n);
+                case NONLINEARITY -> values[column++] = (size >> 1)
+                        - (new LinearApproximationTable(walsh, n).maxAbsolute() >> 1);
+                case AUTOCORRELATION -> {
+                    var indicators = Algorithms.autocorrelationIndicators(autocorrelation, n);
+                    values[column++] = indicators.getAbsoluteIndicator();
+                    values[column++] = indicators.getSumOfSquaresIndicator();
+                    values[column++] = indicators.getLinearStructures();
+                }
+                case DDT -> values[column++] = new DifferenceDistributionTable(autocorrelation, n).uniformity();
+                case LAT -> values[column++] = new LinearApproximationTable(walsh, n).maxAbsolute();
+            }
+        }
+        return new AnalysisResult(index, n, values);
+    }
+
+    private void ensureCapacity(BooleanFunction function) {
+        int size = function.size();
+        if (needsWalsh && walsh.length < size) {
+            walsh = new int[size];
+        }
+        if (needsAutocorrelation && autocorrelation.length < size) {
+            autocorrelation = new int[size];
+            workspace = new long[size];
+        }
+        if (anf.length < function.getWordCount()) {
+            anf = new long[function.getWordCount()];
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.pipeline;
+
+import lombok.Getter;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Характеристика, вычисляемая конвейером, и соответствующие ей столбцы вывода
+ * */
+@Getter
+public enum Characteristic {
+    WEIGHT(List.of("weight")),
+    DEGREE(List.of("degree")),
+    NONLINEARITY(List.of("nonlinearity")),
+    AUTOCORRELATION(List.of("absolute_indicator", "sum_of_squares_indicator", "linear_structures")),
+    DDT(List.of("differential_uniformity")),
+    LAT(List.of("linearity"));
+
+    private final List<String> columns;
+
+    Characteristic(List<String> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * @return true, если для характеристики нужен спектр Уолша
+     * */
+    boolean needsWalsh() {
+        return this != WEIGHT && this != DEGREE;
+    }
+
+    /**
+     * @return true, если для характеристики нужен спектр автокорреляции
+     * */
+    boolean needsAutocorrelation() {
+        return this == AUTOCORRELATION || this == DDT;
+    }
+
+    /**
+     * Разбирает список характеристик через запятую, например {@code weight,degree,lat}
+     * @param value строка со списком
+     * @return множество характеристик в порядке объявления
+     * @throws IllegalArgumentException если характеристика неизвестна
+     * */
+    public static EnumSet<Characteristic> parse(String value) {
+        var result = EnumSet.noneOf(Characteristic.class);
+        for (var name : value.split(",")) {
+            if (!name.isBlank()) {
+                result.add(valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("Не задано ни одной характеристики!");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.pipeline;
+
+import org.example.functions.BooleanFunction;
+import org.example.util.BulkParser;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Источник функций для конвейера: последовательно читает файлы через
+ * {@link BulkParser}, либо строки из потока ввода
+ * */
+public class FunctionSource implements Iterator<BooleanFunction>, Closeable {
+    private final Iterator<Path> files;
+    private final BufferedReader reader;
+    private final BulkParser.Format format;
+
+    private BulkParser current;
+    private BooleanFunction next;
+
+    private FunctionSource(List<Path> files, BufferedReader reader, BulkParser.Format format) {
+        this.files = files.iterator();
+        this.reader = reader;
+        this.format = format;
+    }
+
+    /**
+     * @param files файлы, по одной функции в строке
+     * @param format формат строк
+     * @return источник, открывающий файлы по мере чтения
+     * */
+    public static FunctionSource ofFiles(List<Path> files, BulkParser.Format format) {
+        return new FunctionSource(files, null, format);
+    }
+
+    /**
+     * @param reader поток ввода, по одной функции в строке
+     * @param format формат строк
+     * @return источник, читающий строки из потока
+     * */
+    public static FunctionSource ofReader(BufferedReader reader, BulkParser.Format format) {
+        return new FunctionSource(List.of(), reader, format);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null) {
+                if (reader != null) {
+                    var line = reader.readLine();
+                    if (line == null) {
+                        return false;
+                    }
+                    if (!line.isBlank()) {
+                        next = BulkParser.parse(line.strip(), format);
+                    }
+                } else if (current != null && current.hasNext()) {
+                    next = current.next();
+                } else if (files.hasNext()) {
+                    closeCurrent();
+                    current = BulkParser.open(files.next(), format);
+                } else {
+                    closeCurrent();
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public BooleanFunction next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var result = next;
+        next = null;
+        return result;
+    }
+
+    private void closeCurrent() throws IOException {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeCurrent();
+        if (reader != null) {
+            reader.close();
+        }
+    }
+}
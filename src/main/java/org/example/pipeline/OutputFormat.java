@@ -0,0 +1,62 @@
+package org.example.pipeline;
+
+import java.util.List;
+
+/**
+ * Формат вывода результатов анализа
+ * */
+public enum OutputFormat {
+    /**
+     * Один JSON-объект на строку
+     * */
+    NDJSON {
+        @Override
+        String header(List<String> columns) {
+            return null;
+        }
+
+        @Override
+        String format(AnalysisResult result, List<String> columns) {
+            var builder = new StringBuilder(32 + 24 * columns.size());
+            builder.append("{\"index\":").append(result.getIndex())
+                    .append(",\"n\":").append(result.getVariablesCount());
+            var values = result.getValues();
+            for (int i = 0; i < values.length; i++) {
+                builder.append(",\"").append(columns.get(i)).append("\":").append(values[i]);
+            }
+            return builder.append('}').toString();
+        }
+    },
+    /**
+     * Значения через запятую с заголовком
+     * */
+    CSV {
+        @Override
+        String header(List<String> columns) {
+            return "index,n," + String.join(",", columns);
+        }
+
+        @Override
+        String format(AnalysisResult result, List<String> columns) {
+            var builder = new StringBuilder(16 + 12 * columns.size());
+            builder.append(result.getIndex()).append(',').append(result.getVariablesCount());
+            for (long value : result.getValues()) {
+                builder.append(',').append(value);
+            }
+            return builder.toString();
+        }
+    };
+
+    /**
+     * @param columns имена столбцов
+     * @return строка заголовка, либо {@code null}, если формат без заголовка
+     * */
+    abstract String header(List<String> columns);
+
+    /**
+     * @param result результат анализа
+     * @param columns имена столбцов
+     * @return строка вывода без перевода строки
+     * */
+    abstract String format(AnalysisResult result, List<String> columns);
+}
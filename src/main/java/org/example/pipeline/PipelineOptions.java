@@ -0,0 +1,117 @@
+package org.example.pipeline;
+
+import lombok.Getter;
+import org.example.util.BulkParser;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Параметры командной строки для пакетного анализа и режима сервера
+ * */
+@Getter
+public final class PipelineOptions {
+    public static final String USAGE = """
+            Usage: java -jar java.jar [options] [files...]
+                   java -jar java.jar serve [options]
+              Читает функции из файлов (или stdin, если файлы не заданы), по одной в строке.
+              В режиме serve принимает функции по HTTP: GET /analyze?function=..., POST /analyze.
+              --format binary|hex             формат строк (binary)
+              --output ndjson|csv             формат вывода (ndjson)
+              --characteristics list          через запятую: weight,degree,nonlinearity,
+                                              autocorrelation,ddt,lat (все)
+              --threads N                     количество обработчиков (число ядер)
+              --queue N                       ёмкость очередей между стадиями (1024)
+              --buffer N                      объём непроанализированных функций в очередях, МиБ,
+                                              не больше 16383 (128)
+              --port N                        порт сервера (8080)
+              --cache N                       количество кэшируемых результатов сервера (65536)
+              --cache-memory N                объём функций в кэше сервера, МиБ (512)
+              --max-request N                 наибольший размер тела запроса к серверу, МиБ,
+                                              не больше 2047 (64)
+            """;
+
+    /**
+     * Количество слов вектора значений в одном МиБ
+     * */
+    private static final int WORDS_PER_MIB = (1 << 20) / Long.BYTES;
+
+    private BulkParser.Format inputFormat = BulkParser.Format.BINARY;
+    private OutputFormat outputFormat = OutputFormat.NDJSON;
+    private Set<Characteristic> characteristics = EnumSet.allOf(Characteristic.class);
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 1024;
+    private int bufferWords = AnalysisPipeline.DEFAULT_BUFFER_WORDS;
+    private int port = 8080;
+    private int cacheSize = 1 << 16;
+    private long cacheWords = AnalysisServer.DEFAULT_CACHE_WORDS;
+    private int maxRequestBytes = AnalysisServer.DEFAULT_MAX_REQUEST_BYTES;
+    private final List<Path> files = new ArrayList<>();
+
+    private PipelineOptions() {
+    }
+
+    /**
+     * Разбирает аргументы командной строки
+     * @param args аргументы
+     * @return параметры
+     * @throws IllegalArgumentException если аргументы некорректны
+     * */
+    public static PipelineOptions parse(String[] args) {
+        var result = new PipelineOptions();
+        for (int i = 0; i < args.length; i++) {
+            var arg = args[i];
+            if (!arg.startsWith("--")) {
+                result.files.add(Path.of(arg));
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Не задано значение для " + arg);
+            }
+            var value = args[++i];
+            switch (arg) {
+                case "--format" -> result.inputFormat = BulkParser.Format.valueOf(value.toUpperCase(Locale.ROOT));
+                case "--output" -> result.outputFormat = OutputFormat.valueOf(value.toUpperCase(Locale.ROOT));
+                case "--characteristics" -> result.characteristics = Characteristic.parse(value);
+                case "--threads" -> result.threads = parseInt(arg, value, 1, Integer.MAX_VALUE);
+                case "--queue" -> result.queueCapacity = parseInt(arg, value, 1, Integer.MAX_VALUE);
+                case "--buffer" -> result.bufferWords = parseInt(arg, value, 1, Integer.MAX_VALUE / WORDS_PER_MIB)
+                        * WORDS_PER_MIB;
+                case "--port" -> result.port = parseInt(arg, value, 0, 0xFFFF);
+                case "--cache" -> result.cacheSize = parseInt(arg, value, 1, Integer.MAX_VALUE);
+                case "--cache-memory" -> result.cacheWords = (long) parseInt(arg, value, 1, Integer.MAX_VALUE)
+                        * WORDS_PER_MIB;
+                case "--max-request" -> result.maxRequestBytes = parseInt(arg, value, 1, Integer.MAX_VALUE >> 20) << 20;
+                default -> throw new IllegalArgumentException("Неизвестный параметр " + arg);
+            }
+        }
+        return result;
+    }
+
+    private static int parseInt(String arg, String value, int min, int max) {
+        int result = Integer.parseInt(value);
+        if (result < min || result > max) {
+            throw new IllegalArgumentException("Значение " + arg + " должно быть от " + min + " до " + max);
+        }
+        return result;
+    }
+
+    /**
+     * @return конвейер с заданными параметрами
+     * */
+    public AnalysisPipeline createPipeline() {
+        return new AnalysisPipeline(characteristics, outputFormat, threads, queueCapacity, bufferWords);
+    }
+
+    /**
+     * @return сервер с заданными параметрами, ещё не запущенный
+     * */
+    public AnalysisServer createServer() {
+        return new AnalysisServer(characteristics, outputFormat, threads, queueCapacity, cacheSize, cacheWords,
+                maxRequestBytes);
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.pipeline;
+
+import org.example.functions.BooleanFunction;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Ограниченный по размеру кэш результатов анализа с вытеснением давно не использованных (LRU).
+ * Ключ - сама функция, т.е. хэш и сравнение вектора значений, поэтому кроме количества
+ * результатов ограничен и суммарный размер векторов значений ключей: несколько функций
+ * от 30 переменных заняли бы гигабайты задолго до предела количества. В кэше хранятся будущие
+ * результаты, поэтому одновременные запросы одной функции ждут одного вычисления.
+ * Неудачные вычисления из кэша удаляются. Для блокировки используется {@link ReentrantLock},
+ * а не {@code synchronized}, чтобы ожидающие виртуальные потоки не занимали потоки-носители.
+ * */
+public final class ResultCache {
+    private final int capacity;
+    private final long capacityWords;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<BooleanFunction, CompletableFuture<AnalysisResult>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    /**
+     * Суммарное количество слов векторов значений хранимых функций, изменяется под блокировкой
+     * */
+    private long words;
+
+    /**
+     * @param capacity максимальное количество хранимых результатов
+     * */
+    public ResultCache(int capacity) {
+        this(capacity, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param capacity максимальное количество хранимых результатов
+     * @param capacityWords максимальное суммарное количество слов векторов значений хранимых функций.
+     * Функция длиннее этого объёма вычисляется, но не кэшируется.
+     * */
+    public ResultCache(int capacity, long capacityWords) {
+        if (capacity < 1 || capacityWords < 1) {
+            throw new IllegalArgumentException("Размер кэша должен быть положительным!");
+        }
+        this.capacity = capacity;
+        this.capacityWords = capacityWords;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Возвращает результат из кэша или запускает его вычисление
+     * @param function булева функция
+     * @param loader запускает вычисление, вызывается вне блокировки не больше одного раза на промах
+     * @return будущий результат анализа
+     * */
+    public CompletableFuture<AnalysisResult> get(BooleanFunction function,
+                                                 Function<BooleanFunction, CompletableFuture<AnalysisResult>> loader) {
+        var result = new CompletableFuture<AnalysisResult>();
+        lock.lock();
+        try {
+            var cached = entries.get(function);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+            entries.put(function, result);
+            words += function.getWordCount();
+            evict();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            loader.apply(function).whenComplete((value, failure) -> {
+                if (failure == null) {
+                    result.complete(value);
+                } else {
+                    remove(function, result);
+                    result.completeExceptionally(failure);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Запросы, успевшие получить этот результат из кэша, не должны ждать его вечно
+            result.completeExceptionally(e);
+            remove(function, result);
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * Завершает с ошибкой и удаляет все ещё не вычисленные результаты
+     * @param failure ошибка, которую получат ожидающие
+     * */
+    public void failPending(Throwable failure) {
+        var pending = new ArrayList<CompletableFuture<AnalysisResult>>();
+        lock.lock();
+        try {
+            var iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                var entry = iterator.next();
+                if (!entry.getValue().isDone()) {
+                    pending.add(entry.getValue());
+                    words -= entry.getKey().getWordCount();
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Вне блокировки: завершение запускает зависимые действия
+        for (var future : pending) {
+            future.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * @return количество хранимых результатов, включая вычисляемые
+     * */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return суммарное количество слов векторов значений хранимых функций
+     * */
+    public long words() {
+        lock.lock();
+        try {
+            return words;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getCapacityWords() {
+        return capacityWords;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private void remove(BooleanFunction function, CompletableFuture<AnalysisResult> expected) {
+        lock.lock();
+        try {
+            if (entries.remove(function, expected)) {
+                words -= function.getWordCount();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Вытесняет давно не использованные результаты, пока не выполнены оба ограничения.
+     * Вызывается под блокировкой.
+     * */
+    private void evict() {
+        var iterator = entries.keySet().iterator();
+        while ((entries.size() > capacity || words > capacityWords) && iterator.hasNext()) {
+            words -= iterator.next().getWordCount();
+            iterator.remove();
+        }
+    }
+}
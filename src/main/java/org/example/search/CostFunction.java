@@ -0,0 +1,22 @@
+package org.example.search;
+
+import org.example.functions.algos.AnalysisState;
+
+import java.util.Set;
+
+/**
+ * Целевая функция эвристического поиска, меньшее значение лучше.
+ * Значение вычисляется по спектрам, которые {@link AnalysisState} поддерживает инкрементально.
+ * */
+public interface CostFunction {
+    /**
+     * @return спектры, которые должно поддерживать состояние поиска
+     * */
+    Set<AnalysisState.Spectrum> spectra();
+
+    /**
+     * @param state текущее состояние поиска
+     * @return стоимость текущей функции
+     * */
+    double cost(AnalysisState state);
+}
@@ -0,0 +1,153 @@
+package org.example.search;
+
+import org.example.functions.algos.AnalysisState;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Стандартные целевые функции для поиска функций с заданным криптографическим профилем
+ * */
+public final class CostFunctions {
+    private CostFunctions() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * Стоимость Кларка-Джейкоба {@code sum_a ||W(a)| - X|^R}. В отличие от нелинейности,
+     * она учитывает весь спектр, поэтому у ландшафта нет больших плато.
+     * @param x целевое значение модуля коэффициентов, обычно около {@code 2^(n/2)}
+     * @param r показатель степени, не меньше 1
+     * @return целевая функция
+     * */
+    public static CostFunction clarkJacob(int x, int r) {
+        if (r < 1) {
+            throw new IllegalArgumentException("Показатель степени должен быть положительным!");
+        }
+        return new SpectrumCost(EnumSet.of(AnalysisState.Spectrum.WALSH)) {
+            @Override
+            public double cost(AnalysisState state) {
+                double result = 0;
+                for (int value : state.walshSpectrum()) {
+                    double deviation = Math.abs(Math.abs(value) - x);
+                    double power = deviation;
+                    // Целая степень умножениями, Math.pow на горячем пути заметно медленнее
+                    for (int i = 1; i < r; i++) {
+                        power *= deviation;
+                    }
+                    result += power;
+                }
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Стоимость Кларка-Джейкоба с {@code X = 2^ceil(n/2)} и {@code R = 3}: для чётного n это
+     * амплитуда бент-функции {@code 2^(n/2)}, для нечётного - {@code 2^((n+1)/2)}, амплитуда
+     * почти бент-функций
+     * @param variablesCount количество переменных
+     * @return целевая функция
+     * */
+    public static CostFunction clarkJacob(int variablesCount) {
+        return clarkJacob(1 << ((variablesCount + 1) / 2), 3);
+    }
+
+    /**
+     * Стоимость, минимизирующая максимум {@code |W(a)|}, т.е. максимизирующая нелинейность.
+     * Среди функций с одинаковым максимумом лучше та, у которой он достигается реже.
+     * @return целевая функция
+     * */
+    public static CostFunction nonlinearity() {
+        return new SpectrumCost(EnumSet.of(AnalysisState.Spectrum.WALSH)) {
+            @Override
+            public double cost(AnalysisState state) {
+                return maxAbsolute(state.walshSpectrum(), 0);
+            }
+        };
+    }
+
+    /**
+     * Стоимость, минимизирующая абсолютный индикатор. Среди функций с одинаковым
+     * индикатором лучше та, у которой он достигается реже.
+     * @return целевая функция
+     * */
+    public static CostFunction absoluteIndicator() {
+        return new SpectrumCost(EnumSet.of(AnalysisState.Spectrum.AUTOCORRELATION)) {
+            @Override
+            public double cost(AnalysisState state) {
+                return maxAbsolute(state.autocorrelationSpectrum(), 1);
+            }
+        };
+    }
+
+    /**
+     * Стоимость, равная индикатору суммы квадратов
+     * @return целевая функция
+     * */
+    public static CostFunction sumOfSquares() {
+        return new SpectrumCost(EnumSet.of(AnalysisState.Spectrum.AUTOCORRELATION)) {
+            @Override
+            public double cost(AnalysisState state) {
+                double result = 0;
+                for (int value : state.autocorrelationSpectrum()) {
+                    result += (double) value * value;
+                }
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Взвешенная сумма целевых функций
+     * @param first первая целевая функция
+     * @param firstWeight её вес
+     * @param second вторая целевая функция
+     * @param secondWeight её вес
+     * @return целевая функция
+     * */
+    public static CostFunction combine(CostFunction first, double firstWeight,
+                                       CostFunction second, double secondWeight) {
+        var spectra = EnumSet.noneOf(AnalysisState.Spectrum.class);
+        spectra.addAll(first.spectra());
+        spectra.addAll(second.spectra());
+        return new SpectrumCost(spectra) {
+            @Override
+            public double cost(AnalysisState state) {
+                return firstWeight * first.cost(state) + secondWeight * second.cost(state);
+            }
+        };
+    }
+
+    /**
+     * @return {@code max * size + count}, где max - максимум модуля по индексам начиная с from,
+     * count - количество индексов, на которых он достигается
+     * */
+    private static double maxAbsolute(int[] spectrum, int from) {
+        int max = 0;
+        int count = 0;
+        for (int i = from; i < spectrum.length; i++) {
+            int value = Math.abs(spectrum[i]);
+            if (value > max) {
+                max = value;
+                count = 1;
+            } else if (value == max) {
+                count++;
+            }
+        }
+        return (double) max * spectrum.length + count;
+    }
+
+    private abstract static class SpectrumCost implements CostFunction {
+        private final Set<AnalysisState.Spectrum> spectra;
+
+        SpectrumCost(Set<AnalysisState.Spectrum> spectra) {
+            this.spectra = spectra;
+        }
+
+        @Override
+        public Set<AnalysisState.Spectrum> spectra() {
+            return EnumSet.copyOf(spectra);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package org.example.search;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.example.functions.algos.AnalysisState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Эвристический поиск сбалансированных булевых функций с малой стоимостью.
+ * Ход - обмен значений на наборах с {@code f(x) = 1} и {@code f(y) = 0}, поэтому баланс сохраняется,
+ * а спектры пересчитываются за {@code O(2^n)} через {@link AnalysisState}.
+ * Независимые перезапуски выполняются параллельно, результат перезапуска зависит только от его
+ * номера и базового зерна. Лучшая функция хранится в {@link AtomicReference} и обновляется без блокировок.
+ * */
+public class HeuristicSearch {
+    /**
+     * Количество вычислений, накапливаемых локально перед добавлением в общий счётчик
+     * */
+    private static final int EVALUATION_BATCH = 1024;
+
+    /**
+     * Количество пробных ходов для оценки начальной температуры
+     * */
+    private static final int TEMPERATURE_SAMPLES = 100;
+
+    private final SearchParameters parameters;
+    private final Consumer<SearchProgress> listener;
+    private final AtomicReference<Candidate> best = new AtomicReference<>();
+    private final LongAdder evaluations = new LongAdder();
+    private final AtomicInteger nextRestart = new AtomicInteger();
+    private final AtomicInteger completedRestarts = new AtomicInteger();
+    private volatile boolean stopped;
+    private volatile long startNanos;
+
+    /**
+     * @param parameters параметры поиска
+     * */
+    public HeuristicSearch(SearchParameters parameters) {
+        this(parameters, progress -> {
+        });
+    }
+
+    /**
+     * @param parameters параметры поиска
+     * @param listener вызывается из потока-обработчика при каждом улучшении лучшей функции
+     * */
+    public HeuristicSearch(SearchParameters parameters, Consumer<SearchProgress> listener) {
+        if (parameters.getVariablesCount() < 1 || parameters.getVariablesCount() > 30) {
+            throw new IllegalArgumentException("Количество переменных должно быть от 1 до 30!");
+        }
+        if (parameters.getCost() == null || parameters.getStrategy() == null) {
+            throw new IllegalArgumentException("Не задана целевая функция или стратегия!");
+        }
+        if (parameters.getRestarts() < 1 || parameters.getThreads() < 1 || parameters.getIterations() < 0
+                || parameters.getMovesPerTemperature() < 1) {
+            throw new IllegalArgumentException("Некорректные параметры поиска!");
+        }
+        this.parameters = parameters;
+        this.listener = listener;
+    }
+
+    /**
+     * Выполняет все перезапуски и ждёт их завершения
+     * @return лучшая найденная функция
+     * @throws IllegalStateException если поиск был остановлен до первого результата
+     * @throws InterruptedException если текущий поток был прерван
+     * */
+    public SearchResult run() throws InterruptedException {
+        startNanos = System.nanoTime();
+        int threads = Math.min(parameters.getThreads(), parameters.getRestarts());
+        var failure = new AtomicReference<RuntimeException>();
+        var workers = new ArrayList<Thread>(threads);
+        for (int i = 0; i < threads; i++) {
+            var worker = new Thread(() -> {
+                try {
+                    work();
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                    stopped = true;
+                }
+            }, "search-worker-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        try {
+            for (var worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            stopped = true;
+            throw e;
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        var candidate = best.get();
+        if (candidate == null) {
+            throw new IllegalStateException("Поиск остановлен до получения первого результата!");
+        }
+        var function = candidate.function;
+        return new SearchResult(function, candidate.cost,
+                Algorithms.nonlinearity(Algorithms.walshTransform(function)),
+                Algorithms.autocorrelationIndicators(function).getAbsoluteIndicator(),
+                progress());
+    }
+
+    /**
+     * Просит обработчики завершиться после текущего хода. Безопасно вызывать из любого потока.
+     * */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Возвращает снимок прогресса. Безопасно вызывать из любого потока во время поиска.
+     * Счётчик вычислений может отставать от точного значения на несколько тысяч.
+     * @return снимок прогресса
+     * */
+    public SearchProgress progress() {
+        var candidate = best.get();
+        long start = startNanos;
+        return new SearchProgress(evaluations.sum(), completedRestarts.get(),
+                candidate == null ? Double.POSITIVE_INFINITY : candidate.cost,
+                start == 0 ? 0 : System.nanoTime() - start);
+    }
+
+    private void work() {
+        int restart;
+        while (!stopped && (restart = nextRestart.getAndIncrement()) < parameters.getRestarts()) {
+            new Walker(new SplittableRandom(parameters.getSeed() + restart)).run();
+            completedRestarts.incrementAndGet();
+        }
+    }
+
+    /**
+     * Предлагает функцию как лучшую. Функция копируется, только если она лучше текущей лучшей.
+     * */
+    private void offer(AnalysisState state, double cost) {
+        var current = best.get();
+        if (current != null && current.cost <= cost) {
+            return;
+        }
+        var candidate = new Candidate(state.toFunction(), cost);
+        while (current == null || cost < current.cost) {
+            if (best.compareAndSet(current, candidate)) {
+                listener.accept(progress());
+                return;
+            }
+            current = best.get();
+        }
+    }
+
+    /**
+     * Один перезапуск: случайная сбалансированная функция и локальный поиск из неё
+     * */
+    private final class Walker {
+        private final SplittableRandom random;
+        private final CostFunction costFunction = parameters.getCost();
+        private final AnalysisState state;
+        /**
+         * Наборы, на которых функция равна 1 и 0 соответственно
+         * */
+        private final int[] ones;
+        private final int[] zeros;
+        private int pendingEvaluations;
+
+        Walker(SplittableRandom random) {
+            this.random = random;
+            int n = parameters.getVariablesCount();
+            int size = 1 << n;
+            var points = new int[size];
+            for (int i = 0; i < size; i++) {
+                points[i] = i;
+            }
+            // Перемешивание Фишера-Йетса, первая половина - единицы функции
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = points[i];
+                points[i] = points[j];
+                points[j] = t;
+            }
+            var words = new long[BooleanFunction.wordCount(n)];
+            for (int i = 0; i < size / 2; i++) {
+                words[points[i] >>> 6] |= 1L << points[i];
+            }
+            this.ones = Arrays.copyOfRange(points, 0, size / 2);
+            this.zeros = Arrays.copyOfRange(points, size / 2, size);
+            this.state = new AnalysisState(BooleanFunction.fromWords(words, n), costFunction.spectra());
+        }
+
+        void run() {
+            double cost = costFunction.cost(state);
+            offer(state, cost);
+            boolean annealing = parameters.getStrategy() == SearchStrategy.SIMULATED_ANNEALING;
+            double temperature = annealing ? initialTemperature(cost) : 0;
+            double bestCost = cost;
+            int moves = 0;
+
+            for (long iteration = 0; iteration < parameters.getIterations() && !stopped; iteration++) {
+                int i = random.nextInt(ones.length);
+                int j = random.nextInt(zeros.length);
+                state.swap(ones[i], zeros[j]);
+                double next = evaluate();
+                double delta = next - cost;
+                boolean accept = delta <= 0
+                        || annealing && random.nextDouble() < Math.exp(-delta / temperature);
+                if (accept) {
+                    state.commit();
+                    int t = ones[i];
+                    ones[i] = zeros[j];
+                    zeros[j] = t;
+                    cost = next;
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        offer(state, cost);
+                    }
+                } else {
+                    state.undo();
+                }
+                if (annealing && ++moves == parameters.getMovesPerTemperature()) {
+                    moves = 0;
+                    temperature *= parameters.getCoolingFactor();
+                }
+            }
+            evaluations.add(pendingEvaluations);
+        }
+
+        private double evaluate() {
+            if (++pendingEvaluations == EVALUATION_BATCH) {
+                evaluations.add(pendingEvaluations);
+                pendingEvaluations = 0;
+            }
+            return costFunction.cost(state);
+        }
+
+        /**
+         * Оценивает температуру, при которой средний ухудшающий ход принимается с вероятностью 1/2
+         * */
+        private double initialTemperature(double cost) {
+            if (parameters.getInitialTemperature() > 0) {
+                return parameters.getInitialTemperature();
+            }
+            double sum = 0;
+            int count = 0;
+            for (int k = 0; k < TEMPERATURE_SAMPLES; k++) {
+                state.swap(ones[random.nextInt(ones.length)], zeros[random.nextInt(zeros.length)]);
+                double delta = evaluate() - cost;
+                state.undo();
+                if (delta > 0) {
+                    sum += delta;
+                    count++;
+                }
+            }
+            return count == 0 ? 1 : sum / count / Math.log(2);
+        }
+    }
+
+    private record Candidate(BooleanFunction function, double cost) {
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.search;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Параметры эвристического поиска. Обязательны только количество переменных и целевая функция.
+ * */
+@Getter
+@Builder
+public final class SearchParameters {
+    private final int variablesCount;
+    private final CostFunction cost;
+    @Builder.Default
+    private final SearchStrategy strategy = SearchStrategy.SIMULATED_ANNEALING;
+    /**
+     * Количество независимых перезапусков
+     * */
+    @Builder.Default
+    private final int restarts = 1;
+    /**
+     * Количество ходов в одном перезапуске
+     * */
+    @Builder.Default
+    private final long iterations = 100_000;
+    @Builder.Default
+    private final int threads = Runtime.getRuntime().availableProcessors();
+    /**
+     * Базовое зерно, перезапуск i использует зерно {@code seed + i}
+     * */
+    @Builder.Default
+    private final long seed = 0;
+    /**
+     * Начальная температура отжига. Если не положительна, оценивается по случайным ходам так,
+     * чтобы в начале принималась примерно половина ухудшающих ходов.
+     * */
+    @Builder.Default
+    private final double initialTemperature = 0;
+    @Builder.Default
+    private final double coolingFactor = 0.95;
+    /**
+     * Количество ходов между понижениями температуры
+     * */
+    @Builder.Default
+    private final int movesPerTemperature = 400;
+}
@@ -0,0 +1,29 @@
+package org.example.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Снимок состояния поиска
+ * */
+@Getter
+@AllArgsConstructor
+public final class SearchProgress {
+    /**
+     * Количество вычислений целевой функции
+     * */
+    private final long evaluations;
+    private final int completedRestarts;
+    /**
+     * Лучшая найденная стоимость, либо {@link Double#POSITIVE_INFINITY}
+     * */
+    private final double bestCost;
+    private final long elapsedNanos;
+
+    /**
+     * @return средняя скорость поиска в вычислениях целевой функции в секунду
+     * */
+    public double evaluationsPerSecond() {
+        return elapsedNanos == 0 ? 0 : evaluations * 1e9 / elapsedNanos;
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.functions.BooleanFunction;
+
+/**
+ * Результат эвристического поиска
+ * */
+@Getter
+@AllArgsConstructor
+public final class SearchResult {
+    /**
+     * Лучшая найденная сбалансированная функция
+     * */
+    private final BooleanFunction function;
+    private final double cost;
+    private final int nonlinearity;
+    private final int absoluteIndicator;
+    private final SearchProgress progress;
+}
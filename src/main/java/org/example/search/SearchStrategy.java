@@ -0,0 +1,16 @@
+package org.example.search;
+
+/**
+ * Стратегия принятия ходов локального поиска
+ * */
+public enum SearchStrategy {
+    /**
+     * Принимаются только ходы, не увеличивающие стоимость
+     * */
+    HILL_CLIMBING,
+    /**
+     * Ухудшающие ходы принимаются с вероятностью {@code exp(-delta / T)},
+     * температура T убывает геометрически
+     * */
+    SIMULATED_ANNEALING
+}
@@ -0,0 +1,287 @@
+package org.example.util;
+
+import org.example.functions.BooleanFunction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Потоковый парсер больших наборов булевых функций.
+ * Файл отображается в память через {@link FileChannel#map} окнами, каждая строка
+ * задаёт одну функцию. Двоичные строки разбираются по восемь байт за раз прямо
+ * в упакованные слова, без промежуточных строк.
+ * */
+public class BulkParser implements Iterator<BooleanFunction>, Closeable {
+    /**
+     * Формат вектора значений в строке
+     * */
+    public enum Format {
+        /**
+         * Символы '0' и '1', i-й символ - значение на наборе i
+         * */
+        BINARY,
+        /**
+         * Шестнадцатеричная запись двоичной строки: старший бит первой цифры - значение на наборе 0
+         * */
+        HEX
+    }
+
+    /**
+     * Максимальный размер окна отображения
+     * */
+    private static final long WINDOW_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Каждый байт равен '0' или '1' тогда и только тогда, когда
+     * {@code (v & ASCII_MASK) == ASCII_ZEROS}
+     * */
+    private static final long ASCII_MASK = 0xFEFEFEFEFEFEFEFEL;
+    private static final long ASCII_ZEROS = 0x3030303030303030L;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    /**
+     * Множитель, собирающий младшие биты восьми байт в старший байт произведения
+     * */
+    private static final long GATHER = 0x0102040810204080L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+
+    /**
+     * Значения шестнадцатеричных цифр с обратным порядком бит, либо -1
+     * */
+    private static final byte[] HEX_DIGITS = new byte[256];
+
+    static {
+        Arrays.fill(HEX_DIGITS, (byte) -1);
+        var digits = "0123456789abcdef";
+        for (int d = 0; d < 16; d++) {
+            int reversed = Integer.reverse(d) >>> 28;
+            HEX_DIGITS[digits.charAt(d)] = (byte) reversed;
+            HEX_DIGITS[Character.toUpperCase(digits.charAt(d))] = (byte) reversed;
+        }
+    }
+
+    private final FileChannel channel;
+    private final Format format;
+    private final long fileSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long[] words = new long[1];
+    private BooleanFunction next;
+
+    private BulkParser(FileChannel channel, Format format) throws IOException {
+        this.channel = channel;
+        this.format = format;
+        this.fileSize = channel.size();
+    }
+
+    /**
+     * Открывает файл для потокового чтения функций
+     * @param file путь к файлу
+     * @param format формат строк
+     * @return итератор по функциям файла, который нужно закрыть
+     * @throws IOException если файл не удалось открыть
+     * */
+    public static BulkParser open(Path file, Format format) throws IOException {
+        return new BulkParser(FileChannel.open(file, StandardOpenOption.READ), format);
+    }
+
+    /**
+     * Возвращает поток функций файла. Поток нужно закрыть, например в try-with-resources.
+     * Ошибки ввода-вывода пробрасываются как {@link UncheckedIOException},
+     * некорректные строки - как {@link IllegalArgumentException}.
+     * @param file путь к файлу
+     * @param format формат строк
+     * @return поток булевых функций в порядке следования в файле
+     * @throws IOException если файл не удалось открыть
+     * */
+    public static Stream<BooleanFunction> stream(Path file, Format format) throws IOException {
+        var parser = open(file, format);
+        var spliterator = Spliterators.spliteratorUnknownSize(parser,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(parser::closeUnchecked);
+    }
+
+    /**
+     * Разбирает одну строку тем же ядром, что и файлы
+     * @param line строка с вектором значений
+     * @param format формат строки
+     * @return булева функция
+     * @throws IllegalArgumentException если строка не представляет булеву функцию
+     * */
+    public static BooleanFunction parse(String line, Format format) {
+        var bytes = ByteBuffer.wrap(line.getBytes(StandardCharsets.ISO_8859_1)).order(ByteOrder.LITTLE_ENDIAN);
+        var words = new long[Math.max(1, (bytes.limit() * 4 + 63) >>> 6)];
+        return toFunction(words, parseLine(bytes, 0, bytes.limit(), format, words));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public BooleanFunction next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private void closeUnchecked() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private BooleanFunction readNext() throws IOException {
+        while (position < fileSize) {
+            long end = findLineEnd();
+            int from = (int) (position - windowStart);
+            int to = (int) (end - windowStart);
+            position = end + 1;
+            // Пропускаем '\r' и пустые строки
+            if (to > from && window.get(to - 1) == '\r') {
+                to--;
+            }
+            if (to == from) {
+                continue;
+            }
+            int capacity = format == Format.BINARY ? (to - from + 63) >>> 6 : ((to - from) * 4 + 63) >>> 6;
+            if (words.length < capacity) {
+                words = new long[Integer.highestOneBit(capacity - 1) << 1];
+            } else {
+                Arrays.fill(words, 0, capacity, 0L);
+            }
+            return toFunction(words, parseLine(window, from, to, format, words));
+        }
+        return null;
+    }
+
+    /**
+     * Находит конец строки, начинающейся с {@code position}, при необходимости
+     * переотображая окно так, чтобы строка поместилась в него целиком
+     * @return смещение символа '\n' в файле, либо размер файла
+     * */
+    private long findLineEnd() throws IOException {
+        if (window == null || position < windowStart || position >= windowStart + window.limit()) {
+            map(position);
+        }
+        while (true) {
+            int limit = window.limit();
+            int i = (int) (position - windowStart);
+            // Поиск '\n' по восемь байт: байт равен нулю после XOR тогда и только тогда,
+            // когда он был переводом строки
+            for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+                long chunk = window.getLong(i) ^ NEWLINES;
+                long zeros = (chunk - LOW_BITS) & ~chunk & HIGH_BITS;
+                if (zeros != 0) {
+                    return windowStart + i + (Long.numberOfTrailingZeros(zeros) >>> 3);
+                }
+            }
+            for (; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    return windowStart + i;
+                }
+            }
+            if (windowStart + limit >= fileSize) {
+                return fileSize;
+            }
+            if (position == windowStart) {
+                throw new IllegalArgumentException("Строка длиннее окна отображения!");
+            }
+            map(position);
+        }
+    }
+
+    private void map(long start) throws IOException {
+        long size = Math.min(WINDOW_SIZE, fileSize - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        windowStart = start;
+    }
+
+    /**
+     * Разбирает байты {@code [from, to)} в упакованные слова
+     * @return количество разобранных бит
+     * */
+    private static long parseLine(ByteBuffer buffer, int from, int to, Format format, long[] words) {
+        return format == Format.BINARY
+                ? parseBinary(buffer, from, to, words)
+                : parseHex(buffer, from, to, words);
+    }
+
+    private static long parseBinary(ByteBuffer buffer, int from, int to, long[] words) {
+        int i = from;
+        long bit = 0;
+        // По восемь символов за раз: проверка маской и сборка младших бит умножением
+        for (; i + Long.BYTES <= to; i += Long.BYTES, bit += Long.BYTES) {
+            long chunk = buffer.getLong(i);
+            if ((chunk & ASCII_MASK) != ASCII_ZEROS) {
+                throw new IllegalArgumentException("Wrong line!");
+            }
+            long gathered = ((chunk & LOW_BITS) * GATHER) >>> 56;
+            words[(int) (bit >>> 6)] |= gathered << bit;
+        }
+        for (; i < to; i++, bit++) {
+            byte symbol = buffer.get(i);
+            if (symbol != '0' && symbol != '1') {
+                throw new IllegalArgumentException("Wrong line!");
+            }
+            words[(int) (bit >>> 6)] |= (long) (symbol - '0') << bit;
+        }
+        return bit;
+    }
+
+    private static long parseHex(ByteBuffer buffer, int from, int to, long[] words) {
+        long bit = 0;
+        for (int i = from; i < to; i++, bit += 4) {
+            int digit = HEX_DIGITS[buffer.get(i) & 0xFF];
+            if (digit < 0) {
+                throw new IllegalArgumentException("Wrong line!");
+            }
+            words[(int) (bit >>> 6)] |= (long) digit << bit;
+        }
+        return bit;
+    }
+
+    private static BooleanFunction toFunction(long[] words, long length) {
+        if (Long.bitCount(length) != 1) {
+            throw new IllegalArgumentException("Wrong line!");
+        }
+        return BooleanFunction.fromWords(words, Long.numberOfTrailingZeros(length));
+    }
+}
@@ -1,10 +1,13 @@
 package org.example.util;
 
 import org.example.functions.BooleanFunction;
+import org.example.functions.CubeList;
+import org.example.functions.MonomialList;
 import org.example.functions.algos.Algorithms;
+import org.example.metrics.Metrics;
+import org.example.metrics.Operation;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -23,13 +26,23 @@ public class Converter {
      * отрицательная, если она входит с отрицанием
      * */
     public static List<List<Integer>> valueVectorToDNF(BooleanFunction function) {
-        var result = new ArrayList<List<Integer>>();
-        var bits = function.getBits();
+        var probe = Metrics.start(Operation.DNF, function.getVariablesCount());
+        try {
+            return dnf(function);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    private static List<List<Integer>> dnf(BooleanFunction function) {
+        var result = new ArrayList<List<Integer>>(function.weight());
         var variablesCount = function.getVariablesCount();
 
-        for (int i = 0; i < bits.length(); i++) {
-            if (bits.get(i)) {
-                var disjunct = new ArrayList<Integer>();
+        for (int w = 0; w < function.getWordCount(); w++) {
+            // Перебираем только единичные биты слова
+            for (long word = function.getWord(w); word != 0; word &= word - 1) {
+                int i = (w << 6) | Long.numberOfTrailingZeros(word);
+                var disjunct = new ArrayList<Integer>(variablesCount);
                 for (int j = variablesCount - 1; j >= 0; j--) {
                     if ((~i & (1 << j)) != 0) {
                         disjunct.add(variablesCount - j);
@@ -52,13 +65,28 @@ public class Converter {
      * отрицательная, если она входит с отрицанием
      * */
     public static List<List<Integer>> valueVectorToCNF(BooleanFunction function) {
-        var result = new ArrayList<List<Integer>>();
-        var bits = function.getBits();
+        var probe = Metrics.start(Operation.CNF, function.getVariablesCount());
+        try {
+            return cnf(function);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    private static List<List<Integer>> cnf(BooleanFunction function) {
+        var result = new ArrayList<List<Integer>>(function.size() - function.weight());
         var variablesCount = function.getVariablesCount();
+        var lastWord = function.getWordCount() - 1;
 
-        for (int i = 0; i < bits.length(); i++) {
-            if (!bits.get(i)) {
-                var disjunct = new ArrayList<Integer>();
+        for (int w = 0; w <= lastWord; w++) {
+            // Перебираем только нулевые биты слова в пределах вектора значений
+            long zeros = ~function.getWord(w);
+            if (w == lastWord) {
+                zeros &= BooleanFunction.tailMask(variablesCount);
+            }
+            for (; zeros != 0; zeros &= zeros - 1) {
+                int i = (w << 6) | Long.numberOfTrailingZeros(zeros);
+                var disjunct = new ArrayList<Integer>(variablesCount);
                 for (int j = variablesCount - 1; j >= 0; j--) {
                     if ((~i & (1 << j)) != 0) {
                         disjunct.add(-(variablesCount - j));
@@ -78,27 +106,56 @@ public class Converter {
      * @param function Bitset, представляющий вектор значений булевой функции
      * @return Список списков, представляющий АНФ, где каждый элемент списка -
      * это список номеров переменных в одном из дизъюнктов
+     * @see #valueVectorToANFMonomials
      * */
     public static List<List<Integer>> valueVectorToANF(BooleanFunction function) {
-        var coeffs = Algorithms.moebiusTransform(function);
-        int n = function.getVariablesCount();
+        return valueVectorToANFMonomials(function).toList();
+    }
 
-        List<List<Integer>> result = new ArrayList<>();
-        for (int bit = coeffs.nextSetBit(0); bit >= 0; bit = coeffs.nextSetBit(bit + 1)) {
-            int idx = bit - 1;
-            // idx == -1  -> пустой список -> константа 1
-            if (idx < 0) {
-                result.add(Collections.emptyList());
-            } else {
-                List<Integer> monomial = new ArrayList<>();
-                for (int j = 0; j < n; j++) {
-                    if (((idx >> j) & 1) != 0) {
-                        monomial.add(j + 1);
-                    }
-                }
-                result.add(monomial);
-            }
+    /**
+     * Конвертирует булеву функцию в АНФ в компактном виде: мономы - маски переменных
+     * @param function булева функция
+     * @return мономы АНФ в порядке возрастания масок
+     * */
+    public static MonomialList valueVectorToANFMonomials(BooleanFunction function) {
+        var probe = Metrics.start(Operation.ANF, function.getVariablesCount());
+        try {
+            var coeffs = Algorithms.moebiusTransform(function, new long[function.getWordCount()]);
+            return MonomialList.fromCoefficients(coeffs, function.getVariablesCount());
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Конвертирует булеву функцию в совершенную ДНФ в компактном виде. Нумерация переменных
+     * отличается от {@link #valueVectorToDNF}, списочная форма - {@link CubeList#toDNFList()}
+     * @param function булева функция
+     * @return конъюнкты - полностью определённые кубы наборов, на которых функция равна 1
+     * */
+    public static CubeList valueVectorToDNFCubes(BooleanFunction function) {
+        var probe = Metrics.start(Operation.DNF, function.getVariablesCount());
+        try {
+            return CubeList.points(function, true);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Конвертирует булеву функцию в совершенную КНФ в компактном виде. Дизъюнкт задаётся
+     * кубом, на котором он равен 0: переменные входят в него с отрицанием там,
+     * где бит value равен 1. Нумерация переменных отличается от {@link #valueVectorToCNF},
+     * списочная форма - {@link CubeList#toCNFList()}
+     * @param function булева функция
+     * @return кубы наборов, на которых функция равна 0
+     * */
+    public static CubeList valueVectorToCNFCubes(BooleanFunction function) {
+        var probe = Metrics.start(Operation.CNF, function.getVariablesCount());
+        try {
+            return CubeList.points(function, false);
+        } finally {
+            probe.stop();
         }
-        return result;
     }
 }
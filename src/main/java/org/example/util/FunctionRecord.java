@@ -0,0 +1,94 @@
+package org.example.util;
+
+import lombok.Getter;
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Characteristics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Optional;
+
+/**
+ * Запись двоичного хранилища функций. Спектры доступны как представления
+ * отображённого в память файла без копирования.
+ * @see FunctionStore
+ * */
+public final class FunctionRecord {
+    @Getter
+    private final int variablesCount;
+    @Getter
+    private final int flags;
+    private final ByteBuffer table;
+    private final IntBuffer walshSpectrum;
+    private final IntBuffer autocorrelationSpectrum;
+    private final Characteristics characteristics;
+
+    /**
+     * @param record буфер, позиция которого указывает на начало записи, а предел - на её конец
+     * */
+    FunctionRecord(ByteBuffer record) {
+        var buffer = record.slice().order(ByteOrder.LITTLE_ENDIAN);
+        this.variablesCount = buffer.get(8);
+        this.flags = buffer.get(9);
+        int n = variablesCount;
+        int offset = FunctionStore.RECORD_HEADER_SIZE;
+
+        this.table = slice(buffer, offset, (int) FunctionStore.tableSize(n));
+        offset += (int) FunctionStore.tableSize(n);
+
+        if ((flags & FunctionStore.WALSH) != 0) {
+            this.walshSpectrum = slice(buffer, offset, Integer.BYTES << n).asIntBuffer();
+            offset += (int) FunctionStore.spectrumSize(n);
+        } else {
+            this.walshSpectrum = null;
+        }
+        if ((flags & FunctionStore.AUTOCORRELATION) != 0) {
+            this.autocorrelationSpectrum = slice(buffer, offset, Integer.BYTES << n).asIntBuffer();
+            offset += (int) FunctionStore.spectrumSize(n);
+        } else {
+            this.autocorrelationSpectrum = null;
+        }
+        if ((flags & FunctionStore.CHARACTERISTICS) != 0) {
+            this.characteristics = new Characteristics(buffer.getInt(offset), buffer.getInt(offset + 4),
+                    buffer.getInt(offset + 8), buffer.getInt(offset + 12),
+                    buffer.getLong(offset + 24), buffer.getInt(offset + 16));
+        } else {
+            this.characteristics = null;
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+        return buffer.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return булева функция, вектор значений копируется в кучу
+     * */
+    public BooleanFunction getFunction() {
+        var words = new long[BooleanFunction.wordCount(variablesCount)];
+        table.asLongBuffer().get(0, words);
+        return BooleanFunction.fromWords(words, variablesCount);
+    }
+
+    /**
+     * @return спектр Уолша без копирования, если он был сохранён
+     * */
+    public Optional<IntBuffer> getWalshSpectrum() {
+        return Optional.ofNullable(walshSpectrum).map(IntBuffer::duplicate);
+    }
+
+    /**
+     * @return спектр автокорреляции без копирования, если он был сохранён
+     * */
+    public Optional<IntBuffer> getAutocorrelationSpectrum() {
+        return Optional.ofNullable(autocorrelationSpectrum).map(IntBuffer::duplicate);
+    }
+
+    /**
+     * @return скалярные характеристики, если они были сохранены
+     * */
+    public Optional<Characteristics> getCharacteristics() {
+        return Optional.ofNullable(characteristics);
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.util;
+
+import org.example.functions.BooleanFunction;
+
+/**
+ * Описание двоичного формата хранения булевых функций и их спектров.
+ * Все числа записываются в порядке little-endian, все секции выровнены по 8 байт.
+ * <pre>
+ * Заголовок файла (16 байт):
+ *   int   MAGIC
+ *   short VERSION
+ *   short зарезервировано
+ *   long  зарезервировано
+ * Запись:
+ *   long  длина записи в байтах, включая заголовок
+ *   byte  количество переменных n
+ *   byte  флаги секций
+ *   6 байт зарезервировано
+ *   long[max(1, 2^(n-6))]           упакованный вектор значений
+ *   int[2^n]                          спектр Уолша, если установлен {@link #WALSH}
+ *   int[2^n]                          спектр автокорреляции, если установлен {@link #AUTOCORRELATION}
+ *   int weight, degree, nonlinearity, absoluteIndicator, linearStructures, 0;
+ *   long sumOfSquaresIndicator        если установлен {@link #CHARACTERISTICS}
+ * </pre>
+ * Файл только дописывается, поэтому оборванная последняя запись не портит предыдущие.
+ * Запись не длиннее {@link #MAX_RECORD_SIZE} байт, т.е. функции с обоими спектрами
+ * хранятся до n = 27, с одним спектром - до n = 28, без спектров - до n = 33.
+ * */
+public final class FunctionStore {
+    /**
+     * Сигнатура файла, "BFCS" в little-endian
+     * */
+    public static final int MAGIC = 0x53434642;
+    public static final short VERSION = 1;
+    public static final int FILE_HEADER_SIZE = 16;
+    public static final int RECORD_HEADER_SIZE = 16;
+    public static final int CHARACTERISTICS_SIZE = 32;
+    /**
+     * Наибольшая длина записи: запись читается целиком из одного окна отображения файла
+     * */
+    public static final long MAX_RECORD_SIZE = Integer.MAX_VALUE & ~7L;
+
+    /**
+     * Флаг секции со спектром Уолша
+     * */
+    public static final int WALSH = 1;
+    /**
+     * Флаг секции со спектром автокорреляции
+     * */
+    public static final int AUTOCORRELATION = 1 << 1;
+    /**
+     * Флаг секции со скалярными характеристиками
+     * */
+    public static final int CHARACTERISTICS = 1 << 2;
+
+    private FunctionStore() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * @param variablesCount количество переменных
+     * @return размер секции вектора значений в байтах
+     * */
+    static long tableSize(int variablesCount) {
+        return (long) BooleanFunction.wordCount(variablesCount) * Long.BYTES;
+    }
+
+    /**
+     * @param variablesCount количество переменных
+     * @return размер секции спектра в байтах с выравниванием
+     * */
+    static long spectrumSize(int variablesCount) {
+        return align((long) Integer.BYTES << variablesCount);
+    }
+
+    /**
+     * @param variablesCount количество переменных
+     * @param flags флаги секций
+     * @return полный размер записи в байтах
+     * */
+    static long recordSize(int variablesCount, int flags) {
+        long result = RECORD_HEADER_SIZE + tableSize(variablesCount);
+        if ((flags & WALSH) != 0) {
+            result += spectrumSize(variablesCount);
+        }
+        if ((flags & AUTOCORRELATION) != 0) {
+            result += spectrumSize(variablesCount);
+        }
+        if ((flags & CHARACTERISTICS) != 0) {
+            result += CHARACTERISTICS_SIZE;
+        }
+        return result;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Читает двоичное хранилище функций через отображение файла в память.
+ * Файл отображается окнами до 2 ГиБ; записи и их спектры возвращаются как
+ * представления окна без копирования и остаются действительными после перехода
+ * к следующим записям.
+ * @see FunctionStore
+ * */
+public class FunctionStoreReader implements Iterator<FunctionRecord>, Closeable {
+    private static final long WINDOW_SIZE = FunctionStore.MAX_RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final long fileSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position = FunctionStore.FILE_HEADER_SIZE;
+
+    private FunctionStoreReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+    }
+
+    /**
+     * Открывает хранилище для чтения
+     * @param file путь к файлу
+     * @return читатель записей, который нужно закрыть
+     * @throws IOException если файл не удалось открыть или он имеет другой формат
+     * */
+    public static FunctionStoreReader open(Path file) throws IOException {
+        var channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            checkHeader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return new FunctionStoreReader(channel);
+    }
+
+    /**
+     * Проверяет сигнатуру и версию файла
+     * @param channel канал, открытый на чтение
+     * @throws IOException если заголовок не прочитан или не соответствует формату
+     * */
+    static void checkHeader(FileChannel channel) throws IOException {
+        var header = ByteBuffer.allocate(FunctionStore.FILE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Файл слишком короткий для хранилища функций!");
+            }
+        }
+        if (header.getInt(0) != FunctionStore.MAGIC) {
+            throw new IOException("Файл не является хранилищем функций!");
+        }
+        if (header.getShort(4) != FunctionStore.VERSION) {
+            throw new IOException("Неподдерживаемая версия хранилища: " + header.getShort(4));
+        }
+    }
+
+    /**
+     * Находит конец последней целой записи, проходя по длинам записей
+     * @param channel канал с проверенным заголовком
+     * @return длина файла без оборванной последней записи
+     * @throws IOException если файл не удалось прочитать
+     * */
+    static long completeLength(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        long position = FunctionStore.FILE_HEADER_SIZE;
+        var length = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (fileSize - position >= FunctionStore.RECORD_HEADER_SIZE) {
+            length.clear();
+            while (length.hasRemaining()) {
+                if (channel.read(length, position + length.position()) < 0) {
+                    return position;
+                }
+            }
+            long size = length.getLong(0);
+            if (size < FunctionStore.RECORD_HEADER_SIZE || size > fileSize - position) {
+                break;
+            }
+            position += size;
+        }
+        return position;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < fileSize;
+    }
+
+    /**
+     * @return следующая запись
+     * @throws IllegalStateException если последняя запись оборвана
+     * */
+    @Override
+    public FunctionRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (fileSize - position < FunctionStore.RECORD_HEADER_SIZE) {
+            throw new IllegalStateException("Оборванная запись по смещению " + position);
+        }
+        try {
+            ensureMapped(position, FunctionStore.RECORD_HEADER_SIZE);
+            long size = window.getLong((int) (position - windowStart));
+            if (size < FunctionStore.RECORD_HEADER_SIZE || position + size > fileSize) {
+                throw new IllegalStateException("Оборванная запись по смещению " + position);
+            }
+            ensureMapped(position, size);
+            int offset = (int) (position - windowStart);
+            var record = new FunctionRecord(window.slice(offset, (int) size));
+            position += size;
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void ensureMapped(long start, long length) throws IOException {
+        if (window != null && start >= windowStart && start + length <= windowStart + window.limit()) {
+            return;
+        }
+        if (length > WINDOW_SIZE) {
+            throw new IllegalStateException("Запись больше окна отображения!");
+        }
+        long size = Math.min(Math.max(WINDOW_SIZE, length), fileSize - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        windowStart = start;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.util;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Characteristics;
+import org.example.functions.algos.FunctionProfile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Дописывает записи в двоичное хранилище функций. Записи накапливаются в буфере
+ * и сбрасываются в файл пачками, поэтому запись миллионов небольших функций
+ * не требует системного вызова на каждую.
+ * Класс не потокобезопасен.
+ * @see FunctionStore
+ * */
+public class FunctionStoreWriter implements Closeable {
+    /**
+     * Размер буфера пачки по умолчанию
+     * */
+    public static final int DEFAULT_BATCH_SIZE = 8 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer batch;
+
+    private FunctionStoreWriter(FileChannel channel, int batchSize) {
+        this.channel = channel;
+        this.batch = ByteBuffer.allocateDirect(batchSize).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Открывает файл для дозаписи, создавая его с заголовком при необходимости
+     * @param file путь к файлу
+     * @return писатель
+     * @throws IOException если файл не удалось открыть или он имеет другой формат
+     * */
+    public static FunctionStoreWriter open(Path file) throws IOException {
+        return open(file, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Открывает файл для дозаписи, создавая его с заголовком при необходимости.
+     * Оборванная последняя запись, оставшаяся после сбоя, удаляется.
+     * @param file путь к файлу
+     * @param batchSize размер буфера пачки в байтах
+     * @return писатель
+     * @throws IOException если файл не удалось открыть или он имеет другой формат
+     * */
+    public static FunctionStoreWriter open(Path file, int batchSize) throws IOException {
+        var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            var header = ByteBuffer.allocate(FunctionStore.FILE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() == 0) {
+                header.putInt(FunctionStore.MAGIC).putShort(FunctionStore.VERSION).flip();
+                header.limit(FunctionStore.FILE_HEADER_SIZE);
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+            } else {
+                FunctionStoreReader.checkHeader(channel);
+                // Оборванная при сбое последняя запись отбрасывается, иначе новые записи окажутся за ней
+                long complete = FunctionStoreReader.completeLength(channel);
+                if (complete < channel.size()) {
+                    channel.truncate(complete);
+                }
+            }
+            // Записи только дописываются в конец файла
+            channel.position(channel.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return new FunctionStoreWriter(channel, batchSize);
+    }
+
+    /**
+     * Дописывает функцию со всеми характеристиками из профиля
+     * @param profile профиль функции
+     * @throws IOException если произошло исключение IO
+     * */
+    public void append(FunctionProfile profile) throws IOException {
+        append(profile.getFunction(), profile.walshSpectrum(), profile.autocorrelationSpectrum(),
+                profile.characteristics());
+    }
+
+    /**
+     * Дописывает функцию с необязательными секциями
+     * @param function булева функция
+     * @param walshSpectrum спектр Уолша, либо {@code null}
+     * @param autocorrelationSpectrum спектр автокорреляции, либо {@code null}
+     * @param characteristics скалярные характеристики, либо {@code null}
+     * @throws IOException если произошло исключение IO
+     * @throws IllegalArgumentException если длина спектра не равна {@code 2^n}
+     * или запись длиннее {@link FunctionStore#MAX_RECORD_SIZE}
+     * */
+    public void append(BooleanFunction function, int[] walshSpectrum, int[] autocorrelationSpectrum,
+                       Characteristics characteristics) throws IOException {
+        int n = function.getVariablesCount();
+        int flags = (walshSpectrum != null ? FunctionStore.WALSH : 0)
+                | (autocorrelationSpectrum != null ? FunctionStore.AUTOCORRELATION : 0)
+                | (characteristics != null ? FunctionStore.CHARACTERISTICS : 0);
+        long size = FunctionStore.recordSize(n, flags);
+        if (size > FunctionStore.MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Запись длиной " + size + " байт больше допустимой!");
+        }
+        // Проверка до записи: заголовок с неверным содержимым испортил бы все следующие записи
+        checkSpectrum(walshSpectrum, n);
+        checkSpectrum(autocorrelationSpectrum, n);
+
+        var target = batch;
+        if (size > batch.remaining()) {
+            flush();
+            if (size > batch.capacity()) {
+                // Запись больше пачки пишется отдельным буфером
+                target = ByteBuffer.allocateDirect((int) size).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+
+        int start = target.position();
+        try {
+            target.putLong(size).put((byte) n).put((byte) flags).putShort((short) 0).putInt(0);
+            for (int w = 0; w < function.getWordCount(); w++) {
+                target.putLong(function.getWord(w));
+            }
+            if (walshSpectrum != null) {
+                putSpectrum(target, walshSpectrum, n);
+            }
+            if (autocorrelationSpectrum != null) {
+                putSpectrum(target, autocorrelationSpectrum, n);
+            }
+            if (characteristics != null) {
+                target.putInt(characteristics.getWeight())
+                        .putInt(characteristics.getAlgebraicDegree())
+                        .putInt(characteristics.getNonlinearity())
+                        .putInt(characteristics.getAbsoluteIndicator())
+                        .putInt(characteristics.getLinearStructures())
+                        .putInt(0)
+                        .putLong(characteristics.getSumOfSquaresIndicator());
+            }
+        } catch (RuntimeException e) {
+            // Недописанная запись убирается из пачки
+            target.position(start);
+            throw e;
+        }
+        assert target.position() - start == size;
+
+        if (target != batch) {
+            target.flip();
+            writeFully(target);
+        }
+    }
+
+    private static void checkSpectrum(int[] spectrum, int variablesCount) {
+        if (spectrum != null && spectrum.length != 1 << variablesCount) {
+            throw new IllegalArgumentException("Длина спектра должна быть равна 2^n!");
+        }
+    }
+
+    private static void putSpectrum(ByteBuffer target, int[] spectrum, int variablesCount) {
+        int length = 1 << variablesCount;
+        target.asIntBuffer().put(spectrum, 0, length);
+        target.position(target.position() + Integer.BYTES * length);
+        if (length == 1) {
+            // Выравнивание единственного коэффициента до 8 байт
+            target.putInt(0);
+        }
+    }
+
+    /**
+     * Сбрасывает накопленную пачку в файл
+     * @throws IOException если произошло исключение IO
+     * */
+    public void flush() throws IOException {
+        batch.flip();
+        writeFully(batch);
+        batch.clear();
+    }
+
+    /**
+     * Сбрасывает пачку и дожидается записи данных на диск, фиксируя контрольную точку
+     * @throws IOException если произошло исключение IO
+     * */
+    public void checkpoint() throws IOException {
+        flush();
+        channel.force(false);
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -5,8 +5,6 @@ import org.example.functions.BooleanFunction;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.BitSet;
-import java.util.regex.Pattern;
 
 /**
  * Парсер для ввода булевых функций
@@ -15,8 +13,6 @@ import java.util.regex.Pattern;
 public class Parser {
     private final BufferedReader reader;
 
-    private static final String LINE_PATTERN = "^[01]+$";
-
     /**
      * Читает строку, которая задаёт булеву функцию в виде вектора.
      * @return Bitset, представляющий булеву функцию
@@ -27,17 +23,11 @@ public class Parser {
         var line = reader.readLine();
 
         int number = returnVariableNumber(line);
-        if(!Pattern.matches(LINE_PATTERN, line) || number == -1) {
+        if(number == -1) {
             throw new IllegalArgumentException("Wrong line!");
         }
 
-        var result = new BitSet(line.length());
-        for (int i = 0; i < line.length(); i++) {
-            if (line.charAt(i) == '1') {
-                result.set(i);
-            }
-        }
-        return new BooleanFunction(result, number);
+        return BulkParser.parse(line, BulkParser.Format.BINARY);
     }
 
     /**
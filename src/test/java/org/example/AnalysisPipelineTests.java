@@ -0,0 +1,108 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.example.pipeline.AnalysisPipeline;
+import org.example.pipeline.Characteristic;
+import org.example.pipeline.OutputFormat;
+import org.example.pipeline.PipelineOptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AnalysisPipelineTests {
+
+    @Test
+    void testCsvOutputMatchesAlgorithms() throws Exception {
+        var random = new Random(11);
+        var functions = new ArrayList<BooleanFunction>();
+        for (int i = 0; i < 500; i++) {
+            functions.add(BooleanFunction.fromWords(random.longs(4).toArray(), random.nextInt(9)));
+        }
+        var pipeline = new AnalysisPipeline(EnumSet.of(Characteristic.WEIGHT, Characteristic.DEGREE,
+                Characteristic.NONLINEARITY), OutputFormat.CSV, 3, 4);
+        var output = new StringWriter();
+
+        assertEquals(500, pipeline.run(functions.iterator(), output));
+
+        var lines = output.toString().split("\n");
+        assertEquals("index,n,weight,degree,nonlinearity", lines[0]);
+        assertEquals(501, lines.length);
+        for (int i = 1; i < lines.length; i++) {
+            var values = lines[i].split(",");
+            var function = functions.get(Integer.parseInt(values[0]));
+            assertEquals(function.getVariablesCount(), Integer.parseInt(values[1]));
+            assertEquals(function.weight(), Integer.parseInt(values[2]));
+            assertEquals(Algorithms.algebraicDegree(Algorithms.moebiusTransform(function,
+                    new long[function.getWordCount()]), function.getVariablesCount()), Integer.parseInt(values[3]));
+            assertEquals(Algorithms.nonlinearity(Algorithms.walshTransform(function)), Integer.parseInt(values[4]));
+        }
+    }
+
+    @Test
+    void testSourceFailureIsReported() {
+        Iterator<BooleanFunction> source = new Iterator<>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public BooleanFunction next() {
+                if (count++ == 100) {
+                    throw new IllegalArgumentException("Wrong line!");
+                }
+                return BooleanFunction.fromWords(new long[]{count}, 4);
+            }
+        };
+        var pipeline = new AnalysisPipeline(EnumSet.allOf(Characteristic.class), OutputFormat.NDJSON, 2, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> pipeline.run(source, new StringWriter()));
+    }
+
+    @Test
+    void testBufferSmallerThanFunction() throws Exception {
+        var random = new Random(12);
+        var functions = new ArrayList<BooleanFunction>();
+        for (int i = 0; i < 50; i++) {
+            functions.add(BooleanFunction.fromWords(random.longs(16).toArray(), 10));
+        }
+        // Функции по 16 слов при буфере в 20 слов проходят по одной
+        var pipeline = new AnalysisPipeline(EnumSet.of(Characteristic.WEIGHT), OutputFormat.CSV, 3, 8, 20);
+        var output = new StringWriter();
+
+        assertEquals(50, pipeline.run(functions.iterator(), output));
+        assertEquals(51, output.toString().split("\n").length);
+        assertEquals(128, PipelineOptions.parse(new String[]{"--buffer", "1"}).getBufferWords() / 1024);
+    }
+
+    @Test
+    void testOptionsParsing() {
+        var options = PipelineOptions.parse(new String[]{"--output", "csv", "--characteristics", "lat,weight",
+                "--threads", "2", "a.txt"});
+
+        assertEquals(OutputFormat.CSV, options.getOutputFormat());
+        assertEquals(EnumSet.of(Characteristic.WEIGHT, Characteristic.LAT), options.getCharacteristics());
+        assertEquals(2, options.getThreads());
+        assertEquals(List.of("a.txt"), options.getFiles().stream().map(Object::toString).toList());
+        assertThrows(IllegalArgumentException.class, () -> PipelineOptions.parse(new String[]{"--unknown", "1"}));
+        assertThrows(IllegalArgumentException.class, () -> PipelineOptions.parse(new String[]{"--threads", "0"}));
+        assertThrows(IllegalArgumentException.class, () -> PipelineOptions.parse(new String[]{"--queue", "0"}));
+        assertThrows(IllegalArgumentException.class, () -> PipelineOptions.parse(new String[]{"--buffer", "0"}));
+        assertThrows(IllegalArgumentException.class, () -> PipelineOptions.parse(new String[]{"--buffer", "16384"}));
+        assertThrows(IllegalArgumentException.class, () -> PipelineOptions.parse(new String[]{"--cache", "-1"}));
+        assertThrows(IllegalArgumentException.class, () -> PipelineOptions.parse(new String[]{"--port", "65536"}));
+        assertThrows(IllegalArgumentException.class, () -> PipelineOptions.parse(new String[]{"--threads", "x"}));
+        assertEquals(16383 * 128 * 1024, PipelineOptions.parse(new String[]{"--buffer", "16383"}).getBufferWords());
+    }
+}
@@ -0,0 +1,199 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.example.pipeline.AnalysisServer;
+import org.example.pipeline.Characteristic;
+import org.example.pipeline.OutputFormat;
+import org.example.pipeline.PipelineOptions;
+import org.example.pipeline.ResultCache;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisServerTests {
+
+    @Test
+    void testAnalyzeOverHttp() throws Exception {
+        try (var server = new AnalysisServer(EnumSet.of(Characteristic.WEIGHT, Characteristic.NONLINEARITY),
+                OutputFormat.CSV, 2, 16, 100);
+             var client = HttpClient.newHttpClient()) {
+            var address = server.start(0);
+            var base = "http://localhost:" + address.getPort();
+
+            var get = client.send(HttpRequest.newBuilder(URI.create(base + "/analyze?function=0110")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, get.statusCode());
+            assertEquals("index,n,weight,nonlinearity\n0,2,2,0\n", get.body());
+
+            var functions = new String[]{"00010111", "0110", "0110100110010110", "01"};
+            var post = client.send(HttpRequest.newBuilder(URI.create(base + "/analyze"))
+                            .POST(HttpRequest.BodyPublishers.ofString(String.join("\n", functions))).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, post.statusCode());
+            var lines = post.body().split("\n");
+            assertEquals(functions.length + 1, lines.length);
+            for (int i = 0; i < functions.length; i++) {
+                var function = BooleanFunction.fromWords(new long[]{Long.parseLong(
+                        new StringBuilder(functions[i]).reverse().toString(), 2)},
+                        Integer.numberOfTrailingZeros(functions[i].length()));
+                assertEquals(i + "," + function.getVariablesCount() + "," + function.weight() + ","
+                        + Algorithms.nonlinearity(Algorithms.walshTransform(function)), lines[i + 1]);
+            }
+            // "0110" во втором запросе взята из кэша
+            assertEquals(1, server.getCache().getHits());
+            assertEquals(4, server.getCache().getMisses());
+
+            var invalid = client.send(HttpRequest.newBuilder(URI.create(base + "/analyze?function=012")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, invalid.statusCode());
+            var stats = client.send(HttpRequest.newBuilder(URI.create(base + "/stats")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertTrue(stats.body().contains("\"hits\":1"));
+        }
+    }
+
+    @Test
+    void testPostLargerThanQueue() throws Exception {
+        // Один поток и очередь на одну задачу, а функций в запросе намного больше
+        try (var server = new AnalysisServer(EnumSet.of(Characteristic.WEIGHT), OutputFormat.CSV, 1, 1, 100);
+             var client = HttpClient.newHttpClient()) {
+            var address = server.start(0);
+            var functions = new StringBuilder();
+            for (int i = 0; i < 32; i++) {
+                functions.append(String.format("%8s", Integer.toBinaryString(i * 7)).replace(' ', '0')).append('\n');
+            }
+            var post = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + address.getPort() + "/analyze"))
+                            .POST(HttpRequest.BodyPublishers.ofString(functions.toString())).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, post.statusCode());
+            assertEquals(33, post.body().split("\n").length);
+            assertEquals(32, server.getCache().getMisses());
+        }
+    }
+
+    @Test
+    void testRejectsLargeBody() throws Exception {
+        try (var server = new AnalysisServer(EnumSet.of(Characteristic.WEIGHT), OutputFormat.CSV, 1, 4, 100,
+                AnalysisServer.DEFAULT_CACHE_WORDS, 16);
+             var client = HttpClient.newHttpClient()) {
+            var address = server.start(0);
+            var uri = URI.create("http://localhost:" + address.getPort() + "/analyze");
+            var large = client.send(HttpRequest.newBuilder(uri)
+                            .POST(HttpRequest.BodyPublishers.ofString("0110\n".repeat(10))).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(413, large.statusCode());
+            assertEquals(0, server.getCache().getMisses());
+
+            var small = client.send(HttpRequest.newBuilder(uri)
+                            .POST(HttpRequest.BodyPublishers.ofString("0110\n".repeat(3))).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, small.statusCode());
+        }
+    }
+
+    @Test
+    void testCacheEvictsLeastRecentlyUsed() {
+        var cache = new ResultCache(2);
+        var functions = new BooleanFunction[3];
+        for (int i = 0; i < functions.length; i++) {
+            functions[i] = BooleanFunction.fromWords(new long[]{i}, 2);
+        }
+        var first = cache.get(functions[0], f -> new CompletableFuture<>());
+        cache.get(functions[1], f -> new CompletableFuture<>());
+        assertSame(first, cache.get(functions[0], f -> new CompletableFuture<>()));
+        cache.get(functions[2], f -> new CompletableFuture<>());
+
+        assertEquals(2, cache.size());
+        // Вытеснена функция 1, к функции 0 обращались позже
+        assertSame(first, cache.get(functions[0], f -> new CompletableFuture<>()));
+        assertEquals(2, cache.getHits());
+
+        var failed = cache.get(functions[1], f -> CompletableFuture.failedFuture(new IllegalStateException()));
+        assertTrue(failed.isCompletedExceptionally());
+        assertNotSame(failed, cache.get(functions[1], f -> new CompletableFuture<>()));
+        assertThrows(IllegalArgumentException.class, () -> new ResultCache(0));
+    }
+
+    @Test
+    void testCacheEvictsByWords() {
+        // Не больше 5 слов: функции от 7 и 8 переменных занимают 2 и 4 слова
+        var cache = new ResultCache(100, 5);
+        var small = BooleanFunction.fromWords(new long[2], 7);
+        var large = BooleanFunction.fromWords(new long[4], 8);
+        var other = BooleanFunction.fromWords(new long[]{1, 0}, 7);
+        cache.get(small, f -> new CompletableFuture<>());
+        cache.get(other, f -> new CompletableFuture<>());
+        assertEquals(4, cache.words());
+
+        cache.get(large, f -> new CompletableFuture<>());
+        // Вытеснены обе функции от 7 переменных, иначе было бы 8 слов
+        assertEquals(1, cache.size());
+        assertEquals(4, cache.words());
+
+        // Функция длиннее всего объёма вычисляется, но не остаётся в кэше
+        var huge = BooleanFunction.fromWords(new long[8], 9);
+        var result = cache.get(huge, f -> CompletableFuture.completedFuture(null));
+        assertTrue(result.isDone());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.words());
+        assertThrows(IllegalArgumentException.class, () -> new ResultCache(1, 0));
+    }
+
+    @Test
+    void testRejectedLoaderFailsConcurrentHits() {
+        var cache = new ResultCache(2);
+        var function = BooleanFunction.fromWords(new long[]{6}, 2);
+        var concurrent = new AtomicReference<CompletableFuture<?>>();
+        assertThrows(RejectedExecutionException.class, () -> cache.get(function, f -> {
+            // Запрос, пришедший между добавлением в кэш и отказом пула
+            concurrent.set(cache.get(function, g -> new CompletableFuture<>()));
+            throw new RejectedExecutionException();
+        }));
+        assertEquals(1, cache.getHits());
+        assertTrue(concurrent.get().isCompletedExceptionally());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testFailPendingKeepsComputedResults() {
+        var cache = new ResultCache(4);
+        var computed = BooleanFunction.fromWords(new long[]{6}, 2);
+        var pending = BooleanFunction.fromWords(new long[]{8}, 2);
+        var done = cache.get(computed, f -> CompletableFuture.completedFuture(null));
+        var waiting = cache.get(pending, f -> new CompletableFuture<>());
+
+        cache.failPending(new RejectedExecutionException());
+        assertTrue(waiting.isCompletedExceptionally());
+        assertEquals(1, cache.size());
+        assertSame(done, cache.get(computed, f -> new CompletableFuture<>()));
+    }
+
+    @Test
+    void testServeOptions() {
+        var options = PipelineOptions.parse(new String[]{"--port", "9000", "--cache", "10"});
+        assertEquals(9000, options.getPort());
+        assertEquals(10, options.getCacheSize());
+        assertEquals(AnalysisServer.DEFAULT_CACHE_WORDS, options.getCacheWords());
+        assertEquals(3 * 128 * 1024, PipelineOptions.parse(new String[]{"--cache-memory", "3"}).getCacheWords());
+        assertThrows(IllegalArgumentException.class,
+                () -> PipelineOptions.parse(new String[]{"--cache-memory", "0"}));
+        assertEquals(AnalysisServer.DEFAULT_MAX_REQUEST_BYTES, options.getMaxRequestBytes());
+        assertEquals(2 << 20, PipelineOptions.parse(new String[]{"--max-request", "2"}).getMaxRequestBytes());
+        assertThrows(IllegalArgumentException.class,
+                () -> PipelineOptions.parse(new String[]{"--max-request", "2048"}));
+    }
+}
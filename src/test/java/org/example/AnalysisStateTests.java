@@ -0,0 +1,90 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.example.functions.algos.AnalysisState;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisStateTests {
+
+    private static void assertConsistent(AnalysisState state) {
+        var function = state.toFunction();
+        int n = function.getVariablesCount();
+        assertArrayEquals(Algorithms.walshTransform(function), state.walshSpectrum());
+        assertArrayEquals(Algorithms.moebiusTransform(function, new long[function.getWordCount()]),
+                state.anfCoefficients());
+        assertArrayEquals(Algorithms.autocorrelationSpectrum(function), state.autocorrelationSpectrum());
+        assertEquals(function.weight(), state.getWeight());
+        assertEquals(Algorithms.nonlinearity(Algorithms.walshTransform(function)), state.nonlinearity());
+        assertEquals(Algorithms.algebraicDegree(Algorithms.moebiusTransform(function, new long[function.getWordCount()]), n),
+                state.algebraicDegree());
+    }
+
+    @Test
+    void testFlipMatchesRecomputation() {
+        var random = new Random(13);
+        for (int n : new int[]{0, 1, 3, 6, 8}) {
+            var state = new AnalysisState(TestFunctions.randomFunction(n, random));
+            for (int step = 0; step < 20; step++) {
+                int x = random.nextInt(1 << n);
+                boolean old = state.getBit(x);
+                state.flip(x);
+                assertEquals(!old, state.getBit(x));
+                assertConsistent(state);
+            }
+        }
+    }
+
+    @Test
+    void testSwapPreservesWeight() {
+        var random = new Random(7);
+        var state = new AnalysisState(TestFunctions.randomFunction(7, random));
+        int weight = state.getWeight();
+        for (int step = 0; step < 20; step++) {
+            state.swap(random.nextInt(128), random.nextInt(128));
+            assertEquals(weight, state.getWeight());
+        }
+        assertConsistent(state);
+    }
+
+    @Test
+    void testUndo() {
+        var random = new Random(1);
+        var original = TestFunctions.randomFunction(7, random);
+        var state = new AnalysisState(original);
+        assertFalse(state.undo());
+
+        state.flip(5);
+        state.swap(3, 100);
+        state.swap(10, 10);
+        state.flip(127);
+        while (state.undo()) {
+            assertConsistent(state);
+        }
+        assertEquals(original, state.toFunction());
+        assertConsistent(state);
+
+        state.flip(0);
+        state.commit();
+        assertFalse(state.undo());
+        assertTrue(state.toFunction().getBit(0) != original.getBit(0));
+    }
+
+    @Test
+    void testSelectedSpectra() {
+        var state = new AnalysisState(TestFunctions.randomFunction(5, new Random(3)), EnumSet.of(AnalysisState.Spectrum.WALSH));
+        state.flip(4);
+        assertArrayEquals(Algorithms.walshTransform(state.toFunction()), state.walshSpectrum());
+        assertThrows(IllegalStateException.class, state::anfCoefficients);
+        assertThrows(IllegalStateException.class, state::autocorrelationSpectrum);
+    }
+}
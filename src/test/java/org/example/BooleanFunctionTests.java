@@ -1,20 +1,26 @@
 package org.example;
 
 import org.example.functions.BooleanFunction;
+import org.example.functions.CubeList;
 import org.example.functions.algos.Algorithms;
+import org.example.functions.algos.FunctionProfile;
 import org.example.util.Converter;
 import org.example.util.Parser;
 import org.junit.jupiter.api.Test;
 
 import java.io.BufferedReader;
 import java.io.StringReader;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -68,7 +74,7 @@ class BooleanFunctionTests {
         assertFalse(transformed.get(0));
         assertTrue(transformed.get(1));
         assertFalse(transformed.get(2));
-        assertTrue(transformed.get(3));
+        assertFalse(transformed.get(3));
     }
 
     @Test
@@ -170,4 +176,226 @@ class BooleanFunctionTests {
         assertTrue(cnf.contains(List.of(-1, -2)));
         assertTrue(cnf.contains(List.of(1, -2)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWordOperations() {
+        var f = new BooleanFunction(BitSet.valueOf(new long[]{0b1110}), 2);
+        var g = new BooleanFunction(BitSet.valueOf(new long[]{0b1100}), 2);
+
+        assertEquals(new BooleanFunction(BitSet.valueOf(new long[]{0b0010}), 2), f.xor(g));
+        assertEquals(new BooleanFunction(BitSet.valueOf(new long[]{0b1100}), 2), f.and(g));
+        assertEquals(1, f.distance(g));
+        assertEquals(3, f.weight());
+    }
+
+    @Test
+    void testShiftMatchesDefinition() {
+        var random = new Random(1);
+        var function = BooleanFunction.fromWords(random.longs(4).toArray(), 8);
+
+        for (int variable = 0; variable < 8; variable++) {
+            var shifted = function.shift(variable);
+            for (int x = 0; x < 256; x++) {
+                assertEquals(function.getBit(x ^ (1 << variable)), shifted.getBit(x));
+            }
+        }
+    }
+
+    @Test
+    void testTailBitsAreIgnored() {
+        var function = new BooleanFunction(BitSet.valueOf(new long[]{0b11110110}), 2);
+
+        assertEquals(2, function.weight());
+        assertEquals(new BooleanFunction(BitSet.valueOf(new long[]{0b0110}), 2), function);
+        assertEquals(2, Converter.valueVectorToCNF(function).size());
+    }
+
+    @Test
+    void testMoebiusTransformMatchesDefinition() {
+        var random = new Random(2);
+        for (int n = 0; n <= 9; n++) {
+            var function = BooleanFunction.fromWords(random.longs(8).toArray(), n);
+            var anf = Algorithms.moebiusTransform(function);
+
+            // a_u = XOR f(x) по всем x, являющимся подмножествами u
+            for (int u = 0; u < (1 << n); u++) {
+                boolean coefficient = false;
+                for (int x = u; ; x = (x - 1) & u) {
+                    coefficient ^= function.getBit(x);
+                    if (x == 0) {
+                        break;
+                    }
+                }
+                assertEquals(coefficient, anf.get(u));
+            }
+            // Преобразование - инволюция
+            var anfFunction = BooleanFunction.fromWords(anf.toLongArray(), n);
+            assertEquals(function.getBits(), Algorithms.moebiusTransform(anfFunction));
+        }
+    }
+
+    @Test
+    void testAutocorrelationSpectrumMatchesDefinition() {
+        var random = new Random(6);
+        for (int n = 0; n <= 9; n++) {
+            var function = BooleanFunction.fromWords(random.longs(8).toArray(), n);
+            var spectrum = Algorithms.autocorrelationSpectrum(function);
+
+            for (int a = 0; a < (1 << n); a++) {
+                int total = 0;
+                for (int x = 0; x < (1 << n); x++) {
+                    total += (function.getBit(x) == function.getBit(x ^ a)) ? 1 : -1;
+                }
+                assertEquals(total, spectrum[a]);
+            }
+        }
+    }
+
+    @Test
+    void testAutocorrelationIndicators() {
+        // f = x1 x2 + x3: линейная структура a = 100, остальные r(a) = 0
+        var function = new BooleanFunction(BitSet.valueOf(new long[]{0b0111_1000}), 3);
+
+        var indicators = Algorithms.autocorrelationIndicators(function);
+
+        assertEquals(8, indicators.getAbsoluteIndicator());
+        assertEquals(128, indicators.getSumOfSquaresIndicator());
+        assertEquals(1, indicators.getLinearStructures());
+    }
+
+    @Test
+    void testSpectralTablesMatchDefinition() {
+        var function = BooleanFunction.fromWords(new Random(7).longs(1).toArray(), 5);
+        var lat = Algorithms.linearApproximationTable(function);
+        var ddt = lat.differenceDistributionTable();
+
+        for (int a = 0; a < 32; a++) {
+            int[] counts = new int[2];
+            for (int x = 0; x < 32; x++) {
+                counts[(function.getBit(x) ^ function.getBit(x ^ a)) ? 1 : 0]++;
+            }
+            assertArrayEquals(counts, ddt.row(a).toArray());
+            for (int b = 0; b < 32; b++) {
+                int total = 0;
+                for (int x = 0; x < 32; x++) {
+                    boolean ax = Integer.bitCount(a & x) % 2 != 0;
+                    boolean bx = Integer.bitCount(b & x) % 2 != 0;
+                    total += (ax ^ function.getBit(x) ^ bx) ? -1 : 1;
+                }
+                assertEquals(total, lat.get(a, b));
+            }
+        }
+    }
+
+    @Test
+    void testFunctionProfileCachesSpectra() {
+        var function = BooleanFunction.fromWords(new Random(8).longs(4).toArray(), 8);
+        var profile = FunctionProfile.of(function);
+
+        var walsh = profile.walshSpectrum();
+        assertSame(walsh, profile.walshSpectrum());
+        assertArrayEquals(Algorithms.walshTransform(function), walsh);
+        assertArrayEquals(Algorithms.autocorrelationSpectrum(function), profile.autocorrelationSpectrum());
+        assertEquals(Algorithms.nonlinearity(walsh), profile.nonlinearity());
+        assertEquals(Algorithms.algebraicDegree(Converter.valueVectorToANF(function)), profile.algebraicDegree());
+        assertEquals(Algorithms.hammingWeight(function), profile.weight());
+
+        profile.evict();
+        assertNotSame(walsh, profile.walshSpectrum());
+        assertArrayEquals(walsh, profile.walshSpectrum());
+    }
+
+    @Test
+    void testSpectralCriteria() {
+        // x1 ^ x2 ^ x3 - устойчивая функция порядка 2
+        var linear = BooleanFunction.fromWords(new long[]{0b10010110}, 3);
+        var walsh = Algorithms.walshTransform(linear);
+        assertEquals(2, Algorithms.resiliency(walsh, 3));
+        assertTrue(Algorithms.isResilient(walsh, 3, 2));
+        assertFalse(Algorithms.isResilient(walsh, 3, 3));
+        assertEquals(8, Algorithms.plateauedAmplitude(walsh, 3));
+
+        // x1 x2 ^ x3 x4 - бент-функция, удовлетворяет PC(4)
+        var bent = FunctionProfile.of(BooleanFunction.fromWords(new long[]{0b0111_1000_1000_1000}, 4));
+        assertTrue(bent.isBent());
+        assertEquals(4, bent.propagationCriterion());
+        assertEquals(0, bent.correlationImmunity());
+        assertEquals(-1, bent.resiliency());
+
+        var random = new Random(21);
+        for (int n = 1; n <= 8; n++) {
+            for (int k = 0; k < 20; k++) {
+                var words = new long[BooleanFunction.wordCount(n)];
+                for (int i = 0; i < words.length; i++) {
+                    // Разреженные функции чаще обладают корреляционной иммунностью
+                    words[i] = k % 2 == 0 ? random.nextLong() : random.nextLong() & random.nextLong();
+                }
+                var function = BooleanFunction.fromWords(words, n);
+                var profile = FunctionProfile.of(function);
+                int[] spectrum = profile.walshSpectrum(), autocorrelation = profile.autocorrelationSpectrum();
+
+                int immunity = n, propagation = n;
+                for (int a = 1; a < function.size(); a++) {
+                    if (spectrum[a] != 0) {
+                        immunity = Math.min(immunity, Integer.bitCount(a) - 1);
+                    }
+                    if (autocorrelation[a] != 0) {
+                        propagation = Math.min(propagation, Integer.bitCount(a) - 1);
+                    }
+                }
+                assertEquals(immunity, profile.correlationImmunity());
+                assertEquals(spectrum[0] == 0 ? immunity : -1, profile.resiliency());
+                assertEquals(propagation, profile.propagationCriterion());
+                for (int order = 0; order <= n; order++) {
+                    assertEquals(order <= immunity, Algorithms.isCorrelationImmune(spectrum, n, order));
+                    assertEquals(order <= propagation,
+                            Algorithms.satisfiesPropagationCriterion(autocorrelation, n, order));
+                }
+                var amplitudes = Arrays.stream(spectrum).map(Math::abs).filter(v -> v != 0).distinct().toArray();
+                assertEquals(amplitudes.length == 1 ? amplitudes[0] : 0, profile.plateauedAmplitude());
+                assertEquals(n % 2 == 0 && propagation == n, profile.isBent());
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> Algorithms.isCorrelationImmune(new int[8], 3, 4));
+    }
+
+    @Test
+    void testCompactForms() {
+        var random = new Random(17);
+        for (int n : new int[]{0, 3, 6, 9}) {
+            var words = new long[BooleanFunction.wordCount(n)];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = random.nextLong();
+            }
+            var function = BooleanFunction.fromWords(words, n);
+
+            var monomials = Converter.valueVectorToANFMonomials(function);
+            var anf = Converter.valueVectorToANF(function);
+            assertEquals(anf, monomials.toList());
+            assertEquals(Algorithms.algebraicDegree(anf), Algorithms.algebraicDegree(monomials));
+            assertEquals(Algorithms.isAffine(anf), Algorithms.isAffine(monomials));
+
+            var dnf = Converter.valueVectorToDNFCubes(function);
+            var cnf = Converter.valueVectorToCNFCubes(function);
+            assertEquals(function.weight(), dnf.size());
+            assertEquals(function.size(), dnf.size() + cnf.size());
+            assertEquals(Converter.valueVectorToDNF(function), dnf.toDNFList());
+            assertEquals(Converter.valueVectorToCNF(function), cnf.toCNFList());
+            for (int x = 0; x < function.size(); x++) {
+                assertEquals(function.getBit(x), dnf.covers(x));
+                assertEquals(!function.getBit(x), cnf.covers(x));
+            }
+        }
+
+        var affine = BooleanFunction.fromWords(new long[]{0b0110}, 2);
+        var monomials = Converter.valueVectorToANFMonomials(affine);
+        assertArrayEquals(new int[]{0b01, 0b10}, monomials.toArray());
+        assertEquals("x1 ^ x2", monomials.toString());
+        // Куб x1 & !x2 в списочной форме: x1 - переменная 2, x2 - переменная 1
+        var cube = new CubeList(2, new int[]{0b01}, new int[]{0b11});
+        assertEquals(List.of(List.of(1, -2)), cube.toDNFList());
+        assertEquals(List.of(List.of(-1, 2)), cube.toCNFList());
+        assertTrue(Algorithms.isAffine(monomials));
+        assertTrue(Algorithms.isAffine(Algorithms.moebiusTransform(affine, new long[1]), 2));
+    }
+}
@@ -0,0 +1,61 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+import org.example.util.BulkParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkParserTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testStreamsBinaryLines() throws IOException {
+        var random = new Random(9);
+        var expected = new BooleanFunction[]{
+                BooleanFunction.fromWords(random.longs(1).toArray(), 3),
+                BooleanFunction.fromWords(random.longs(4).toArray(), 8),
+                BooleanFunction.fromWords(random.longs(1).toArray(), 0)
+        };
+        var file = directory.resolve("functions.txt");
+        Files.writeString(file, expected[0] + "\r\n\n" + expected[1] + "\n" + expected[2]);
+
+        try (var stream = BulkParser.stream(file, BulkParser.Format.BINARY)) {
+            assertEquals(List.of(expected), stream.toList());
+        }
+    }
+
+    @Test
+    void testParsesHexLines() throws IOException {
+        var file = directory.resolve("functions.hex");
+        Files.writeString(file, "1\n0fA0\n");
+
+        try (var stream = BulkParser.stream(file, BulkParser.Format.HEX)) {
+            var functions = stream.toList();
+            assertEquals(BulkParser.parse("0001", BulkParser.Format.BINARY), functions.get(0));
+            assertEquals(BulkParser.parse("0000111110100000", BulkParser.Format.BINARY), functions.get(1));
+        }
+        assertEquals(new BooleanFunction(BitSet.valueOf(new long[]{0b1000}), 2),
+                BulkParser.parse("1", BulkParser.Format.HEX));
+    }
+
+    @Test
+    void testRejectsInvalidLines() {
+        assertThrows(IllegalArgumentException.class, () -> BulkParser.parse("010", BulkParser.Format.BINARY));
+        assertThrows(IllegalArgumentException.class, () -> BulkParser.parse("0120", BulkParser.Format.BINARY));
+        assertThrows(IllegalArgumentException.class, () -> BulkParser.parse("01010101012", BulkParser.Format.BINARY));
+        assertThrows(IllegalArgumentException.class, () -> BulkParser.parse("0101010201010101", BulkParser.Format.BINARY));
+        assertThrows(IllegalArgumentException.class, () -> BulkParser.parse("0g", BulkParser.Format.HEX));
+    }
+}
@@ -0,0 +1,99 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.example.functions.algos.CorrelationEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CorrelationEngineTests {
+
+    @Test
+    void testMatrixMatchesPairwise() {
+        var random = new Random(22);
+        for (int n : new int[]{0, 3, 6, 10, 15}) {
+            var rows = TestFunctions.randomFunctions(37, n, random);
+            var columns = TestFunctions.randomFunctions(23, n, random);
+            // Функция и её отрицание дают корреляции 1 и -1
+            columns.set(0, rows.get(5));
+            var matrix = CorrelationEngine.correlationMatrix(rows, columns);
+            var sequential = CorrelationEngine.correlationMatrix(rows, columns, null);
+            var pool = new ForkJoinPool(3);
+            try {
+                assertArrayEquals(matrix, CorrelationEngine.correlationMatrix(rows, columns, pool));
+            } finally {
+                pool.shutdown();
+            }
+            assertArrayEquals(matrix, sequential);
+            for (int i = 0; i < rows.size(); i++) {
+                for (int j = 0; j < columns.size(); j++) {
+                    assertEquals(Algorithms.correlation(rows.get(i), columns.get(j)), matrix[i][j]);
+                }
+            }
+            assertEquals(1.0, matrix[5][0]);
+        }
+    }
+
+    @Test
+    void testTopK() {
+        var random = new Random(23);
+        var rows = TestFunctions.randomFunctions(20, 8, random);
+        var columns = TestFunctions.randomFunctions(300, 8, random);
+        var matrix = CorrelationEngine.correlationMatrix(rows, columns);
+        var top = CorrelationEngine.topK(rows, columns, 5);
+
+        for (int i = 0; i < rows.size(); i++) {
+            var row = matrix[i];
+            var expected = IntStream.range(0, columns.size()).boxed()
+                    .sorted(Comparator.comparingDouble((Integer j) -> -Math.abs(row[j])).thenComparing(j -> j))
+                    .limit(5)
+                    .toList();
+            assertEquals(5, top[i].length);
+            for (int r = 0; r < 5; r++) {
+                assertEquals(expected.get(r), top[i][r].getIndex());
+                assertEquals(row[expected.get(r)], top[i][r].getCorrelation());
+            }
+        }
+        assertEquals(0, CorrelationEngine.topK(rows, columns, 0)[0].length);
+        assertEquals(300, CorrelationEngine.topK(rows, columns, 1000)[0].length);
+        assertThrows(IllegalArgumentException.class,
+                () -> CorrelationEngine.topK(rows, TestFunctions.randomFunctions(1, 7, random), 1));
+    }
+
+    @Test
+    void testLinearShortcut() {
+        var random = new Random(24);
+        var functions = TestFunctions.randomFunctions(10, 7, random);
+        var linear = new ArrayList<BooleanFunction>();
+        for (int u = 0; u < 1 << 7; u++) {
+            var words = new long[BooleanFunction.wordCount(7)];
+            for (int x = 0; x < 1 << 7; x++) {
+                if (Integer.bitCount(u & x) % 2 != 0) {
+                    words[x >>> 6] |= 1L << x;
+                }
+            }
+            linear.add(BooleanFunction.fromWords(words, 7));
+        }
+
+        var expected = CorrelationEngine.topK(functions, linear, 4);
+        var actual = CorrelationEngine.topLinear(functions, 4, null);
+        for (int i = 0; i < functions.size(); i++) {
+            assertArrayEquals(CorrelationEngine.correlationMatrix(List.of(functions.get(i)), linear)[0],
+                    CorrelationEngine.linearCorrelations(functions.get(i)));
+            for (int r = 0; r < 4; r++) {
+                assertEquals(expected[i][r].getIndex(), actual[i][r].getIndex());
+                assertEquals(expected[i][r].getCorrelation(), actual[i][r].getCorrelation());
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.example;
+
+import org.example.equivalence.AffineCanonicalForm;
+import org.example.equivalence.EquivalenceIndex;
+import org.example.equivalence.Fingerprint;
+import org.example.functions.BooleanFunction;
+import org.example.functions.SBox;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EquivalenceTests {
+
+    /**
+     * Строит {@code f(Ax ^ b) ^ a.x ^ c} для случайных обратимой A, b, a и c
+     * */
+    private static BooleanFunction randomEquivalent(BooleanFunction f, Random random) {
+        int n = f.getVariablesCount();
+        int size = f.size();
+        var columns = new int[n];
+        // Случайная обратимая матрица: перестановка координат, затем элементарные преобразования
+        for (int i = 0; i < n; i++) {
+            columns[i] = 1 << i;
+        }
+        for (int k = 0; k < 3 * n; k++) {
+            int i = random.nextInt(n), j = random.nextInt(n);
+            if (i != j) {
+                columns[i] ^= columns[j];
+            }
+        }
+        int b = random.nextInt(size), a = random.nextInt(size), c = random.nextInt(2);
+        var words = new long[f.getWordCount()];
+        for (int x = 0; x < size; x++) {
+            int image = b;
+            for (int i = 0; i < n; i++) {
+                if ((x >>> i & 1) != 0) {
+                    image ^= columns[i];
+                }
+            }
+            int value = (f.getBit(image) ? 1 : 0) ^ (Integer.bitCount(a & x) & 1) ^ c;
+            words[x >>> 6] |= (long) value << x;
+        }
+        return BooleanFunction.fromWords(words, n);
+    }
+
+    @Test
+    void testNumberOfClasses() {
+        int[] expected = {1, 1, 2, 3, 8};
+        for (int n = 0; n <= 4; n++) {
+            EquivalenceIndex<BooleanFunction, Object> index = EquivalenceIndex.forFunctions();
+            for (long table = 0; table < 1L << (1 << n); table++) {
+                index.add(BooleanFunction.fromWords(new long[]{table}, n));
+            }
+            assertEquals(expected[n], index.size(), "n = " + n);
+            assertEquals(1L << (1 << n), index.count());
+        }
+    }
+
+    @Test
+    void testCanonicalForm() {
+        var random = new Random(16);
+        for (int i = 0; i < 50; i++) {
+            var f = BooleanFunction.fromWords(new long[]{random.nextInt(1 << 16)}, 4);
+            var g = randomEquivalent(f, random);
+            assertEquals(AffineCanonicalForm.canonical(f), AffineCanonicalForm.canonical(g));
+            assertTrue(AffineCanonicalForm.areEquivalent(f, g));
+        }
+        var bent = BooleanFunction.fromWords(new long[]{0b0111_1000_1000_1000L}, 4);
+        var cubic = BooleanFunction.fromWords(new long[]{0b1000_0000L}, 4);
+        assertFalse(AffineCanonicalForm.areEquivalent(bent, cubic));
+        assertThrows(IllegalArgumentException.class,
+                () -> AffineCanonicalForm.canonical(BooleanFunction.fromWords(new long[1], 5)));
+    }
+
+    @Test
+    void testFingerprintInvariance() {
+        var random = new Random(3);
+        for (int n : new int[]{5, 7, 9}) {
+            var words = new long[BooleanFunction.wordCount(n)];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = random.nextLong();
+            }
+            var f = BooleanFunction.fromWords(words, n);
+            var g = randomEquivalent(f, random);
+            assertEquals(Fingerprint.of(f), Fingerprint.of(g));
+            assertEquals(Fingerprint.of(f).hashCode(), Fingerprint.of(g).hashCode());
+
+            words[0] ^= 1;
+            assertNotEquals(Fingerprint.of(f), Fingerprint.of(BooleanFunction.fromWords(words, n)));
+        }
+    }
+
+    @Test
+    void testSBoxIndex() {
+        int[] present = {0xC, 0x5, 0x6, 0xB, 0x9, 0x0, 0xA, 0xD, 0x3, 0xE, 0xF, 0x8, 0x4, 0x7, 0x1, 0x2};
+        var sBox = new SBox(present, 4);
+        var shifted = new int[16];
+        for (int x = 0; x < 16; x++) {
+            // Перестановка входных бит, сдвиг входа и выхода
+            int permuted = ((x & 1) << 3) | (x >>> 1);
+            shifted[x] = present[permuted ^ 0x5] ^ 0xA;
+        }
+        EquivalenceIndex<SBox, Integer> index = EquivalenceIndex.forSBoxes();
+        var analyses = new AtomicInteger();
+        index.computeIfAbsent(sBox, s -> analyses.incrementAndGet());
+        index.computeIfAbsent(new SBox(shifted, 4), s -> analyses.incrementAndGet());
+        assertEquals(1, analyses.get());
+        assertEquals(1, index.size());
+        assertEquals(sBox, index.representative(new SBox(shifted, 4)));
+        assertFalse(index.isExact(sBox));
+
+        var identity = new int[16];
+        for (int x = 0; x < 16; x++) {
+            identity[x] = x;
+        }
+        assertTrue(index.add(new SBox(identity, 4)));
+        assertEquals(2, index.size());
+    }
+}
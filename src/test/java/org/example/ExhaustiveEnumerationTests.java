@@ -0,0 +1,49 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.example.functions.algos.EnumerationHistograms;
+import org.example.functions.algos.ExhaustiveEnumeration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExhaustiveEnumerationTests {
+
+    @Test
+    void testMatchesPerFunctionAlgorithms() {
+        for (int n = 0; n <= 4; n++) {
+            var histograms = ExhaustiveEnumeration.enumerate(n);
+            int size = 1 << n;
+            var nonlinearity = new long[size / 2 + 1];
+            var degree = new long[n + 1];
+            var weight = new long[size + 1];
+            var joint = new long[size / 2 + 1][n + 1];
+            for (long table = 0; table < 1L << size; table++) {
+                var function = BooleanFunction.fromWords(new long[]{table}, n);
+                int nl = Algorithms.nonlinearity(Algorithms.walshTransform(function));
+                int deg = Algorithms.algebraicDegree(Algorithms.moebiusTransform(function, new long[1]), n);
+                nonlinearity[nl]++;
+                degree[deg]++;
+                weight[function.weight()]++;
+                joint[nl][deg]++;
+            }
+
+            assertEquals(1L << size, histograms.total());
+            assertArrayEquals(nonlinearity, histograms.getNonlinearity());
+            assertArrayEquals(degree, histograms.getDegree());
+            assertArrayEquals(weight, histograms.getWeight());
+            assertArrayEquals(joint, histograms.getNonlinearityByDegree());
+        }
+    }
+
+    @Test
+    void testKnownDistributionForThreeVariables() {
+        EnumerationHistograms histograms = ExhaustiveEnumeration.enumerate(3);
+
+        assertArrayEquals(new long[]{16, 128, 112, 0, 0}, histograms.getNonlinearity());
+        assertThrows(IllegalArgumentException.class, () -> ExhaustiveEnumeration.enumerate(6));
+    }
+}
@@ -0,0 +1,154 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.example.functions.algos.FunctionProfile;
+import org.example.util.FunctionStoreReader;
+import org.example.util.FunctionStoreWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FunctionStoreTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTripWithSpectra() throws IOException {
+        var file = directory.resolve("store.bin");
+        var random = new Random(10);
+        var functions = new BooleanFunction[20];
+        // Маленькая пачка, чтобы проверить и сброс пачек, и записи больше пачки
+        try (var writer = FunctionStoreWriter.open(file, 256)) {
+            for (int i = 0; i < functions.length; i++) {
+                functions[i] = BooleanFunction.fromWords(random.longs(4).toArray(), i % 9);
+                if (i % 2 == 0) {
+                    writer.append(FunctionProfile.of(functions[i]));
+                } else {
+                    writer.append(functions[i], null, null, null);
+                }
+            }
+        }
+        // Дозапись в существующий файл
+        try (var writer = FunctionStoreWriter.open(file)) {
+            writer.append(functions[0], Algorithms.walshTransform(functions[0]), null, null);
+            writer.checkpoint();
+        }
+
+        try (var reader = FunctionStoreReader.open(file)) {
+            for (int i = 0; i < functions.length; i++) {
+                var record = reader.next();
+                assertEquals(functions[i], record.getFunction());
+                assertEquals(i % 2 == 0, record.getWalshSpectrum().isPresent());
+                if (i % 2 == 0) {
+                    var walsh = new int[functions[i].size()];
+                    record.getWalshSpectrum().orElseThrow().get(walsh);
+                    assertArrayEquals(Algorithms.walshTransform(functions[i]), walsh);
+                    var autocorrelation = new int[functions[i].size()];
+                    record.getAutocorrelationSpectrum().orElseThrow().get(autocorrelation);
+                    assertArrayEquals(Algorithms.autocorrelationSpectrum(functions[i]), autocorrelation);
+                    var characteristics = record.getCharacteristics().orElseThrow();
+                    assertEquals(functions[i].weight(), characteristics.getWeight());
+                    assertEquals(Algorithms.nonlinearity(walsh), characteristics.getNonlinearity());
+                }
+            }
+            var last = reader.next();
+            assertEquals(functions[0], last.getFunction());
+            assertTrue(last.getWalshSpectrum().isPresent());
+            assertFalse(last.getCharacteristics().isPresent());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void testTornTail() throws IOException {
+        var file = directory.resolve("torn.bin");
+        var first = BooleanFunction.fromWords(new long[]{0b0110}, 2);
+        var second = BooleanFunction.fromWords(new long[]{0b1000}, 2);
+        try (var writer = FunctionStoreWriter.open(file)) {
+            writer.append(first, null, null, null);
+        }
+        long complete = Files.size(file);
+        // Сбой при записи: от следующей записи остались только 5 байт заголовка
+        Files.write(file, new byte[]{32, 0, 0, 0, 0}, StandardOpenOption.APPEND);
+
+        try (var reader = FunctionStoreReader.open(file)) {
+            assertEquals(first, reader.next().getFunction());
+            assertThrows(IllegalStateException.class, reader::next);
+        }
+
+        try (var writer = FunctionStoreWriter.open(file)) {
+            writer.append(second, null, null, null);
+        }
+        assertTrue(Files.size(file) > complete);
+        try (var reader = FunctionStoreReader.open(file)) {
+            assertEquals(first, reader.next().getFunction());
+            assertEquals(second, reader.next().getFunction());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void testRejectedRecordIsNotWritten() throws IOException {
+        var file = directory.resolve("rejected.bin");
+        var first = BooleanFunction.fromWords(new long[]{0b0110}, 2);
+        var second = BooleanFunction.fromWords(new long[]{0b1000}, 2);
+        try (var writer = FunctionStoreWriter.open(file)) {
+            writer.append(first, Algorithms.walshTransform(first), null, null);
+            assertThrows(IllegalArgumentException.class, () -> writer.append(second, new int[2], null, null));
+            assertThrows(IllegalArgumentException.class, () -> writer.append(second, null, new int[8], null));
+            writer.append(second, null, Algorithms.autocorrelationSpectrum(second), null);
+        }
+
+        try (var reader = FunctionStoreReader.open(file)) {
+            var record = reader.next();
+            assertEquals(first, record.getFunction());
+            var walsh = new int[4];
+            record.getWalshSpectrum().orElseThrow().get(walsh);
+            assertArrayEquals(Algorithms.walshTransform(first), walsh);
+            record = reader.next();
+            assertEquals(second, record.getFunction());
+            assertFalse(record.getWalshSpectrum().isPresent());
+            var autocorrelation = new int[4];
+            record.getAutocorrelationSpectrum().orElseThrow().get(autocorrelation);
+            assertArrayEquals(Algorithms.autocorrelationSpectrum(second), autocorrelation);
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void testRejectsOversizedRecord() throws IOException {
+        var file = directory.resolve("oversized.bin");
+        // При n = 28 оба спектра занимают по 1 ГиБ, вместе с вектором значений больше 2 ГиБ
+        var function = BooleanFunction.fromWords(new long[BooleanFunction.wordCount(28)], 28);
+        try (var writer = FunctionStoreWriter.open(file)) {
+            var e = assertThrows(IllegalArgumentException.class,
+                    () -> writer.append(function, new int[0], new int[0], null));
+            assertTrue(e.getMessage().contains("больше допустимой"));
+        }
+        try (var reader = FunctionStoreReader.open(file)) {
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void testRejectsForeignFiles() throws IOException {
+        var file = directory.resolve("foreign.bin");
+        Files.writeString(file, "not a function store");
+
+        assertThrows(IOException.class, () -> FunctionStoreReader.open(file));
+        assertThrows(IOException.class, () -> FunctionStoreWriter.open(file));
+    }
+}
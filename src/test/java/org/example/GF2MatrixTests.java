@@ -0,0 +1,162 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.example.functions.algos.GF2Matrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GF2MatrixTests {
+
+    private static GF2Matrix randomMatrix(int rows, int columns, Random random) {
+        var matrix = new GF2Matrix(rows, columns);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                matrix.set(i, j, random.nextInt(4) == 0);
+            }
+        }
+        return matrix;
+    }
+
+    private static int naiveRank(GF2Matrix matrix) {
+        var rows = new boolean[matrix.getRows()][matrix.getColumns()];
+        for (int i = 0; i < rows.length; i++) {
+            for (int j = 0; j < matrix.getColumns(); j++) {
+                rows[i][j] = matrix.get(i, j);
+            }
+        }
+        int rank = 0;
+        for (int column = 0; column < matrix.getColumns() && rank < rows.length; column++) {
+            int pivot = rank;
+            while (pivot < rows.length && !rows[pivot][column]) {
+                pivot++;
+            }
+            if (pivot == rows.length) {
+                continue;
+            }
+            var t = rows[pivot];
+            rows[pivot] = rows[rank];
+            rows[rank] = t;
+            for (int i = 0; i < rows.length; i++) {
+                if (i != rank && rows[i][column]) {
+                    for (int j = 0; j < matrix.getColumns(); j++) {
+                        rows[i][j] ^= rows[rank][j];
+                    }
+                }
+            }
+            rank++;
+        }
+        return rank;
+    }
+
+    @Test
+    void testRankAndKernel() {
+        var random = new Random(15);
+        int[][] shapes = {{0, 5}, {5, 0}, {1, 1}, {7, 13}, {40, 30}, {30, 70}, {100, 130}, {300, 200}};
+        for (var shape : shapes) {
+            var matrix = randomMatrix(shape[0], shape[1], random);
+            int rank = matrix.rank();
+            assertEquals(naiveRank(matrix), rank);
+
+            var kernel = matrix.kernel();
+            assertEquals(shape[1] - rank, kernel.getRows());
+            assertEquals(kernel.getRows(), kernel.rank());
+            for (int k = 0; k < kernel.getRows(); k++) {
+                for (int i = 0; i < matrix.getRows(); i++) {
+                    boolean sum = false;
+                    for (int j = 0; j < matrix.getColumns(); j++) {
+                        sum ^= matrix.get(i, j) && kernel.get(k, j);
+                    }
+                    assertFalse(sum);
+                }
+            }
+        }
+        assertEquals(64, GF2Matrix.identity(64).rank());
+    }
+
+    @Test
+    void testReducedRowEchelonForm() {
+        var matrix = randomMatrix(50, 90, new Random(2));
+        var reduced = matrix.copy();
+        int rank = reduced.reducedRowEchelonForm();
+        int previous = -1;
+        for (int i = 0; i < rank; i++) {
+            int pivot = 0;
+            while (!reduced.get(i, pivot)) {
+                pivot++;
+            }
+            assertTrue(pivot > previous);
+            for (int k = 0; k < reduced.getRows(); k++) {
+                assertEquals(k == i, reduced.get(k, pivot));
+            }
+            previous = pivot;
+        }
+        assertEquals(rank, matrix.rank());
+    }
+
+    /**
+     * Алгебраическая иммунность по определению через перебор всех функций g
+     * */
+    private static int bruteForceImmunity(BooleanFunction f) {
+        int n = f.getVariablesCount();
+        int result = n;
+        for (long table = 1; table < 1L << f.size(); table++) {
+            var g = BooleanFunction.fromWords(new long[]{table}, n);
+            boolean annihilates = f.and(g).weight() == 0 || g.weight() == g.and(f).weight();
+            if (annihilates) {
+                var anf = Algorithms.moebiusTransform(g, new long[1]);
+                result = Math.min(result, Algorithms.algebraicDegree(anf, n));
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void testAlgebraicImmunity() {
+        for (long table = 0; table < 256; table++) {
+            var f = BooleanFunction.fromWords(new long[]{table}, 3);
+            assertEquals(bruteForceImmunity(f), Algorithms.algebraicImmunity(f));
+        }
+        var random = new Random(5);
+        for (int i = 0; i < 20; i++) {
+            var f = BooleanFunction.fromWords(new long[]{random.nextLong()}, 4);
+            assertEquals(bruteForceImmunity(f), Algorithms.algebraicImmunity(f));
+        }
+
+        // Функция большинства от нечётного числа переменных имеет оптимальную иммунность
+        for (int n : new int[]{5, 7, 9}) {
+            var words = new long[BooleanFunction.wordCount(n)];
+            for (int x = 0; x < 1 << n; x++) {
+                if (Integer.bitCount(x) > n / 2) {
+                    words[x >>> 6] |= 1L << x;
+                }
+            }
+            assertEquals((n + 1) / 2, Algorithms.algebraicImmunity(BooleanFunction.fromWords(words, n)));
+        }
+    }
+
+    @Test
+    void testFindAnnihilator() {
+        var random = new Random(8);
+        var f = BooleanFunction.fromWords(new long[]{random.nextLong(), random.nextLong()}, 7);
+        int immunity = Algorithms.algebraicImmunity(f);
+        for (int degree = 0; degree <= 7; degree++) {
+            var annihilator = Algorithms.findAnnihilator(f, degree);
+            annihilator.ifPresent(g -> {
+                assertTrue(g.weight() > 0);
+                assertEquals(0, g.and(f).weight());
+            });
+            if (degree < immunity) {
+                assertTrue(annihilator.isEmpty());
+            }
+        }
+        assertTrue(Algorithms.findAnnihilator(f, 7).isPresent());
+        assertThrows(IllegalArgumentException.class, () -> Algorithms.findAnnihilator(f, 8));
+    }
+}
@@ -0,0 +1,65 @@
+package org.example;
+
+import org.example.functions.algos.Algorithms;
+import org.example.search.CostFunctions;
+import org.example.search.HeuristicSearch;
+import org.example.search.SearchParameters;
+import org.example.search.SearchStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeuristicSearchTests {
+
+    @Test
+    void testAnnealingFindsHighNonlinearity() throws InterruptedException {
+        var parameters = SearchParameters.builder()
+                .variablesCount(8)
+                .cost(CostFunctions.clarkJacob(8))
+                .restarts(4)
+                .iterations(20_000)
+                .threads(2)
+                .seed(42)
+                .build();
+        var improvements = new AtomicInteger();
+        var result = new HeuristicSearch(parameters, progress -> improvements.incrementAndGet()).run();
+
+        var function = result.getFunction();
+        assertEquals(128, function.weight());
+        assertEquals(Algorithms.nonlinearity(Algorithms.walshTransform(function)), result.getNonlinearity());
+        assertTrue(result.getNonlinearity() >= 110, "nonlinearity " + result.getNonlinearity());
+        assertEquals(4, result.getProgress().getCompletedRestarts());
+        assertTrue(result.getProgress().getEvaluations() >= 4 * 20_000);
+        assertTrue(improvements.get() > 0);
+    }
+
+    @Test
+    void testDeterministicAcrossThreadCounts() throws InterruptedException {
+        var builder = SearchParameters.builder()
+                .variablesCount(6)
+                .cost(CostFunctions.absoluteIndicator())
+                .strategy(SearchStrategy.HILL_CLIMBING)
+                .restarts(6)
+                .iterations(2_000)
+                .seed(7);
+        var single = new HeuristicSearch(builder.threads(1).build()).run();
+        var parallel = new HeuristicSearch(builder.threads(3).build()).run();
+        assertEquals(single.getCost(), parallel.getCost());
+        assertEquals(32, single.getFunction().weight());
+    }
+
+    @Test
+    void testWrongParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new HeuristicSearch(SearchParameters.builder()
+                .variablesCount(4)
+                .build()));
+        assertThrows(IllegalArgumentException.class, () -> new HeuristicSearch(SearchParameters.builder()
+                .variablesCount(0)
+                .cost(CostFunctions.nonlinearity())
+                .build()));
+    }
+}
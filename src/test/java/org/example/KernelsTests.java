@@ -0,0 +1,70 @@
+package org.example;
+
+import org.example.functions.kernels.KernelProvider;
+import org.example.functions.kernels.Kernels;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KernelsTests {
+
+    @Test
+    void testVectorKernelsMatchScalar() {
+        // Тесты запускаются с --add-modules jdk.incubator.vector
+        assertTrue(KernelProvider.vector().isPresent());
+        var scalar = KernelProvider.scalar();
+        var vector = KernelProvider.vector().orElseThrow();
+        var random = new Random(19);
+
+        for (int length : new int[]{0, 1, 3, 8, 17, 64, 100}) {
+            var ints = random.ints(4 * length + 8, -1000, 1000).toArray();
+            var longs = random.longs(4 * length + 8, -1L << 40, 1L << 40).toArray();
+            assertKernel(ints, scalar, vector, (k, d) -> k.butterfly(d, 3, 3 + length, length));
+            assertKernel(ints, scalar, vector, (k, d) -> k.radix4(d, 1, length, length));
+            assertKernel(longs, scalar, vector, (k, d) -> k.butterfly(d, 2, 2 + length, length));
+            assertKernel(longs, scalar, vector, (k, d) -> k.radix4(d, 0, length + 1, length));
+
+            var words = random.longs(length).toArray();
+            var other = random.longs(length).toArray();
+            assertEquals(scalar.bitCount(words, length), vector.bitCount(words, length));
+            assertEquals(scalar.xorBitCount(words, other, length), vector.xorBitCount(words, other, length));
+        }
+
+        for (int count : new int[]{1, 2, 4, 8, 16, 32, 64}) {
+            long word = random.nextLong();
+            var expected = new int[70];
+            var actual = new int[70];
+            scalar.signs(word, expected, 5, count);
+            vector.signs(word, actual, 5, count);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    private interface IntKernel {
+        void apply(Kernels kernels, int[] data);
+    }
+
+    private interface LongKernel {
+        void apply(Kernels kernels, long[] data);
+    }
+
+    private static void assertKernel(int[] data, Kernels scalar, Kernels vector, IntKernel kernel) {
+        var expected = data.clone();
+        var actual = data.clone();
+        kernel.apply(scalar, expected);
+        kernel.apply(vector, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    private static void assertKernel(long[] data, Kernels scalar, Kernels vector, LongKernel kernel) {
+        var expected = data.clone();
+        var actual = data.clone();
+        kernel.apply(scalar, expected);
+        kernel.apply(vector, actual);
+        assertArrayEquals(expected, actual);
+    }
+}
@@ -0,0 +1,143 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.CubeList;
+import org.example.functions.algos.LogicMinimizer;
+import org.example.functions.algos.MinimizationOptions;
+import org.example.util.Converter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogicMinimizerTests {
+
+    private static void assertRepresents(BooleanFunction function, CubeList cubes, boolean dnf) {
+        for (int x = 0; x < function.size(); x++) {
+            assertEquals(function.getBit(x), dnf == cubes.covers(x), "x = " + x);
+        }
+    }
+
+    /**
+     * @return true, если набор x удовлетворяет всем литералам терма списочной формы, где переменная
+     * k - бит {@code n - k} набора, а переменная со знаком sign требует единичного бита
+     * */
+    private static boolean matches(List<Integer> term, int x, int n, int sign) {
+        for (int literal : term) {
+            int bit = x >>> (n - Math.abs(literal)) & 1;
+            if ((bit == 1) != (Integer.signum(literal) == sign)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return значение ДНФ (dnf = true) или КНФ в списочной форме
+     * {@link Converter#valueVectorToDNF}/{@link Converter#valueVectorToCNF} на наборе x
+     * */
+    private static boolean evaluate(List<List<Integer>> terms, int x, int n, boolean dnf) {
+        for (var term : terms) {
+            // Конъюнкт ДНФ равен 1 на своём кубе, дизъюнкт КНФ - 0
+            if (matches(term, x, n, dnf ? -1 : 1)) {
+                return dnf;
+            }
+        }
+        return !dnf;
+    }
+
+    @Test
+    void testListFormsMatchConverter() {
+        var random = new Random(23);
+        for (int n = 0; n <= 8; n++) {
+            var function = TestFunctions.randomFunction(n, random);
+            var dnf = Converter.valueVectorToDNF(function);
+            var cnf = Converter.valueVectorToCNF(function);
+            var minimalDnf = LogicMinimizer.minimizeDNF(function).toDNFList();
+            var minimalCnf = LogicMinimizer.minimizeCNF(function).toCNFList();
+            for (int x = 0; x < function.size(); x++) {
+                assertEquals(function.getBit(x), evaluate(dnf, x, n, true), "x = " + x);
+                assertEquals(function.getBit(x), evaluate(cnf, x, n, false), "x = " + x);
+                assertEquals(function.getBit(x), evaluate(minimalDnf, x, n, true), "x = " + x);
+                assertEquals(function.getBit(x), evaluate(minimalCnf, x, n, false), "x = " + x);
+            }
+        }
+    }
+
+    @Test
+    void testSmallFunctions() {
+        var or = BooleanFunction.fromWords(new long[]{0b1110}, 2);
+        var dnf = LogicMinimizer.minimizeDNF(or);
+        assertEquals(2, dnf.size());
+        assertEquals(2, dnf.literals());
+        assertRepresents(or, dnf, true);
+
+        var one = BooleanFunction.fromWords(new long[]{-1L}, 3);
+        assertEquals("---", LogicMinimizer.minimizeDNF(one).toString());
+        assertEquals(0, LogicMinimizer.minimizeDNF(BooleanFunction.fromWords(new long[1], 3)).size());
+        assertEquals(1, LogicMinimizer.minimizeDNF(BooleanFunction.fromWords(new long[]{1}, 0)).size());
+
+        // x0 x1 | !x0 x2 | x1 x2: консенсус x1 x2 избыточен
+        var words = new long[1];
+        for (int x = 0; x < 8; x++) {
+            boolean value = (x & 1) != 0 ? (x & 2) != 0 : (x & 4) != 0;
+            words[0] |= (value ? 1L : 0L) << x;
+        }
+        assertEquals(2, LogicMinimizer.minimizeDNF(BooleanFunction.fromWords(words, 3)).size());
+    }
+
+    @Test
+    void testMethodsAreCorrect() {
+        var random = new Random(18);
+        var exact = MinimizationOptions.builder().method(MinimizationOptions.Method.QUINE_MCCLUSKEY).build();
+        var heuristic = MinimizationOptions.builder().method(MinimizationOptions.Method.ESPRESSO).build();
+        for (int n = 1; n <= 9; n++) {
+            for (int density : new int[]{2, 5}) {
+                var function = TestFunctions.randomFunction(n, random, density);
+                var qm = LogicMinimizer.minimizeDNF(function, exact);
+                var espresso = LogicMinimizer.minimizeDNF(function, heuristic);
+                assertRepresents(function, qm, true);
+                assertRepresents(function, espresso, true);
+                assertTrue(qm.size() <= function.weight());
+                assertTrue(espresso.size() <= function.weight());
+
+                assertRepresents(function, LogicMinimizer.minimizeCNF(function, exact), false);
+                assertRepresents(function, LogicMinimizer.minimizeCNF(function, heuristic), false);
+            }
+        }
+    }
+
+    @Test
+    void testStructuredLargeFunction() {
+        // Не меньше 7 единиц среди младших 8 переменных или фиксированные старшие:
+        // минимальная ДНФ из C(8, 7) + 1 = 9 кубов против тысяч в совершенной
+        int n = 14;
+        var words = new long[BooleanFunction.wordCount(n)];
+        for (int x = 0; x < 1 << n; x++) {
+            if (Integer.bitCount(x & 0xFF) >= 7 || (x >>> 8) == 0b101101) {
+                words[x >>> 6] |= 1L << x;
+            }
+        }
+        var function = BooleanFunction.fromWords(words, n);
+        var dnf = LogicMinimizer.minimizeDNF(function);
+        assertRepresents(function, dnf, true);
+        assertEquals(9, dnf.size());
+    }
+
+    @Test
+    void testTimeLimit() {
+        var function = TestFunctions.randomFunction(10, new Random(4), 2);
+        var options = MinimizationOptions.builder()
+                .method(MinimizationOptions.Method.QUINE_MCCLUSKEY)
+                .timeLimit(Duration.ZERO)
+                .build();
+        assertRepresents(function, LogicMinimizer.minimizeDNF(function, options), true);
+        assertThrows(IllegalArgumentException.class,
+                () -> LogicMinimizer.minimizeDNF(BooleanFunction.fromWords(new long[1 << 19], 25)));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.example.functions.offheap.OffHeapFunction;
+import org.example.functions.offheap.OutOfCoreTransforms;
+import org.example.metrics.Metrics;
+import org.example.metrics.MetricsMXBean;
+import org.example.metrics.Operation;
+import org.example.util.Converter;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMX;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTests {
+
+    @Test
+    void testOperationsAreCounted() {
+        // Тесты запускаются с -Dorg.example.metrics=true
+        assertTrue(Metrics.isEnabled());
+        var function = BooleanFunction.fromWords(new long[]{0x6996_9669_9669_6996L}, 6);
+        var before = Metrics.snapshot();
+
+        for (int i = 0; i < 3; i++) {
+            Algorithms.walshTransform(function);
+        }
+        Converter.valueVectorToDNF(function);
+        Algorithms.autocorrelationSpectrum(function);
+
+        var after = Metrics.snapshot();
+        // Автокорреляция вычисляет ещё один спектр Уолша
+        assertTrue(after.get(Operation.WALSH).getCalls() - before.get(Operation.WALSH).getCalls() >= 4);
+        assertTrue(after.get(Operation.DNF).getCalls() > before.get(Operation.DNF).getCalls());
+        assertTrue(after.get(Operation.AUTOCORRELATION).getCalls() > before.get(Operation.AUTOCORRELATION).getCalls());
+
+        var walsh = after.get(Operation.WALSH);
+        assertTrue(walsh.getVariablesHistogram()[6] >= 4);
+        assertEquals(walsh.getCalls(), Arrays.stream(walsh.getLatencyHistogram()).sum());
+        assertEquals(walsh.getCalls(), Arrays.stream(walsh.getVariablesHistogram()).sum());
+        assertTrue(walsh.latencyQuantile(0.5) > 0);
+    }
+
+    @Test
+    void testOutOfCoreRowsAreNotCountedSeparately() throws Exception {
+        var function = BooleanFunction.fromWords(new long[1 << 6], 12);
+        var before = Metrics.snapshot();
+        try (var offHeap = OffHeapFunction.of(function)) {
+            OutOfCoreTransforms.moebiusTransform(offHeap, offHeap, 8);
+        }
+        var after = Metrics.snapshot();
+        assertEquals(1, after.get(Operation.OUT_OF_CORE_MOEBIUS).getCalls()
+                - before.get(Operation.OUT_OF_CORE_MOEBIUS).getCalls());
+        assertEquals(before.get(Operation.MOEBIUS).getCalls(), after.get(Operation.MOEBIUS).getCalls());
+    }
+
+    @Test
+    void testMBean() throws Exception {
+        var name = Metrics.registerMBean();
+        try {
+            Algorithms.walshTransform(BooleanFunction.fromWords(new long[]{0b1000}, 2));
+            var bean = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(), name, MetricsMXBean.class);
+            assertTrue(bean.isEnabled());
+            assertTrue(bean.getCalls().get(Operation.WALSH.name()) > 0);
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+}
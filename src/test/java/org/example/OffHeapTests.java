@@ -0,0 +1,97 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.example.functions.offheap.LongStorage;
+import org.example.functions.offheap.OffHeapFunction;
+import org.example.functions.offheap.OutOfCoreTransforms;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OffHeapTests {
+
+    @Test
+    void testStorageAcrossChunks() throws IOException {
+        try (var storage = LongStorage.allocate(100, 3)) {
+            var values = new long[100];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i * 31L - 7;
+            }
+            storage.write(0, values, 0, 100);
+            var part = new long[50];
+            storage.read(5, part, 0, 50);
+            for (int i = 0; i < 50; i++) {
+                assertEquals(values[i + 5], part[i]);
+            }
+            storage.set(99, -1);
+            assertEquals(-1, storage.get(99));
+            assertThrows(IndexOutOfBoundsException.class, () -> storage.get(100));
+            assertThrows(IndexOutOfBoundsException.class, () -> storage.read(90, part, 0, 20));
+        }
+    }
+
+    @Test
+    void testWalshMatchesInHeap() throws IOException {
+        var random = new Random(20);
+        for (int n = 0; n <= 17; n++) {
+            var function = TestFunctions.randomFunction(n, random);
+            var expected = Algorithms.walshTransform(function);
+            // Маленькие строки и блоки, чтобы проверить полосы столбцов и границы блоков
+            try (var offHeap = OffHeapFunction.of(function);
+                 var spectrum = LongStorage.allocate(function.size(), 5)) {
+                assertEquals(function.weight(), offHeap.weight());
+                OutOfCoreTransforms.walshTransform(offHeap, spectrum, ForkJoinPool.commonPool(), 7);
+                for (int u = 0; u < expected.length; u++) {
+                    assertEquals(expected[u], spectrum.get(u), "n = " + n + ", u = " + u);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMoebiusMatchesInHeap() throws IOException {
+        var random = new Random(21);
+        for (int n = 0; n <= 17; n++) {
+            var function = TestFunctions.randomFunction(n, random);
+            var expected = Algorithms.moebiusTransform(function, new long[function.getWordCount()]);
+            try (var offHeap = OffHeapFunction.of(function)) {
+                OutOfCoreTransforms.moebiusTransform(offHeap, offHeap, 7);
+                assertArrayEquals(expected, offHeap.toFunction().toLongArray(), "n = " + n);
+            }
+        }
+    }
+
+    @Test
+    void testMappedFunction(@TempDir Path directory) throws IOException {
+        var file = directory.resolve("function.bin");
+        var function = TestFunctions.randomFunction(12, new Random(22));
+        try (var mapped = OffHeapFunction.map(file, 12)) {
+            for (int x = 0; x < function.size(); x++) {
+                mapped.setBit(x, function.getBit(x));
+            }
+            mapped.words().force();
+        }
+        try (var mapped = OffHeapFunction.map(file, 12)) {
+            assertEquals(function, mapped.toFunction());
+        }
+    }
+
+    @Test
+    void testRejectsTooManyVariablesForBlock() throws IOException {
+        try (var function = OffHeapFunction.allocate(20);
+             var spectrum = LongStorage.allocate(1 << 20)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> OutOfCoreTransforms.walshTransform(function, spectrum, null, 8));
+        }
+        assertThrows(IllegalArgumentException.class, () -> OffHeapFunction.allocate(37));
+    }
+}
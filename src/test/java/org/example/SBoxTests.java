@@ -0,0 +1,69 @@
+package org.example;
+
+import org.example.functions.SBox;
+import org.example.functions.algos.Algorithms;
+import org.example.functions.algos.SBoxAlgorithms;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SBoxTests {
+
+    private static final SBox PRESENT = new SBox(
+            new int[]{0xC, 0x5, 0x6, 0xB, 0x9, 0x0, 0xA, 0xD, 0x3, 0xE, 0xF, 0x8, 0x4, 0x7, 0x1, 0x2}, 4);
+
+    @Test
+    void testLatColumnsAreComponentSpectra() {
+        var lat = SBoxAlgorithms.latTable(PRESENT);
+
+        for (int b = 0; b < 16; b++) {
+            var spectrum = Algorithms.walshTransform(PRESENT.component(b));
+            for (int a = 0; a < 16; a++) {
+                assertEquals(spectrum[a], lat[a][b]);
+            }
+        }
+        assertEquals(8, SBoxAlgorithms.linearity(lat));
+        assertEquals(4, SBoxAlgorithms.nonlinearity(lat));
+    }
+
+    @Test
+    void testComponentSpectraRejectTooLargeTables() {
+        // 2 входа и 30 выходов дают таблицу из 2^32 элементов
+        var wide = new SBox(new int[]{0, 1, 2, 3}, 30);
+        assertThrows(IllegalArgumentException.class, () -> SBoxAlgorithms.componentWalshSpectra(wide, null));
+        assertThrows(IllegalArgumentException.class, () -> SBoxAlgorithms.latTable(new SBox(new int[]{0, 1}, 30)));
+    }
+
+    @Test
+    void testDdtAndUniformity() {
+        var ddt = SBoxAlgorithms.ddtTable(PRESENT);
+
+        assertEquals(16, ddt[0][0]);
+        for (int[] row : ddt) {
+            assertEquals(16, Arrays.stream(row).sum());
+        }
+        assertEquals(4, SBoxAlgorithms.differentialUniformity(ddt));
+    }
+
+    @Test
+    void testBoomerangTable() {
+        var bct = SBoxAlgorithms.bctTable(PRESENT);
+        var ddt = SBoxAlgorithms.ddtTable(PRESENT);
+
+        // Первая строка и первый столбец BCT заполнены 2^n, остальные элементы не меньше DDT
+        for (int i = 0; i < 16; i++) {
+            assertEquals(16, bct[0][i]);
+            assertEquals(16, bct[i][0]);
+            for (int j = 1; j < 16; j++) {
+                assertTrue(bct[i][j] >= ddt[i][j]);
+            }
+        }
+        assertArrayEquals(PRESENT.toArray(), PRESENT.inverse().inverse().toArray());
+        assertThrows(IllegalStateException.class, () -> SBoxAlgorithms.bctTable(new SBox(new int[]{0, 0}, 1)));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Случайные булевы функции для тестов
+ * */
+final class TestFunctions {
+
+    private TestFunctions() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * @return функция с равновероятными значениями
+     * */
+    static BooleanFunction randomFunction(int n, Random random) {
+        var words = new long[BooleanFunction.wordCount(n)];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = random.nextLong();
+        }
+        return BooleanFunction.fromWords(words, n);
+    }
+
+    /**
+     * @return функция, равная 1 на каждом наборе с вероятностью {@code 1 / density}
+     * */
+    static BooleanFunction randomFunction(int n, Random random, int density) {
+        var words = new long[BooleanFunction.wordCount(n)];
+        for (int x = 0; x < 1 << n; x++) {
+            if (random.nextInt(density) == 0) {
+                words[x >>> 6] |= 1L << x;
+            }
+        }
+        return BooleanFunction.fromWords(words, n);
+    }
+
+    /**
+     * @return изменяемый список из count функций с равновероятными значениями
+     * */
+    static List<BooleanFunction> randomFunctions(int count, int n, Random random) {
+        var result = new ArrayList<BooleanFunction>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(randomFunction(n, random));
+        }
+        return result;
+    }
+}
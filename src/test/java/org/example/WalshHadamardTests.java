@@ -0,0 +1,82 @@
+package org.example;
+
+import org.example.functions.BooleanFunction;
+import org.example.functions.algos.Algorithms;
+import org.example.functions.algos.WalshHadamard;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WalshHadamardTests {
+
+    private static int[] naiveWalsh(BooleanFunction function) {
+        int size = function.size();
+        var result = new int[size];
+        for (int a = 0; a < size; a++) {
+            for (int x = 0; x < size; x++) {
+                boolean ax = Integer.bitCount(a & x) % 2 != 0;
+                result[a] += (ax ^ function.getBit(x)) ? -1 : 1;
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void testMatchesDefinition() {
+        var random = new Random(3);
+        for (int n = 0; n <= 11; n++) {
+            var function = BooleanFunction.fromWords(random.longs(32).toArray(), n);
+
+            assertArrayEquals(naiveWalsh(function), Algorithms.walshTransform(function));
+        }
+    }
+
+    @Test
+    void testBlockedAndParallelModesAgree() {
+        var random = new Random(4);
+        var pool = new ForkJoinPool(4);
+        try {
+            for (int n = 12; n <= 19; n++) {
+                var function = BooleanFunction.fromWords(random.longs(1 << 13).toArray(), n);
+                var sequential = Algorithms.walshTransform(function);
+                var parallel = Algorithms.walshTransform(function, new int[1 << n], pool);
+
+                var wide = WalshHadamard.signs(function, new long[1 << n]);
+                WalshHadamard.transform(wide, n, pool);
+
+                assertArrayEquals(sequential, parallel);
+                for (int i = 0; i < (1 << n); i++) {
+                    assertEquals(sequential[i], wide[i]);
+                }
+                // Проверка блочного прохода по строкам на нескольких коэффициентах
+                for (int a = 0; a < 4; a++) {
+                    int u = random.nextInt(1 << n), expected = 0;
+                    for (int x = 0; x < (1 << n); x++) {
+                        expected += ((Integer.bitCount(u & x) & 1) == 1 ^ function.getBit(x)) ? -1 : 1;
+                    }
+                    assertEquals(expected, sequential[u]);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testInverseRestoresSigns() {
+        var random = new Random(5);
+        for (int n = 1; n <= 17; n += 4) {
+            var function = BooleanFunction.fromWords(random.longs(1 << 11).toArray(), n);
+            var spectrum = Algorithms.walshTransform(function);
+
+            var restored = Algorithms.inverseWalshTransform(spectrum, n, null);
+
+            assertArrayEquals(WalshHadamard.signs(function, new int[1 << n]), restored);
+            assertEquals(1 << n, Algorithms.inverseWalshTransform(function).length);
+        }
+    }
+}